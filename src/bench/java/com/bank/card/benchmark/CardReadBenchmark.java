@@ -0,0 +1,85 @@
+package com.bank.card.benchmark;
+
+import com.bank.card.cache.CardResponseCache;
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.mapper.CardMapperImpl;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.service.impl.CardServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Read latency of {@code CardServiceImpl.getCardById} with the CardResponse cache on and off.
+ * The repository is a stub that parks for {@code dbRoundTripMicros} per lookup to stand in for
+ * a PostgreSQL round trip, so the numbers isolate what the cache saves per read.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class CardReadBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    @Param({"300"})
+    public long dbRoundTripMicros;
+
+    @Param({"10000"})
+    public int cardCount;
+
+    private CardServiceImpl cardService;
+
+    @Setup
+    public void setUp() {
+        User owner = User.builder().id(1L).username("bench").role(Role.USER).enabled(true).build();
+        CardRepository repository = (CardRepository) Proxy.newProxyInstance(
+                CardRepository.class.getClassLoader(),
+                new Class<?>[]{CardRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findById")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(dbRoundTripMicros));
+                    return Optional.of(card((Long) args[0], owner));
+                });
+
+        CardResponseCache cache = new CardResponseCache(cacheEnabled, cardCount, Duration.ofMinutes(10));
+        cardService = new CardServiceImpl(repository, null, null, new CardMapperImpl(), cache, null, null, null);
+    }
+
+    @Benchmark
+    public CardResponse getCardById() {
+        long id = ThreadLocalRandom.current().nextLong(1, cardCount + 1);
+        return cardService.getCardById(id);
+    }
+
+    private static Card card(Long id, User owner) {
+        return Card.builder()
+                .id(id)
+                .encryptedCardNumber("encrypted")
+                .maskedCardNumber("**** **** **** 1234")
+                .owner(owner)
+                .cardholderName("Bench User")
+                .expiryDate(LocalDate.now().plusYears(2))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("1000.00"))
+                .createdAt(OffsetDateTime.now())
+                .updatedAt(OffsetDateTime.now())
+                .build();
+    }
+}
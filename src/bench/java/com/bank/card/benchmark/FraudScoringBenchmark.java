@@ -0,0 +1,70 @@
+package com.bank.card.benchmark;
+
+import com.bank.card.fraud.AmountOutlierRule;
+import com.bank.card.fraud.DrainRule;
+import com.bank.card.fraud.FraudAssessment;
+import com.bank.card.fraud.FraudEngine;
+import com.bank.card.fraud.FraudProfiles;
+import com.bank.card.fraud.TransferAttempt;
+import com.bank.card.fraud.VelocityRule;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency that fraud scoring adds to a transfer: {@code FraudEngine.assess}
+ * with the default rules, then {@code record} as after the commit, over {@code users} users with three cards each.
+ * Profiles are pre-filled, so the run measures steady state rather than first
+ * sightings. Read the p0.99 row of the SampleTime results against the 200us budget.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class FraudScoringBenchmark {
+
+    @Param({"10000", "200000"})
+    public int users;
+
+    private FraudEngine engine;
+
+    @Setup
+    public void setUp() {
+        engine = new FraudEngine(
+                List.of(new VelocityRule(5, 10),
+                        new AmountOutlierRule(5, 20),
+                        new DrainRule(new BigDecimal("0.9"), new BigDecimal("1000"))),
+                new FraudProfiles(Duration.ofSeconds(30), 200_000, Duration.ofHours(24)),
+                new PrometheusMeterRegistry(PrometheusConfig.DEFAULT),
+                true, Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(200)), "open");
+        for (int i = 0; i < users * 3; i++) {
+            engine.record(attempt());
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public FraudAssessment assess() {
+        TransferAttempt attempt = attempt();
+        FraudAssessment assessment = engine.assess(attempt);
+        engine.record(attempt);
+        return assessment;
+    }
+
+    private TransferAttempt attempt() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long user = random.nextLong(users);
+        long card = user * 3 + random.nextLong(3);
+        return new TransferAttempt(user, card, card + 1,
+                BigDecimal.valueOf(random.nextLong(1, 50_000), 2),
+                BigDecimal.valueOf(random.nextLong(50_000, 500_000), 2),
+                System.nanoTime());
+    }
+}
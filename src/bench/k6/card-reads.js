@@ -0,0 +1,69 @@
+// Read-heavy load: the dominant mobile traffic (card list + single card polling).
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=1000 -e DURATION=60s src/bench/k6/card-reads.js
+// READ_URL sends the reads to another server (e.g. the reactive read API); setup always uses BASE_URL.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const READ_URL = __ENV.READ_URL || BASE_URL;
+const CARDS = parseInt(__ENV.CARDS || '20');
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-vus',
+            vus: parseInt(__ENV.VUS || '1000'),
+            duration: __ENV.DURATION || '60s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    setupTimeout: '120s',
+};
+
+function json(token) {
+    const headers = { 'Content-Type': 'application/json' };
+    if (token) headers.Authorization = `Bearer ${token}`;
+    return { headers };
+}
+
+function login(username, password) {
+    const res = http.post(`${BASE_URL}/api/v1/auth/login`, JSON.stringify({ username, password }), json());
+    check(res, { 'login ok': (r) => r.status === 200 });
+    return res.json('token');
+}
+
+export function setup() {
+    const username = `bench${Date.now()}`;
+    const password = 'benchpassword';
+    http.post(`${BASE_URL}/api/v1/auth/register`,
+        JSON.stringify({ username, email: `${username}@bench.local`, password }), json());
+    const token = login(username, password);
+    const ownerId = http.get(`${BASE_URL}/api/v1/users/me`, json(token)).json('id');
+
+    const cards = [];
+    for (let i = 0; i < CARDS; i++) {
+        cards.push({
+            cardNumber: `4${String(Date.now() % 1e9).padStart(9, '0')}${String(i).padStart(6, '0')}`,
+            ownerId,
+            cardholderName: 'Bench User',
+            expiryDate: '2030-12-31',
+            initialBalance: 100,
+        });
+    }
+    const issued = http.post(`${BASE_URL}/api/v1/admin/cards/bulk`, JSON.stringify(cards),
+        json(login(__ENV.ADMIN_USER || 'admin', __ENV.ADMIN_PASSWORD || 'admin123')));
+    const cardIds = issued.json('results').filter((r) => r.created).map((r) => r.cardId);
+    return { token, cardIds };
+}
+
+export default function (data) {
+    const params = json(data.token);
+    if (Math.random() < 0.5) {
+        const res = http.get(`${READ_URL}/api/v1/cards?size=10`, params);
+        check(res, { 'list 200': (r) => r.status === 200 });
+    } else {
+        const id = data.cardIds[Math.floor(Math.random() * data.cardIds.length)];
+        const res = http.get(`${READ_URL}/api/v1/cards/${id}`, params);
+        check(res, { 'card 200': (r) => r.status === 200 });
+    }
+}
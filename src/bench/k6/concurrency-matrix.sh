@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Platform threads vs virtual threads at 1k/5k/10k concurrent clients.
+# Needs: JDK 21, k6, jq, PostgreSQL from docker-compose, and `mvn package` done.
+# Both modes get the same connection pool so only the threading model differs.
+#   src/bench/k6/concurrency-matrix.sh [jar] [duration]
+set -euo pipefail
+
+JAR=${1:-$(ls target/card-management-*.jar | head -1)}
+DURATION=${2:-60s}
+BASE_URL=http://localhost:8080
+OUT=target/k6
+export DB_POOL_SIZE=${DB_POOL_SIZE:-32}
+mkdir -p "$OUT"
+ulimit -n 65535 || true
+
+wait_for_app() {
+    for _ in $(seq 1 60); do
+        curl -sf "$BASE_URL/v3/api-docs" >/dev/null && return 0
+        sleep 1
+    done
+    echo "application did not start" >&2
+    return 1
+}
+
+for mode in platform virtual; do
+    profile=""
+    [ "$mode" = virtual ] && profile="virtual-threads"
+    SPRING_PROFILES_ACTIVE=$profile java -jar "$JAR" >"$OUT/app-$mode.log" 2>&1 &
+    app=$!
+    trap 'kill $app 2>/dev/null || true' EXIT
+    wait_for_app
+
+    for vus in 1000 5000 10000; do
+        k6 run --quiet -e BASE_URL=$BASE_URL -e VUS=$vus -e DURATION=$DURATION \
+            --summary-export "$OUT/$mode-$vus.json" src/bench/k6/card-reads.js
+    done
+
+    kill $app
+    wait $app 2>/dev/null || true
+done
+
+printf '\n%-9s %6s %10s %10s %10s %8s\n' mode vus 'req/s' 'p95 ms' 'p99 ms' 'fail %'
+for mode in platform virtual; do
+    for vus in 1000 5000 10000; do
+        jq -r --arg mode $mode --arg vus $vus \
+            '[$mode, $vus, .metrics.http_reqs.rate, .metrics.http_req_duration["p(95)"],
+              .metrics.http_req_duration["p(99)"], .metrics.http_req_failed.value * 100] | @tsv' \
+            "$OUT/$mode-$vus.json" |
+            awk -F'\t' '{ printf "%-9s %6s %10.0f %10.1f %10.1f %8.2f\n", $1, $2, $3, $4, $5, $6 }'
+    done
+done
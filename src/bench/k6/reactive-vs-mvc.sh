@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# MVC (platform threads) vs the WebFlux + R2DBC read API at 1k/5k/10k concurrent clients.
+# Needs: k6, jq, PostgreSQL from docker-compose, and `mvn -Preactive package` done.
+# Both run side by side; cards are issued through MVC, reads go to one stack at a time.
+#   src/bench/k6/reactive-vs-mvc.sh [jar] [duration]
+set -euo pipefail
+
+JAR=${1:-$(ls target/card-management-*.jar | head -1)}
+DURATION=${2:-60s}
+MVC_URL=http://localhost:8080
+REACTIVE_URL=http://localhost:8081
+OUT=target/k6
+export DB_POOL_SIZE=${DB_POOL_SIZE:-20} R2DBC_POOL_SIZE=${R2DBC_POOL_SIZE:-20}
+mkdir -p "$OUT"
+ulimit -n 65535 || true
+
+wait_for() {
+    for _ in $(seq 1 60); do
+        # Any HTTP answer (403 without a token) means the server is up
+        [ "$(curl -s -o /dev/null -w '%{http_code}' "$1")" != 000 ] && return 0
+        sleep 1
+    done
+    echo "$1 did not come up" >&2
+    return 1
+}
+
+java -jar "$JAR" >"$OUT/app-mvc.log" 2>&1 &
+mvc=$!
+java -Dloader.main=com.bank.card.reactive.ReactiveReadApplication -cp "$JAR" \
+    org.springframework.boot.loader.launch.PropertiesLauncher >"$OUT/app-reactive.log" 2>&1 &
+reactive=$!
+trap 'kill $mvc $reactive 2>/dev/null || true' EXIT
+wait_for "$MVC_URL/v3/api-docs"
+wait_for "$REACTIVE_URL/api/v1/cards"
+
+for stack in mvc reactive; do
+    read_url=$MVC_URL
+    [ "$stack" = reactive ] && read_url=$REACTIVE_URL
+    for vus in 1000 5000 10000; do
+        k6 run --quiet -e BASE_URL=$MVC_URL -e READ_URL=$read_url -e VUS=$vus -e DURATION=$DURATION \
+            --summary-export "$OUT/$stack-$vus.json" src/bench/k6/card-reads.js
+    done
+done
+
+printf '\n%-9s %6s %10s %10s %10s %8s\n' stack vus 'req/s' 'p95 ms' 'p99 ms' 'fail %'
+for stack in mvc reactive; do
+    for vus in 1000 5000 10000; do
+        jq -r --arg stack $stack --arg vus $vus \
+            '[$stack, $vus, .metrics.http_reqs.rate, .metrics.http_req_duration["p(95)"],
+              .metrics.http_req_duration["p(99)"], .metrics.http_req_failed.value * 100] | @tsv' \
+            "$OUT/$stack-$vus.json" |
+            awk -F'\t' '{ printf "%-9s %6s %10.0f %10.1f %10.1f %8.2f\n", $1, $2, $3, $4, $5, $6 }'
+    done
+done
@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Boot time of the default fat jar vs the -Pfaststart build (Spring AOT + AppCDS, Liquibase off).
+# Needs: PostgreSQL from docker-compose. Builds both variants into target/startup/ first.
+# Each run is timed from JVM launch to the first 200 from /actuator/health, and the
+# "Started BankCardApplication in X seconds" line is reported alongside.
+#   src/bench/startup/startup-time.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+OUT=target/startup
+HEALTH_URL=http://localhost:${SERVER_PORT:-8080}/actuator/health
+mkdir -p "$OUT"
+
+mvn -B -q -DskipTests clean package
+cp target/card-management-*.jar "$OUT/default.jar"
+# Schema must be current before a faststart boot; this also warms PostgreSQL for both variants
+java -jar "$OUT/default.jar" --spring.profiles.active=migrate >"$OUT/migrate.log" 2>&1
+
+mvn -B -q -DskipTests -Pfaststart clean package
+rm -rf "$OUT/faststart" && mkdir -p "$OUT/faststart"
+cp -r target/card-management-*.jar target/lib target/application.jsa "$OUT/faststart/"
+FASTSTART_JAR=$(ls "$OUT"/faststart/card-management-*.jar)
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+run_once() {
+    local variant=$1 log=$2 start pid
+    start=$(now_ms)
+    if [ "$variant" = default ]; then
+        java -jar "$OUT/default.jar" >"$log" 2>&1 &
+    else
+        java -XX:SharedArchiveFile="$OUT/faststart/application.jsa" -Dspring.aot.enabled=true \
+            -Dspring.profiles.active=faststart -jar "$FASTSTART_JAR" >"$log" 2>&1 &
+    fi
+    pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$HEALTH_URL")" = 200 ]; do
+        kill -0 $pid 2>/dev/null || { echo "$variant exited, see $log" >&2; return 1; }
+        sleep 0.05
+    done
+    echo $(( $(now_ms) - start ))
+    kill $pid && wait $pid 2>/dev/null || true
+}
+
+printf '%-10s %4s %12s %12s\n' variant run 'healthy ms' 'started s'
+for variant in default faststart; do
+    for run in $(seq 1 "$RUNS"); do
+        log="$OUT/$variant-$run.log"
+        healthy=$(run_once $variant "$log")
+        started=$(sed -n 's/.*Started BankCardApplication in \([0-9.]*\) seconds.*/\1/p' "$log")
+        printf '%-10s %4s %12s %12s\n' $variant "$run" "$healthy" "${started:-?}"
+    done
+done | tee "$OUT/results.txt"
+
+awk '{ sum[$1] += $3; n[$1]++ }
+     END { for (v in sum) printf "%-10s mean %8.0f ms to healthy\n", v, sum[v] / n[v] }' "$OUT/results.txt"
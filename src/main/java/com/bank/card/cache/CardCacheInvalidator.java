@@ -0,0 +1,96 @@
+package com.bank.card.cache;
+
+import com.bank.card.config.PostgresNotificationListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Evicts cached cards after a write commits, on this node and — through
+ * PostgreSQL NOTIFY, which is itself only delivered on commit — on every other node.
+ */
+@Component
+@Slf4j
+public class CardCacheInvalidator {
+
+    static final String CHANNEL = "card_cache_invalidation";
+
+    /** NOTIFY payloads are capped at 8000 bytes; past this many ids just flush everything. */
+    private static final int MAX_IDS_PER_NOTIFICATION = 500;
+    private static final String INVALIDATE_ALL = "*";
+
+    private final CardResponseCache cache;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean notifyEnabled;
+
+    public CardCacheInvalidator(
+            CardResponseCache cache,
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<PostgresNotificationListener> listener,
+            @Value("${card.notify.enabled:true}") boolean notifyEnabled
+    ) {
+        this.cache = cache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.notifyEnabled = notifyEnabled;
+        listener.ifAvailable(l -> l.subscribe(CHANNEL, new PostgresNotificationListener.Handler() {
+            @Override
+            public void onNotification(String payload) {
+                applyRemote(payload);
+            }
+
+            @Override
+            public void onReconnect() {
+                cache.invalidateAll();
+            }
+        }));
+    }
+
+    /**
+     * Schedules eviction of {@code cardIds} once the current transaction commits
+     * (immediately when there is none). Evicting before commit would let a
+     * concurrent reader re-cache the old row.
+     */
+    public void evictAfterCommit(Collection<Long> cardIds) {
+        if (cardIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(cardIds);
+        if (notifyEnabled) {
+            String payload = ids.size() > MAX_IDS_PER_NOTIFICATION
+                    ? INVALIDATE_ALL
+                    : ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, payload);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(ids);
+                }
+            });
+        } else {
+            cache.invalidate(ids);
+        }
+    }
+
+    void applyRemote(String payload) {
+        if (INVALIDATE_ALL.equals(payload)) {
+            cache.invalidateAll();
+            return;
+        }
+        try {
+            cache.invalidate(Arrays.stream(payload.split(",")).map(Long::valueOf).toList());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed cache invalidation payload: {}", payload);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.bank.card.cache;
+
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.entity.CardStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of mapped CardResponse entries keyed by card id.
+ * Writers evict through {@link CardCacheInvalidator}; the TTL only bounds
+ * staleness if a cross-node notification is ever lost.
+ */
+@Component
+@Slf4j
+public class CardResponseCache {
+
+    private final boolean enabled;
+    private final Cache<Long, CardResponse> cache;
+
+    public CardResponseCache(
+            @Value("${card.cache.enabled:true}") boolean enabled,
+            @Value("${card.cache.max-size:100000}") long maxSize,
+            @Value("${card.cache.ttl:10m}") Duration ttl
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        log.info("Card response cache {} (max-size={}, ttl={})", enabled ? "enabled" : "disabled", maxSize, ttl);
+    }
+
+    /**
+     * Returns the cached response for {@code cardId}, loading it on a miss.
+     * Exceptions from the loader (e.g. not found) propagate and nothing is cached.
+     * Callers get their own copy, with the effective status applied at read time
+     * so a card that expired since it was cached is still reported correctly.
+     */
+    public CardResponse get(Long cardId, Function<Long, CardResponse> loader) {
+        CardResponse response = enabled ? cache.get(cardId, loader) : loader.apply(cardId);
+        return response.toBuilder()
+                .status(CardStatus.effective(response.getStatus(), response.getExpiryDate()))
+                .build();
+    }
+
+    public void invalidate(Collection<Long> cardIds) {
+        cache.invalidateAll(cardIds);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Exposed for metrics binding only.
+     */
+    public Cache<Long, CardResponse> nativeCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,15 @@
+package com.bank.card.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables @Async for long-running admin work (large account purges).
+ * Tasks run on Boot's applicationTaskExecutor, sized via spring.task.execution.*.
+ * The long scheduled jobs (expiry notices, statements, reconciliation) hand
+ * their runs to the same executor, so they never hold a scheduler thread.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
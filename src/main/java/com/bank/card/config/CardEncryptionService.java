@@ -1,5 +1,7 @@
 package com.bank.card.config;
 
+import com.bank.card.observability.ServerTiming;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -27,7 +29,9 @@ public class CardEncryptionService {
         this.secretKeySpec = new SecretKeySpec(key, ALGORITHM);
     }
 
+    @Timed(value = "card.encryption", extraTags = {"operation", "encrypt"})
     public String encrypt(String cardNumber) {
+        long start = System.nanoTime();
         try {
             Cipher cipher = Cipher.getInstance(ALGORITHM);
             cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec);
@@ -35,10 +39,14 @@ public class CardEncryptionService {
             return Base64.getEncoder().encodeToString(encrypted);
         } catch (Exception e) {
             throw new RuntimeException("Failed to encrypt card number", e);
+        } finally {
+            ServerTiming.recordSince(ServerTiming.Phase.ENCRYPTION, start);
         }
     }
 
+    @Timed(value = "card.encryption", extraTags = {"operation", "decrypt"})
     public String decrypt(String encryptedCardNumber) {
+        long start = System.nanoTime();
         try {
             Cipher cipher = Cipher.getInstance(ALGORITHM);
             cipher.init(Cipher.DECRYPT_MODE, secretKeySpec);
@@ -46,6 +54,8 @@ public class CardEncryptionService {
             return new String(cipher.doFinal(decoded));
         } catch (Exception e) {
             throw new RuntimeException("Failed to decrypt card number", e);
+        } finally {
+            ServerTiming.recordSince(ServerTiming.Phase.ENCRYPTION, start);
         }
     }
 
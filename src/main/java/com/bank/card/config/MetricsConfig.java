@@ -0,0 +1,27 @@
+package com.bank.card.config;
+
+import com.bank.card.cache.CardResponseCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * HTTP, JVM and HikariCP pool metrics come from actuator auto-configuration;
+ * this adds {@code @Timed} support and the card response cache.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder cardResponseCacheMetrics(CardResponseCache cardResponseCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, cardResponseCache.nativeCache(), "cards");
+    }
+}
@@ -0,0 +1,149 @@
+package com.bank.card.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Single background thread that LISTENs on PostgreSQL channels and hands
+ * NOTIFY payloads to subscribers — the cross-node fan-out for in-process state.
+ * Uses its own connection rather than one borrowed from the pool for good.
+ * With sharding, NOTIFY goes to the shard the transaction wrote, so there is
+ * one such thread per shard.
+ */
+@Component
+@ConditionalOnProperty(prefix = "card.notify", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PostgresNotificationListener implements SmartLifecycle {
+
+    private static final int POLL_TIMEOUT_MS = 5_000;
+    private static final long RECONNECT_DELAY_MS = 2_000;
+
+    public interface Handler {
+        void onNotification(String payload);
+
+        /**
+         * Called after the connection was re-established: anything sent
+         * while we were disconnected is lost, so drop derived state.
+         */
+        default void onReconnect() {}
+    }
+
+    private final DataSourceProperties dataSourceProperties;
+    private final List<String> urls;
+    private final Map<String, List<Handler>> handlers = new ConcurrentHashMap<>();
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public PostgresNotificationListener(
+            DataSourceProperties dataSourceProperties,
+            @Value("${card.sharding.enabled:false}") boolean sharded,
+            @Value("${card.sharding.urls:}") List<String> shardUrls
+    ) {
+        this.dataSourceProperties = dataSourceProperties;
+        List<String> urls = new ArrayList<>();
+        urls.add(dataSourceProperties.determineUrl());
+        if (sharded) {
+            urls.addAll(shardUrls);
+        }
+        this.urls = List.copyOf(urls);
+    }
+
+    public void subscribe(String channel, Handler handler) {
+        handlers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int shard = 0; shard < urls.size(); shard++) {
+            String url = urls.get(shard);
+            Thread thread = new Thread(() -> run(url),
+                    urls.size() == 1 ? "pg-notify-listener" : "pg-notify-listener-" + shard);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run(String url) {
+        boolean firstConnect = true;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    url,
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : handlers.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                if (!firstConnect) {
+                    handlers.values().forEach(list -> list.forEach(Handler::onReconnect));
+                }
+                firstConnect = false;
+                log.info("Listening for PostgreSQL notifications on {}", handlers.keySet());
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) continue;
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) break;
+                firstConnect = false;
+                log.warn("PostgreSQL notification listener disconnected: {}", e.getMessage());
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+        for (Handler handler : handlers.getOrDefault(notification.getName(), List.of())) {
+            try {
+                handler.onNotification(notification.getParameter());
+            } catch (RuntimeException e) {
+                log.error("Notification handler for {} failed: {}", notification.getName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
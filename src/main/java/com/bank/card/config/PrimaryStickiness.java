@@ -0,0 +1,45 @@
+package com.bank.card.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+
+/**
+ * Read-your-writes for replica routing: once a user's read-write transaction
+ * commits, that user's read-only transactions stay on the primary for the
+ * sticky window, which should comfortably exceed normal replication lag.
+ * Pins are held per node, so a load balancer should keep clients on one node
+ * (or the window must also cover a client hopping nodes).
+ */
+public class PrimaryStickiness implements TransactionExecutionListener {
+
+    private final Cache<Long, Boolean> pinnedUsers;
+
+    public PrimaryStickiness(Duration window) {
+        this.pinnedUsers = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void pin(Long userId) {
+        pinnedUsers.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isPinned(Long userId) {
+        return pinnedUsers.getIfPresent(userId) != null;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        Long userId = ReplicaRoutingDataSource.currentUserId();
+        if (userId != null) {
+            pin(userId);
+        }
+    }
+}
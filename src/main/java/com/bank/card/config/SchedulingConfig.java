@@ -0,0 +1,15 @@
+package com.bank.card.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs (expiry sweep etc.). Can be switched off per instance
+ * with card.scheduling.enabled=false, e.g. for read-only replicas of the app.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "card.scheduling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -1,6 +1,8 @@
 package com.bank.card.config;
 
 import com.bank.card.security.jwt.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,12 +30,16 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
 
     private static final String[] PUBLIC_URLS = {
             "/api/v1/auth/**",
             "/v3/api-docs/**",
             "/swagger-ui/**",
-            "/swagger-ui.html"
+            "/swagger-ui.html",
+            // Scraped by Prometheus; set MANAGEMENT_SERVER_PORT to keep them off the public port
+            "/actuator/health/**",
+            "/actuator/prometheus"
     };
 
     @Bean
@@ -41,6 +47,9 @@ public class SecurityConfig {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
+                // Streaming responses complete on an ASYNC dispatch that the JWT filter
+                // does not re-run; the original REQUEST dispatch was already authorized.
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(PUBLIC_URLS).permitAll()
                 // Admin-only endpoints
                 .requestMatchers(HttpMethod.POST, "/api/v1/cards").hasRole("ADMIN")
@@ -75,6 +84,6 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 }
@@ -0,0 +1,137 @@
+package com.bank.card.config;
+
+import com.bank.card.shard.ShardRoutingDataSource;
+import com.bank.card.shard.Shards;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Users and their cards spread over several databases: spring.datasource is
+ * shard 0, card.sharding.urls are shards 1..n with the same credentials and
+ * pool settings. Off by default; not combinable with the read replica.
+ *
+ * <p>Turns open-in-view off (sharding.properties): requests switch shards
+ * mid-way, e.g. a login asking each shard in turn, and a request-scoped
+ * EntityManager would keep them all on the shard of its first connection.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "card.sharding", name = "enabled", havingValue = "true")
+@Conditional(ShardingConfig.NotWithReplica.class)
+@PropertySource("classpath:sharding.properties")
+@Slf4j
+public class ShardingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource shard0DataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(
+            HikariDataSource shard0DataSource,
+            MeterRegistry meterRegistry,
+            @Value("${card.sharding.urls}") List<String> urls,
+            @Value("${spring.jpa.open-in-view}") boolean openInView
+    ) {
+        if (openInView) {
+            throw new IllegalStateException("spring.jpa.open-in-view must stay off with card.sharding.enabled");
+        }
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(shard0DataSource);
+        for (String url : urls) {
+            // Copied before the first pool starts: a started pool's configuration is sealed
+            HikariConfig config = new HikariConfig();
+            shard0DataSource.copyStateTo(config);
+            config.setJdbcUrl(url);
+            config.setPoolName("shard-" + shards.size());
+            config.setMetricRegistry(null);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(new HikariDataSource(config));
+        }
+        log.info("Sharding users and cards over {} database(s)", shards.size());
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * Boot's Liquibase run migrates shard 0 through the routing DataSource;
+     * this brings the other shards to the same changelog, each told where its
+     * id range starts. Runs before the scheduler and the web server start.
+     */
+    @Bean
+    public SmartInitializingSingleton shardMigrations(
+            Shards shards,
+            DataSource dataSource,
+            ResourceLoader resourceLoader,
+            @Value("${spring.liquibase.enabled:true}") boolean enabled,
+            @Value("${spring.liquibase.change-log}") String changeLog
+    ) {
+        return () -> {
+            if (!enabled) {
+                return;
+            }
+            for (int shard = 1; shard < shards.count(); shard++) {
+                SpringLiquibase liquibase = new SpringLiquibase();
+                liquibase.setDataSource(dataSource);
+                liquibase.setChangeLog(changeLog);
+                liquibase.setResourceLoader(resourceLoader);
+                liquibase.setChangeLogParameters(Map.of("shard.id-base", String.valueOf(Shards.idBase(shard))));
+                Shards.run(shard, () -> {
+                    try {
+                        liquibase.afterPropertiesSet();
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Migrating shard " + Shards.current() + " failed", e);
+                    }
+                });
+                log.info("Migrated shard {}", shard);
+            }
+        };
+    }
+
+    /**
+     * Sharding and the read replica both define the primary DataSource, and
+     * Spring would only report the clash as a bean override. Checked while the
+     * configuration is parsed, before either definition is registered.
+     */
+    static class NotWithReplica implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (context.getEnvironment().getProperty("card.datasource.replica.enabled", Boolean.class, false)) {
+                throw new IllegalStateException(
+                        "card.sharding.enabled and card.datasource.replica.enabled cannot both be true");
+            }
+            return true;
+        }
+    }
+}
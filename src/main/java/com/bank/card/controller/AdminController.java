@@ -1,12 +1,26 @@
 package com.bank.card.controller;
 
+import com.bank.card.cache.CardResponseCache;
+import com.bank.card.dto.request.BulkCardStatusRequest;
 import com.bank.card.dto.request.CardCreateRequest;
+import com.bank.card.dto.request.CardLimitsRequest;
+import com.bank.card.dto.response.BulkCardIssueResponse;
+import com.bank.card.dto.response.BulkCardStatusResponse;
+import com.bank.card.dto.response.CacheStatsResponse;
 import com.bank.card.dto.response.CardResponse;
 import com.bank.card.dto.response.PageResponse;
+import com.bank.card.dto.response.ReconciliationReportResponse;
 import com.bank.card.dto.response.UserResponse;
 import com.bank.card.entity.CardStatus;
+import com.bank.card.exception.ConflictException;
+import com.bank.card.exception.ResourceNotFoundException;
+import com.bank.card.reconciliation.BalanceReconciler;
+import com.bank.card.service.BulkCardService;
+import com.bank.card.service.CardExportService;
 import com.bank.card.service.CardService;
 import com.bank.card.service.UserService;
+import com.bank.card.shard.Shards;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -16,11 +30,23 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * With sharding, operations on one card or user run on the shard its id
+ * carries, and listings merge a page from every shard.
+ */
 @RestController
 @RequestMapping("/api/v1/admin")
 @RequiredArgsConstructor
@@ -30,7 +56,12 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
 
     private final CardService cardService;
+    private final BulkCardService bulkCardService;
+    private final CardExportService cardExportService;
     private final UserService userService;
+    private final CardResponseCache cardResponseCache;
+    private final BalanceReconciler balanceReconciler;
+    private final Shards shards;
 
     // ─── Card Management ─────────────────────────────────────────────────────
 
@@ -39,7 +70,27 @@ public class AdminController {
     public ResponseEntity<CardResponse> createCard(
             @Valid @RequestBody CardCreateRequest request
     ) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(cardService.createCard(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(
+                Shards.on(Shards.ofId(request.getOwnerId()), () -> cardService.createCard(request)));
+    }
+
+    @PostMapping(value = "/cards/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Issue many cards from a JSON array; returns a result per row")
+    public ResponseEntity<BulkCardIssueResponse> bulkCreateCards(
+            @RequestBody List<CardCreateRequest> requests
+    ) {
+        return ResponseEntity.ok(bulkCardService.issueCards(requests));
+    }
+
+    @PostMapping(value = "/cards/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Issue many cards from a CSV upload; returns a result per row")
+    public ResponseEntity<BulkCardIssueResponse> bulkCreateCardsFromCsv(
+            @Parameter(description = "CSV with header cardNumber,ownerId,cardholderName,expiryDate[,initialBalance]")
+            @RequestParam("file") MultipartFile file
+    ) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return ResponseEntity.ok(bulkCardService.issueCardsFromCsv(csv));
+        }
     }
 
     @GetMapping("/cards")
@@ -56,13 +107,29 @@ public class AdminController {
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(cardService.getAllCards(status, pageable));
+        return ResponseEntity.ok(shards.page(pageable, shardPage -> cardService.getAllCards(status, shardPage)));
+    }
+
+    @GetMapping("/cards/export")
+    @Operation(summary = "Stream all cards as NDJSON or CSV (optionally filtered by status)")
+    public ResponseEntity<StreamingResponseBody> exportCards(
+            @Parameter(description = "Filter by status: ACTIVE, BLOCKED, EXPIRED")
+            @RequestParam(required = false) CardStatus status,
+            @Parameter(description = "Output format: NDJSON or CSV")
+            @RequestParam(defaultValue = "NDJSON") CardExportService.Format format
+    ) {
+        StreamingResponseBody body = out -> cardExportService.exportCards(status, format, out);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"cards." + format.getExtension() + "\"")
+                .body(body);
     }
 
     @GetMapping("/cards/{cardId}")
     @Operation(summary = "Get any card by ID")
     public ResponseEntity<CardResponse> getCardById(@PathVariable Long cardId) {
-        return ResponseEntity.ok(cardService.getCardById(cardId));
+        return ResponseEntity.ok(Shards.on(Shards.ofId(cardId), () -> cardService.getCardById(cardId)));
     }
 
     @PatchMapping("/cards/{cardId}/status")
@@ -71,16 +138,66 @@ public class AdminController {
             @PathVariable Long cardId,
             @Parameter(description = "New status") @RequestParam CardStatus status
     ) {
-        return ResponseEntity.ok(cardService.setCardStatus(cardId, status));
+        return ResponseEntity.ok(Shards.on(Shards.ofId(cardId), () -> cardService.setCardStatus(cardId, status)));
+    }
+
+    @PatchMapping("/cards/{cardId}/limits")
+    @Operation(summary = "Set a card's daily and monthly transfer limits (null = configured default)")
+    public ResponseEntity<CardResponse> setCardLimits(
+            @PathVariable Long cardId,
+            @Valid @RequestBody CardLimitsRequest request
+    ) {
+        return ResponseEntity.ok(Shards.on(Shards.ofId(cardId), () -> cardService.setCardLimits(cardId, request)));
+    }
+
+    @PatchMapping("/cards/status")
+    @Operation(summary = "Set the status of every card matching a filter (owner, ids, last four, expiry range)")
+    public ResponseEntity<BulkCardStatusResponse> bulkSetCardStatus(
+            @Valid @RequestBody BulkCardStatusRequest request
+    ) {
+        return ResponseEntity.ok(bulkCardService.updateStatus(request));
     }
 
     @DeleteMapping("/cards/{cardId}")
     @Operation(summary = "Delete a card permanently")
     public ResponseEntity<Void> deleteCard(@PathVariable Long cardId) {
-        cardService.deleteCard(cardId);
+        Shards.run(Shards.ofId(cardId), () -> cardService.deleteCard(cardId));
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/cache/cards")
+    @Operation(summary = "Card cache hit/miss/eviction statistics for this node")
+    public ResponseEntity<CacheStatsResponse> getCardCacheStats() {
+        CacheStats stats = cardResponseCache.stats();
+        return ResponseEntity.ok(CacheStatsResponse.builder()
+                .enabled(cardResponseCache.isEnabled())
+                .size(cardResponseCache.size())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build());
+    }
+
+    // ─── Reconciliation ──────────────────────────────────────────────────────
+
+    @PostMapping("/reconciliation")
+    @Operation(summary = "Start a ledger-vs-balance reconciliation on this node; responds 202")
+    public ResponseEntity<Void> startReconciliation() {
+        if (balanceReconciler.isRunning()) {
+            throw new ConflictException("A reconciliation is already running");
+        }
+        balanceReconciler.reconcileAsync();
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/reconciliation")
+    @Operation(summary = "Result of the last reconciliation on this node, with the cards whose balance disagrees with the ledger")
+    public ResponseEntity<ReconciliationReportResponse> getReconciliationReport() {
+        return ResponseEntity.ok(balanceReconciler.lastReport()
+                .orElseThrow(() -> new ResourceNotFoundException("No reconciliation has finished on this node yet")));
+    }
+
     // ─── User Management ─────────────────────────────────────────────────────
 
     @GetMapping("/users")
@@ -95,13 +212,13 @@ public class AdminController {
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(userService.getAllUsers(pageable));
+        return ResponseEntity.ok(shards.page(pageable, userService::getAllUsers));
     }
 
     @GetMapping("/users/{userId}")
     @Operation(summary = "Get user by ID")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long userId) {
-        return ResponseEntity.ok(userService.getUserById(userId));
+        return ResponseEntity.ok(Shards.on(Shards.ofId(userId), () -> userService.getUserById(userId)));
     }
 
     @PatchMapping("/users/{userId}/enable")
@@ -110,13 +227,22 @@ public class AdminController {
             @PathVariable Long userId,
             @RequestParam boolean enabled
     ) {
-        return ResponseEntity.ok(userService.toggleUserEnabled(userId, enabled));
+        return ResponseEntity.ok(Shards.on(Shards.ofId(userId),
+                () -> userService.toggleUserEnabled(userId, enabled)));
     }
 
     @DeleteMapping("/users/{userId}")
-    @Operation(summary = "Delete a user and all their cards")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long userId) {
-        userService.deleteUser(userId);
+    @Operation(summary = "Delete a user and all their cards (async=true for very large accounts)")
+    public ResponseEntity<Void> deleteUser(
+            @PathVariable Long userId,
+            @Parameter(description = "Disable now and delete in the background; responds 202")
+            @RequestParam(defaultValue = "false") boolean async
+    ) {
+        if (async) {
+            Shards.run(Shards.ofId(userId), () -> userService.deleteUserAsync(userId));
+            return ResponseEntity.accepted().build();
+        }
+        Shards.run(Shards.ofId(userId), () -> userService.deleteUser(userId));
         return ResponseEntity.noContent().build();
     }
 }
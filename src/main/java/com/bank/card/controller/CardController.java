@@ -6,16 +6,30 @@ import com.bank.card.entity.CardStatus;
 import com.bank.card.entity.User;
 import com.bank.card.security.service.SecurityUtils;
 import com.bank.card.service.CardService;
+import com.bank.card.service.StatementService;
+import com.bank.card.statement.StatementFiles;
+import com.bank.card.stream.CardStreamBroadcaster;
+import com.bank.card.util.FileResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.YearMonth;
 
 @RestController
 @RequestMapping("/api/v1/cards")
@@ -24,8 +38,13 @@ import org.springframework.web.bind.annotation.*;
 @SecurityRequirement(name = "bearerAuth")
 public class CardController {
 
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
     private final CardService cardService;
     private final SecurityUtils securityUtils;
+    private final CardStreamBroadcaster cardStreamBroadcaster;
+    private final StatementService statementService;
+    private final StatementFiles statementFiles;
 
     @GetMapping
     @Operation(summary = "Get my cards with optional status filter and pagination")
@@ -35,20 +54,34 @@ public class CardController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir
+            @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest webRequest
     ) {
         User currentUser = securityUtils.getCurrentUser();
         Sort sort = sortDir.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
+        // Tag is computed before the body, so a concurrent write can only cause a spurious 200, never a stale 304
+        if (webRequest.checkNotModified(cardService.getMyCardsETag(currentUser, status, pageable))) {
+            return null;
+        }
         return ResponseEntity.ok(cardService.getMyCards(currentUser, status, pageable));
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes to my cards as server-sent events (event name: card, data: CardResponse)")
+    public SseEmitter streamMyCards() {
+        return cardStreamBroadcaster.subscribe(securityUtils.getCurrentUser().getId());
+    }
+
     @GetMapping("/{cardId}")
     @Operation(summary = "Get a specific card by ID (must belong to current user)")
-    public ResponseEntity<CardResponse> getMyCard(@PathVariable Long cardId) {
+    public ResponseEntity<CardResponse> getMyCard(@PathVariable Long cardId, WebRequest webRequest) {
         User currentUser = securityUtils.getCurrentUser();
+        if (webRequest.checkNotModified(cardService.getMyCardETag(cardId, currentUser))) {
+            return null;
+        }
         return ResponseEntity.ok(cardService.getMyCard(cardId, currentUser));
     }
 
@@ -58,4 +91,17 @@ public class CardController {
         User currentUser = securityUtils.getCurrentUser();
         return ResponseEntity.ok(cardService.requestBlock(cardId, currentUser));
     }
+
+    @GetMapping("/{cardId}/statements/{month}")
+    @Operation(summary = "Download a monthly statement of one of your cards (gzip-compressed CSV or NDJSON)")
+    public void getMyStatement(
+            @PathVariable Long cardId,
+            @Parameter(description = "Statement month, yyyy-MM")
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Path statement = statementService.getMyStatement(cardId, month, securityUtils.getCurrentUser());
+        FileResponses.sendFile(statement, GZIP, statementFiles.downloadName(cardId, month), request, response);
+    }
 }
@@ -4,12 +4,14 @@ import com.bank.card.dto.response.UserResponse;
 import com.bank.card.entity.User;
 import com.bank.card.security.service.SecurityUtils;
 import com.bank.card.service.UserService;
+import com.bank.card.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -23,8 +25,14 @@ public class UserController {
 
     @GetMapping("/me")
     @Operation(summary = "Get current user profile and card count")
-    public ResponseEntity<UserResponse> getMyProfile() {
+    public ResponseEntity<UserResponse> getMyProfile(WebRequest webRequest) {
         User currentUser = securityUtils.getCurrentUser();
-        return ResponseEntity.ok(userService.getCurrentUserProfile(currentUser));
+        UserResponse profile = userService.getCurrentUserProfile(currentUser);
+        String eTag = ETags.of(profile.getId(), profile.getUsername(), profile.getEmail(), profile.getRole(),
+                profile.isEnabled(), profile.getCardCount());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(profile);
     }
 }
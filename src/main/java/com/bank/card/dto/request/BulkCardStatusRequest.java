@@ -0,0 +1,37 @@
+package com.bank.card.dto.request;
+
+import com.bank.card.entity.CardStatus;
+import com.bank.card.repository.CardFilter;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Status change applied to every card matching all of the given criteria.
+ * At least one criterion is required. Card numbers are stored encrypted,
+ * so BIN prefixes cannot be matched; the masked last four digits can.
+ */
+@Data
+public class BulkCardStatusRequest {
+
+    @NotNull(message = "Status is required")
+    private CardStatus status;
+
+    private Long ownerId;
+
+    @Size(max = 10000, message = "At most 10000 card IDs per request")
+    private List<Long> cardIds;
+
+    @Pattern(regexp = "^[0-9]{4}$", message = "Last four must be exactly 4 digits")
+    private String lastFour;
+
+    private LocalDate expiryFrom;
+
+    private LocalDate expiryTo;
+
+    public CardFilter toFilter() {
+        return new CardFilter(ownerId, cardIds, lastFour, expiryFrom, expiryTo);
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.card.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Replaces both limits of a card. A null limit falls back to the configured
+ * default; 0.00 blocks outgoing transfers.
+ */
+@Data
+public class CardLimitsRequest {
+
+    @DecimalMin(value = "0.00", message = "Daily limit cannot be negative")
+    @Digits(integer = 13, fraction = 2, message = "Daily limit format is invalid")
+    private BigDecimal dailyLimit;
+
+    @DecimalMin(value = "0.00", message = "Monthly limit cannot be negative")
+    @Digits(integer = 13, fraction = 2, message = "Monthly limit format is invalid")
+    private BigDecimal monthlyLimit;
+}
@@ -0,0 +1,38 @@
+package com.bank.card.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCardIssueResponse {
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<Row> results;
+
+    /**
+     * Outcome of one input row; {@code row} is 1-based in the order received
+     * (for CSV, data rows after the header).
+     */
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Row {
+        private int row;
+        private boolean created;
+        private Long cardId;
+        private String maskedCardNumber;
+        private String error;
+    }
+}
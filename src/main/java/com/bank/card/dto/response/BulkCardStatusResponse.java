@@ -0,0 +1,17 @@
+package com.bank.card.dto.response;
+
+import com.bank.card.entity.CardStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCardStatusResponse {
+
+    private CardStatus status;
+    private int updated;
+}
@@ -11,7 +11,7 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class CardResponse {
@@ -32,4 +32,8 @@ public class CardResponse {
     private BigDecimal balance;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
+
+    /** Card-specific transfer limits; null when the configured default applies. */
+    private BigDecimal dailyLimit;
+    private BigDecimal monthlyLimit;
 }
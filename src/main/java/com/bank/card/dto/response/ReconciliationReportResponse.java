@@ -0,0 +1,41 @@
+package com.bank.card.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReconciliationReportResponse {
+
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+    /** Month whose closing balances were the starting point; null when the whole ledger was summed. */
+    private LocalDate snapshotMonth;
+    private boolean replica;
+    private long cardsChecked;
+    /** Cards with neither a snapshot nor ledger entries to check against. */
+    private long cardsUnverified;
+    private long rangesFailed;
+    private long mismatchCount;
+    /** The first mismatches found, up to card.reconciliation.max-reported. */
+    private List<Mismatch> mismatches;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Mismatch {
+        private Long cardId;
+        private BigDecimal expectedBalance;
+        private BigDecimal actualBalance;
+    }
+}
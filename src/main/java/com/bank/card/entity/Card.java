@@ -2,6 +2,8 @@ package com.bank.card.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,8 +18,15 @@ import java.time.OffsetDateTime;
 @AllArgsConstructor
 public class Card {
 
+    public static final int ALLOCATION_SIZE = 50;
+
+    /**
+     * Pooled sequence so Hibernate can batch inserts: one nextval reserves
+     * ALLOCATION_SIZE ids. Must match the INCREMENT BY of cards_id_seq.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cards_id_seq")
+    @SequenceGenerator(name = "cards_id_seq", sequenceName = "cards_id_seq", allocationSize = Card.ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -35,6 +44,7 @@ public class Card {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User owner;
 
     @Column(name = "cardholder_name", nullable = false, length = 100)
@@ -50,6 +60,16 @@ public class Card {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal balance;
 
+    /**
+     * Outgoing transfer limits per calendar day and month.
+     * Null means the configured default applies.
+     */
+    @Column(name = "daily_limit", precision = 15, scale = 2)
+    private BigDecimal dailyLimit;
+
+    @Column(name = "monthly_limit", precision = 15, scale = 2)
+    private BigDecimal monthlyLimit;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
@@ -72,4 +92,8 @@ public class Card {
     public boolean isExpired() {
         return expiryDate.isBefore(LocalDate.now());
     }
+
+    public CardStatus getEffectiveStatus() {
+        return CardStatus.effective(status, expiryDate);
+    }
 }
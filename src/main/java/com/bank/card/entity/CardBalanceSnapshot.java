@@ -0,0 +1,49 @@
+package com.bank.card.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A card's closing balance for a month, computed from the ledger when its
+ * statement is generated. The next month starts from it instead of replaying
+ * the ledger from the beginning.
+ */
+@Entity
+@Table(name = "card_balance_snapshots")
+@IdClass(CardBalanceSnapshot.Key.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardBalanceSnapshot {
+
+    @Id
+    @Column(name = "card_id")
+    private Long cardId;
+
+    /** First day of the month. */
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Column(name = "closing_balance", nullable = false, precision = 15, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(name = "entry_count", nullable = false)
+    private int entryCount;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long cardId;
+        private LocalDate monthStart;
+    }
+}
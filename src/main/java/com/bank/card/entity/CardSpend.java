@@ -0,0 +1,49 @@
+package com.bank.card.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Running outgoing transfer totals of a card for one day and one month,
+ * updated in the transfer's transaction. Totals from an earlier day or month
+ * are stale and count as zero.
+ */
+@Entity
+@Table(name = "card_spend")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardSpend {
+
+    @Id
+    @Column(name = "card_id")
+    private Long cardId;
+
+    @Column(name = "spend_day", nullable = false)
+    private LocalDate spendDay;
+
+    @Column(name = "day_total", nullable = false, precision = 15, scale = 2)
+    private BigDecimal dayTotal;
+
+    /** First day of the month. */
+    @Column(name = "spend_month", nullable = false)
+    private LocalDate spendMonth;
+
+    @Column(name = "month_total", nullable = false, precision = 15, scale = 2)
+    private BigDecimal monthTotal;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = OffsetDateTime.now();
+    }
+}
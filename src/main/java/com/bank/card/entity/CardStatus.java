@@ -1,7 +1,20 @@
 package com.bank.card.entity;
 
+import java.time.LocalDate;
+
 public enum CardStatus {
     ACTIVE,
     BLOCKED,
-    EXPIRED
+    EXPIRED;
+
+    /**
+     * Status as the API reports it: an ACTIVE card past its expiry date is
+     * EXPIRED even before the expiry sweeper has persisted that change.
+     */
+    public static CardStatus effective(CardStatus stored, LocalDate expiryDate) {
+        if (stored == ACTIVE && expiryDate != null && expiryDate.isBefore(LocalDate.now())) {
+            return EXPIRED;
+        }
+        return stored;
+    }
 }
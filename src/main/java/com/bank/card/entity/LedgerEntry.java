@@ -0,0 +1,55 @@
+package com.bank.card.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * One side of a balance movement, written in the same transaction as the
+ * balance change and never updated. Kept after the card is deleted.
+ */
+@Entity
+@Table(name = "ledger_entries")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "card_id", nullable = false)
+    private Long cardId;
+
+    /** Shared by the debit and the credit of one transfer. */
+    @Column(name = "transfer_id", nullable = false, length = 36)
+    private String transferId;
+
+    @Column(name = "counterparty_card_id")
+    private Long counterpartyCardId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private LedgerEntryType entryType;
+
+    /** Signed: negative for debits. */
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    /** Card balance right after this entry. */
+    @Column(name = "balance_after", nullable = false, precision = 15, scale = 2)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = OffsetDateTime.now();
+    }
+}
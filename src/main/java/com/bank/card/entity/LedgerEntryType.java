@@ -0,0 +1,6 @@
+package com.bank.card.entity;
+
+public enum LedgerEntryType {
+    DEBIT,
+    CREDIT
+}
@@ -0,0 +1,12 @@
+package com.bank.card.entity;
+
+public enum OutboxEventType {
+    CARD_STATUS_CHANGED,
+    CARD_BLOCK_REQUESTED,
+    /** One per side of a transfer, so each card's own stream sees it. */
+    TRANSFER_DEBITED,
+    TRANSFER_CREDITED,
+    /** A completed transfer that fraud scoring sent to review; keyed by the source card. */
+    TRANSFER_FLAGGED,
+    CARD_EXPIRING_SOON
+}
@@ -45,7 +45,11 @@ public class User implements UserDetails {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
 
-    @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    /**
+     * No JPA cascade: cards are removed by fk_cards_owner ON DELETE CASCADE,
+     * so deleting a user never loads their cards.
+     */
+    @OneToMany(mappedBy = "owner", fetch = FetchType.LAZY)
     private List<Card> cards;
 
     @PrePersist
@@ -1,10 +1,14 @@
 package com.bank.card.exception;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -21,6 +25,8 @@ public class GlobalExceptionHandler {
     public record ErrorResponse(
             int status,
             String error,
+            // Only for errors a client has to tell apart within one status
+            @JsonInclude(JsonInclude.Include.NON_NULL) String code,
             String message,
             OffsetDateTime timestamp
     ) {}
@@ -40,6 +46,16 @@ public class GlobalExceptionHandler {
         return buildError(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
     }
 
+    @ExceptionHandler(SpendingLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleSpendingLimitExceeded(SpendingLimitExceededException ex) {
+        return buildError(HttpStatus.UNPROCESSABLE_ENTITY, SpendingLimitExceededException.CODE, ex.getMessage());
+    }
+
+    @ExceptionHandler(TransferDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleTransferDenied(TransferDeniedException ex) {
+        return buildError(HttpStatus.UNPROCESSABLE_ENTITY, TransferDeniedException.CODE, ex.getMessage());
+    }
+
     @ExceptionHandler(CardOperationException.class)
     public ResponseEntity<ErrorResponse> handleCardOperation(CardOperationException ex) {
         return buildError(HttpStatus.BAD_REQUEST, ex.getMessage());
@@ -73,6 +89,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    /**
+     * No database connection within the pool's connection-timeout. Fail fast with
+     * 503 so clients back off, instead of letting requests pile up on the pool.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailable(Exception ex) {
+        log.warn("Database unavailable: {}", ex.getMessage());
+        ResponseEntity<ErrorResponse> error = buildError(HttpStatus.SERVICE_UNAVAILABLE,
+                "Service temporarily overloaded, please retry");
+        return ResponseEntity.status(error.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error.getBody());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
@@ -80,9 +110,14 @@ public class GlobalExceptionHandler {
     }
 
     private ResponseEntity<ErrorResponse> buildError(HttpStatus status, String message) {
+        return buildError(status, null, message);
+    }
+
+    private ResponseEntity<ErrorResponse> buildError(HttpStatus status, String code, String message) {
         return ResponseEntity.status(status).body(new ErrorResponse(
                 status.value(),
                 status.getReasonPhrase(),
+                code,
                 message,
                 OffsetDateTime.now()
         ));
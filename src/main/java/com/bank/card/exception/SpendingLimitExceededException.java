@@ -0,0 +1,14 @@
+package com.bank.card.exception;
+
+/**
+ * A transfer would take the source card over its daily or monthly limit.
+ * Reported with {@link #CODE} so clients can tell it apart from insufficient funds.
+ */
+public class SpendingLimitExceededException extends RuntimeException {
+
+    public static final String CODE = "SPENDING_LIMIT_EXCEEDED";
+
+    public SpendingLimitExceededException(String message) {
+        super(message);
+    }
+}
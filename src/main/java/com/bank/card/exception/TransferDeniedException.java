@@ -0,0 +1,13 @@
+package com.bank.card.exception;
+
+/**
+ * Fraud scoring denied a transfer. The message never says which rule fired.
+ */
+public class TransferDeniedException extends RuntimeException {
+
+    public static final String CODE = "TRANSFER_DENIED";
+
+    public TransferDeniedException(String message) {
+        super(message);
+    }
+}
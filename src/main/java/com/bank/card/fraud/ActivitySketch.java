@@ -0,0 +1,54 @@
+package com.bank.card.fraud;
+
+import java.time.Duration;
+
+/**
+ * Recent activity of one user or card, kept in memory only: an exponentially
+ * decayed transfer count and a streaming estimate of the 95th-percentile
+ * amount. A few dozen bytes per key, updated in constant time.
+ */
+public final class ActivitySketch {
+
+    private final double decayPerNano;
+    private final P2Quantile amounts = new P2Quantile(0.95);
+    private double transfers;
+    private long updatedNanos;
+
+    ActivitySketch(Duration halfLife, long nowNanos) {
+        this.decayPerNano = Math.log(2) / halfLife.toNanos();
+        this.updatedNanos = nowNanos;
+    }
+
+    /**
+     * Transfers attempted recently, each weighted by how long ago: one
+     * half-life ago counts half, two count a quarter.
+     */
+    public synchronized double recentTransfers(long nowNanos) {
+        return decayed(nowNanos);
+    }
+
+    /**
+     * Estimated 95th percentile of past amounts, NaN before the first.
+     */
+    public synchronized double amountP95() {
+        return amounts.quantile();
+    }
+
+    public synchronized long amountCount() {
+        return amounts.count();
+    }
+
+    synchronized void recordAttempt(long nowNanos) {
+        transfers = decayed(nowNanos) + 1;
+        updatedNanos = Math.max(updatedNanos, nowNanos);
+    }
+
+    synchronized void recordAmount(double amount) {
+        amounts.add(amount);
+    }
+
+    private double decayed(long nowNanos) {
+        long elapsed = nowNanos - updatedNanos;
+        return elapsed <= 0 ? transfers : transfers * Math.exp(-decayPerNano * elapsed);
+    }
+}
@@ -0,0 +1,40 @@
+package com.bank.card.fraud;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * An amount far above what the card usually sends: more than
+ * {@code multiplier} times its 95th percentile, once there is enough history
+ * for the percentile to mean something.
+ */
+@Component
+@Order(2)
+public class AmountOutlierRule implements FraudRule {
+
+    private final double multiplier;
+    private final long minHistory;
+
+    public AmountOutlierRule(
+            @Value("${card.fraud.amount.multiplier:5}") double multiplier,
+            @Value("${card.fraud.amount.min-history:20}") long minHistory
+    ) {
+        this.multiplier = multiplier;
+        this.minHistory = minHistory;
+    }
+
+    @Override
+    public RuleFinding evaluate(TransferAttempt attempt, ActivitySketch user, ActivitySketch card) {
+        if (card.amountCount() < minHistory) {
+            return null;
+        }
+        double p95 = card.amountP95();
+        double amount = attempt.amount().doubleValue();
+        if (amount > multiplier * p95) {
+            return new RuleFinding("amount", FraudDecision.REVIEW,
+                    "amount %.2f is over %.0fx the card's p95 of %.2f".formatted(amount, multiplier, p95));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.card.fraud;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Draining a card: sending nearly all of a non-trivial balance at once.
+ */
+@Component
+@Order(3)
+public class DrainRule implements FraudRule {
+
+    private final BigDecimal ratio;
+    private final BigDecimal minBalance;
+
+    public DrainRule(
+            @Value("${card.fraud.drain.ratio:0.9}") BigDecimal ratio,
+            @Value("${card.fraud.drain.min-balance:1000}") BigDecimal minBalance
+    ) {
+        this.ratio = ratio;
+        this.minBalance = minBalance;
+    }
+
+    @Override
+    public RuleFinding evaluate(TransferAttempt attempt, ActivitySketch user, ActivitySketch card) {
+        BigDecimal balance = attempt.fromBalance();
+        if (balance.compareTo(minBalance) < 0 || attempt.amount().compareTo(balance.multiply(ratio)) < 0) {
+            return null;
+        }
+        return new RuleFinding("drain", FraudDecision.REVIEW,
+                "sends %s of a %s balance".formatted(attempt.amount(), balance));
+    }
+}
@@ -0,0 +1,12 @@
+package com.bank.card.fraud;
+
+import java.util.List;
+
+/**
+ * @param degraded true if a rule failed or the budget ran out, so the decision
+ *                 includes the configured failure mode
+ */
+public record FraudAssessment(FraudDecision decision, List<RuleFinding> findings, boolean degraded) {
+
+    static final FraudAssessment ALLOWED = new FraudAssessment(FraudDecision.ALLOW, List.of(), false);
+}
@@ -0,0 +1,15 @@
+package com.bank.card.fraud;
+
+/**
+ * In increasing order of severity.
+ */
+public enum FraudDecision {
+    ALLOW,
+    /** Let the transfer through and flag it for a person to look at. */
+    REVIEW,
+    DENY;
+
+    public FraudDecision max(FraudDecision other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+}
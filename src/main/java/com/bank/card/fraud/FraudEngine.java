@@ -0,0 +1,140 @@
+package com.bank.card.fraud;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores a transfer against the user's and source card's recent activity,
+ * in process and without touching the database. The decision is the most
+ * severe of the rules' findings.
+ *
+ * <p>Rules run one after the other on the caller's thread. Before each one
+ * the engine checks the latency budget; when it has run out, or a rule
+ * throws, the remaining rules are skipped and the failure mode decides:
+ * {@code open} keeps what the finished rules found, {@code closed} denies.
+ * A running rule is never interrupted, so rules must stay constant-time.
+ */
+@Component
+@Slf4j
+public class FraudEngine {
+
+    enum FailureMode { OPEN, CLOSED }
+
+    private final List<FraudRule> rules;
+    private final FraudProfiles profiles;
+    private final boolean enabled;
+    private final long budgetNanos;
+    private final FailureMode failureMode;
+    private final Timer assessmentTimer;
+    private final Map<FraudDecision, Counter> decisions = new EnumMap<>(FraudDecision.class);
+    private final Counter budgetExceeded;
+    private final Counter ruleErrors;
+
+    public FraudEngine(
+            List<FraudRule> rules,
+            FraudProfiles profiles,
+            MeterRegistry meterRegistry,
+            @Value("${card.fraud.enabled:true}") boolean enabled,
+            @Value("${card.fraud.budget:200us}") Duration budget,
+            @Value("${card.fraud.failure-mode:open}") String failureMode
+    ) {
+        this.rules = List.copyOf(rules);
+        this.profiles = profiles;
+        this.enabled = enabled;
+        this.budgetNanos = budget.toNanos();
+        this.failureMode = FailureMode.valueOf(failureMode.toUpperCase(Locale.ROOT));
+        this.assessmentTimer = Timer.builder("card.fraud.assessment")
+                .description("Time spent scoring a transfer")
+                .publishPercentiles(0.99)
+                .register(meterRegistry);
+        for (FraudDecision decision : FraudDecision.values()) {
+            decisions.put(decision, Counter.builder("card.fraud.decisions")
+                    .tag("decision", decision.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.budgetExceeded = Counter.builder("card.fraud.degraded").tag("cause", "budget").register(meterRegistry);
+        this.ruleErrors = Counter.builder("card.fraud.degraded").tag("cause", "error").register(meterRegistry);
+        log.info("Fraud scoring {} with {} rule(s), budget {}us, fail {}", enabled ? "enabled" : "disabled",
+                this.rules.size(), TimeUnit.NANOSECONDS.toMicros(budgetNanos), this.failureMode);
+    }
+
+    /**
+     * Scores the attempt against the activity recorded so far. Records
+     * nothing: the caller passes the attempt to {@link #record} once the
+     * transfer has committed.
+     */
+    public FraudAssessment assess(TransferAttempt attempt) {
+        if (!enabled) {
+            return FraudAssessment.ALLOWED;
+        }
+        long started = System.nanoTime();
+        long now = attempt.nanoTime();
+        ActivitySketch user = profiles.user(attempt.userId(), now);
+        ActivitySketch card = profiles.card(attempt.fromCardId(), now);
+
+        FraudDecision decision = FraudDecision.ALLOW;
+        List<RuleFinding> findings = List.of();
+        boolean degraded = false;
+        for (FraudRule rule : rules) {
+            if (System.nanoTime() - started > budgetNanos) {
+                budgetExceeded.increment();
+                degraded = true;
+                break;
+            }
+            RuleFinding finding;
+            try {
+                finding = rule.evaluate(attempt, user, card);
+            } catch (RuntimeException e) {
+                ruleErrors.increment();
+                log.warn("Fraud rule {} failed: {}", rule.getClass().getSimpleName(), e.toString());
+                degraded = true;
+                break;
+            }
+            if (finding != null) {
+                if (findings.isEmpty()) {
+                    findings = new ArrayList<>(rules.size());
+                }
+                findings.add(finding);
+                decision = decision.max(finding.decision());
+            }
+        }
+        if (degraded && failureMode == FailureMode.CLOSED) {
+            decision = FraudDecision.DENY;
+        }
+
+        decisions.get(decision).increment();
+        assessmentTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return new FraudAssessment(decision, findings, degraded);
+    }
+
+    /**
+     * Adds an executed transfer to the user's and card's activity. Denied or
+     * rolled-back attempts are never recorded, so they cannot raise the score
+     * of the next legitimate transfer.
+     */
+    public void record(TransferAttempt attempt) {
+        if (!enabled) {
+            return;
+        }
+        long now = attempt.nanoTime();
+        ActivitySketch user = profiles.user(attempt.userId(), now);
+        ActivitySketch card = profiles.card(attempt.fromCardId(), now);
+        double amount = attempt.amount().doubleValue();
+        user.recordAttempt(now);
+        card.recordAttempt(now);
+        user.recordAmount(amount);
+        card.recordAmount(amount);
+    }
+}
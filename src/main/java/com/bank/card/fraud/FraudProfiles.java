@@ -0,0 +1,40 @@
+package com.bank.card.fraud;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Activity sketches per user and per source card, on this node. Keys idle for
+ * {@code idle-expiry} are forgotten, and the caches are bounded, so memory
+ * stays flat however many users transfer. With several nodes each sees the
+ * share of traffic it serves; sticky routing by user keeps that share whole.
+ */
+@Component
+public class FraudProfiles {
+
+    private final Duration halfLife;
+    private final Cache<Long, ActivitySketch> users;
+    private final Cache<Long, ActivitySketch> cards;
+
+    public FraudProfiles(
+            @Value("${card.fraud.half-life:30s}") Duration halfLife,
+            @Value("${card.fraud.max-profiles:200000}") long maxProfiles,
+            @Value("${card.fraud.idle-expiry:24h}") Duration idleExpiry
+    ) {
+        this.halfLife = halfLife;
+        this.users = Caffeine.newBuilder().maximumSize(maxProfiles).expireAfterAccess(idleExpiry).build();
+        this.cards = Caffeine.newBuilder().maximumSize(maxProfiles).expireAfterAccess(idleExpiry).build();
+    }
+
+    ActivitySketch user(long userId, long nowNanos) {
+        return users.get(userId, id -> new ActivitySketch(halfLife, nowNanos));
+    }
+
+    ActivitySketch card(long cardId, long nowNanos) {
+        return cards.get(cardId, id -> new ActivitySketch(halfLife, nowNanos));
+    }
+}
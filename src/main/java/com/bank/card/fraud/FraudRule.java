@@ -0,0 +1,19 @@
+package com.bank.card.fraud;
+
+/**
+ * One check in the fraud engine. Every bean implementing it is applied to
+ * every transfer, in {@code @Order} order.
+ *
+ * <p>Rules run on the request thread inside the transfer's transaction, under
+ * the engine's latency budget: they must only read the sketches they are
+ * given, never block or do I/O.
+ */
+public interface FraudRule {
+
+    /**
+     * @param user activity of the transferring user before this attempt
+     * @param card activity of the source card before this attempt
+     * @return a finding, or null if nothing looks unusual
+     */
+    RuleFinding evaluate(TransferAttempt attempt, ActivitySketch user, ActivitySketch card);
+}
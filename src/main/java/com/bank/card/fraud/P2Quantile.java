@@ -0,0 +1,97 @@
+package com.bank.card.fraud;
+
+import java.util.Arrays;
+
+/**
+ * Streaming estimate of one quantile in constant space: the P² algorithm
+ * (Jain &amp; Chlamtac, 1985) keeps five markers and moves them with a
+ * piecewise-parabolic fit as values arrive. Not thread-safe.
+ */
+final class P2Quantile {
+
+    private final double p;
+    private final double[] heights = new double[5];
+    private final int[] positions = {0, 1, 2, 3, 4};
+    private final double[] desired;
+    private final double[] increments;
+    private long count;
+
+    P2Quantile(double p) {
+        this.p = p;
+        this.desired = new double[]{0, 2 * p, 4 * p, 2 + 2 * p, 4};
+        this.increments = new double[]{0, p / 2, p, (1 + p) / 2, 1};
+    }
+
+    void add(double x) {
+        if (count < 5) {
+            heights[(int) count++] = x;
+            if (count == 5) {
+                Arrays.sort(heights);
+            }
+            return;
+        }
+        int cell;
+        if (x < heights[0]) {
+            heights[0] = x;
+            cell = 0;
+        } else if (x >= heights[4]) {
+            heights[4] = x;
+            cell = 3;
+        } else {
+            cell = 0;
+            while (x >= heights[cell + 1]) {
+                cell++;
+            }
+        }
+        for (int i = cell + 1; i < 5; i++) {
+            positions[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            desired[i] += increments[i];
+        }
+        for (int i = 1; i <= 3; i++) {
+            double offset = desired[i] - positions[i];
+            if ((offset >= 1 && positions[i + 1] - positions[i] > 1)
+                    || (offset <= -1 && positions[i - 1] - positions[i] < -1)) {
+                int step = offset > 0 ? 1 : -1;
+                double candidate = parabolic(i, step);
+                heights[i] = heights[i - 1] < candidate && candidate < heights[i + 1]
+                        ? candidate
+                        : linear(i, step);
+                positions[i] += step;
+            }
+        }
+        count++;
+    }
+
+    /**
+     * @return the estimate, or NaN before the first value
+     */
+    double quantile() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count < 5) {
+            double[] sorted = Arrays.copyOf(heights, (int) count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.min(count - 1, Math.round(p * (count - 1)))];
+        }
+        return heights[2];
+    }
+
+    long count() {
+        return count;
+    }
+
+    private double parabolic(int i, int step) {
+        double left = positions[i] - positions[i - 1];
+        double right = positions[i + 1] - positions[i];
+        return heights[i] + step / (double) (positions[i + 1] - positions[i - 1])
+                * ((left + step) * (heights[i + 1] - heights[i]) / right
+                + (right - step) * (heights[i] - heights[i - 1]) / left);
+    }
+
+    private double linear(int i, int step) {
+        return heights[i] + step * (heights[i + step] - heights[i]) / (positions[i + step] - positions[i]);
+    }
+}
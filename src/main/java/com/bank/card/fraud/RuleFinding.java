@@ -0,0 +1,7 @@
+package com.bank.card.fraud;
+
+/**
+ * What a rule saw. {@code reason} goes to logs and review events, never to the client.
+ */
+public record RuleFinding(String rule, FraudDecision decision, String reason) {
+}
@@ -0,0 +1,17 @@
+package com.bank.card.fraud;
+
+import java.math.BigDecimal;
+
+/**
+ * A transfer that passed validation and is about to be executed.
+ * {@code nanoTime} is a {@link System#nanoTime()} reading, used for decay.
+ */
+public record TransferAttempt(
+        long userId,
+        long fromCardId,
+        long toCardId,
+        BigDecimal amount,
+        BigDecimal fromBalance,
+        long nanoTime
+) {
+}
@@ -0,0 +1,37 @@
+package com.bank.card.fraud;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bursts: many transfers by one user, or from one card, within a few
+ * half-lives. The attempt being scored counts too.
+ */
+@Component
+@Order(1)
+public class VelocityRule implements FraudRule {
+
+    private final double reviewAt;
+    private final double denyAt;
+
+    public VelocityRule(
+            @Value("${card.fraud.velocity.review-at:5}") double reviewAt,
+            @Value("${card.fraud.velocity.deny-at:10}") double denyAt
+    ) {
+        this.reviewAt = reviewAt;
+        this.denyAt = denyAt;
+    }
+
+    @Override
+    public RuleFinding evaluate(TransferAttempt attempt, ActivitySketch user, ActivitySketch card) {
+        double recent = Math.max(user.recentTransfers(attempt.nanoTime()), card.recentTransfers(attempt.nanoTime())) + 1;
+        if (recent >= denyAt) {
+            return new RuleFinding("velocity", FraudDecision.DENY, "%.1f recent transfers".formatted(recent));
+        }
+        if (recent >= reviewAt) {
+            return new RuleFinding("velocity", FraudDecision.REVIEW, "%.1f recent transfers".formatted(recent));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,185 @@
+package com.bank.card.job;
+
+import com.bank.card.notification.ExpiryNotification;
+import com.bank.card.notification.ExpiryNotificationSink;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.ExpiringCard;
+import com.bank.card.shard.Shards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends expiring-soon notices {@code days-before} days ahead of each ACTIVE
+ * card's expiry date. Every threshold owns a window of expiry dates, from the
+ * next shorter threshold (exclusive) to its own, so a card gets the most
+ * urgent notice it is due and a missed run never sends stale ones.
+ *
+ * <p>One thread reads each window in keyset pages of {@code chunk-size} and
+ * hands them to {@code threads} workers; each chunk claims and sends its
+ * notices in its own transaction. The queue holds one chunk per worker and the
+ * reader runs a chunk itself when it is full, so memory stays bounded. Claimed
+ * notices are never sent again, which makes a rerun after a crash pick up
+ * exactly the cards that are left. With sharding, each run goes through the
+ * shards one after another.
+ */
+@Component
+@Slf4j
+public class CardExpiryNotifier {
+
+    private final CardRepository cardRepository;
+    private final ExpiryNotificationSink sink;
+    private final Shards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final List<Integer> daysBefore;
+    private final int chunkSize;
+    private final int threads;
+
+    public CardExpiryNotifier(
+            CardRepository cardRepository,
+            ExpiryNotificationSink sink,
+            Shards shards,
+            PlatformTransactionManager transactionManager,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${card.expiry-notifications.days-before:30,7,1}") List<Integer> daysBefore,
+            @Value("${card.expiry-notifications.chunk-size:1000}") int chunkSize,
+            @Value("${card.expiry-notifications.threads:4}") int threads
+    ) {
+        this.cardRepository = cardRepository;
+        this.sink = sink;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+        this.daysBefore = daysBefore.stream().distinct().sorted().toList();
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+    }
+
+    /**
+     * Hands the run to the task executor: it can take a while for millions of
+     * cards, and the scheduler threads are shared with the outbox relay.
+     */
+    @Scheduled(cron = "${card.expiry-notifications.cron:0 0 6 * * *}")
+    public void scheduledRun() {
+        taskExecutor.execute(this::run);
+    }
+
+    public void run() {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        int sent = shards.each(() -> notifyExpiringCards(today)).stream().mapToInt(Integer::intValue).sum();
+        if (sent > 0) {
+            log.info("Expiry notifier sent {} notice(s) in {} ms", sent,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * A failed chunk is logged and left unclaimed for the next run; the other
+     * chunks still go out.
+     *
+     * @return number of notices sent
+     */
+    public int notifyExpiringCards(LocalDate today) {
+        AtomicInteger sent = new AtomicInteger();
+        List<Future<?>> chunks = new ArrayList<>();
+        ThreadPoolExecutor workers = workers();
+        try {
+            LocalDate windowStart = today;
+            for (int days : daysBefore) {
+                LocalDate windowEnd = today.plusDays(days);
+                Counter counter = meterRegistry.counter("card.expiry.notifications", "days_before", String.valueOf(days));
+                ExpiringCard after = null;
+                List<ExpiringCard> page;
+                do {
+                    page = cardRepository.findDueExpiryNotices(windowStart, windowEnd, days, after, chunkSize);
+                    if (!page.isEmpty()) {
+                        after = page.get(page.size() - 1);
+                        List<ExpiringCard> chunk = page;
+                        chunks.add(workers.submit(Shards.bind(() -> {
+                            int count = sendChunk(days, chunk);
+                            counter.increment(count);
+                            sent.addAndGet(count);
+                        })));
+                    }
+                } while (page.size() == chunkSize);
+                windowStart = windowEnd.plusDays(1);
+            }
+            awaitAll(chunks);
+        } finally {
+            workers.shutdown();
+        }
+        return sent.get();
+    }
+
+    private int sendChunk(int days, List<ExpiringCard> chunk) {
+        Integer count = transactionTemplate.execute(status -> {
+            Set<Long> claimed = new HashSet<>(cardRepository.claimExpiryNotices(
+                    days, chunk.stream().map(ExpiringCard::id).toList()));
+            List<ExpiryNotification> notifications = chunk.stream()
+                    .filter(card -> claimed.contains(card.id()))
+                    .map(card -> new ExpiryNotification(card.id(), card.ownerId(),
+                            card.maskedCardNumber(), card.expiryDate(), days))
+                    .toList();
+            if (!notifications.isEmpty()) {
+                sink.send(notifications);
+            }
+            return notifications.size();
+        });
+        return count != null ? count : 0;
+    }
+
+    private static void awaitAll(List<Future<?>> chunks) {
+        int failed = 0;
+        for (Future<?> chunk : chunks) {
+            try {
+                chunk.get();
+            } catch (ExecutionException e) {
+                failed++;
+                log.warn("Expiry notice chunk failed, the next run retries it: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (failed > 0) {
+            log.warn("{} of {} expiry notice chunk(s) failed", failed, chunks.size());
+        }
+    }
+
+    private ThreadPoolExecutor workers() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads),
+                r -> {
+                    Thread thread = new Thread(r, "card-expiry-notifier-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.card.job;
+
+import com.bank.card.cache.CardCacheInvalidator;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.CardStatusChange;
+import com.bank.card.shard.Shards;
+import com.bank.card.stream.CardChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Persists EXPIRED for ACTIVE cards past their expiry date.
+ * Runs in chunks so each UPDATE holds row locks only briefly; read paths
+ * never write and report the effective status in the meantime.
+ * With sharding, each run sweeps the shards one after another.
+ */
+@Component
+@Slf4j
+public class CardExpirySweeper {
+
+    private final CardRepository cardRepository;
+    private final CardCacheInvalidator cardCacheInvalidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Shards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public CardExpirySweeper(
+            CardRepository cardRepository,
+            CardCacheInvalidator cardCacheInvalidator,
+            ApplicationEventPublisher eventPublisher,
+            Shards shards,
+            PlatformTransactionManager transactionManager,
+            @Value("${card.expiry.sweep-batch-size:1000}") int batchSize
+    ) {
+        this.cardRepository = cardRepository;
+        this.cardCacheInvalidator = cardCacheInvalidator;
+        this.eventPublisher = eventPublisher;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${card.expiry.sweep-cron:0 */15 * * * *}")
+    public void sweep() {
+        LocalDate today = LocalDate.now();
+        int expired = shards.each(() -> expireCardsBefore(today)).stream().mapToInt(Integer::intValue).sum();
+        if (expired > 0) {
+            log.info("Expiry sweep marked {} card(s) as EXPIRED", expired);
+        }
+    }
+
+    /**
+     * Each chunk commits on its own, so a long backlog never turns into one huge transaction.
+     *
+     * @return total number of cards expired
+     */
+    public int expireCardsBefore(LocalDate today) {
+        int total = 0;
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> {
+                List<CardStatusChange> expired = cardRepository.expireActiveCardsBefore(today, batchSize);
+                cardCacheInvalidator.evictAfterCommit(expired.stream().map(CardStatusChange::id).toList());
+                // Open streams of the owners see EXPIRED once this chunk commits
+                CardChangedEvent.byOwner(expired, CardStatusChange::ownerId, CardStatusChange::id)
+                        .forEach(eventPublisher::publishEvent);
+                return expired.size();
+            });
+            total += updated;
+        } while (updated == batchSize);
+        return total;
+    }
+}
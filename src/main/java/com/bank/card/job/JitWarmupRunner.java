@@ -0,0 +1,215 @@
+package com.bank.card.job;
+
+import com.bank.card.config.CardEncryptionService;
+import com.bank.card.dto.request.TransferRequest;
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.dto.response.PageResponse;
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.mapper.CardMapper;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.security.jwt.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the request hot paths with synthetic data so a fresh JVM has them
+ * interpreted, profiled and compiled before it takes traffic. Spring Boot only
+ * flips readiness to ACCEPTING_TRAFFIC once every ApplicationRunner has
+ * returned, so /actuator/health/readiness stays OUT_OF_SERVICE until this is
+ * done while liveness is already UP.
+ *
+ * <p>Nothing is written: the repository phase only reads ids that cannot
+ * exist, plus the first admin listing page.
+ */
+@Component
+@ConditionalOnProperty(name = "card.warmup.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class JitWarmupRunner implements ApplicationRunner {
+
+    private static final long MISSING_ID = -1L;
+    private static final String CARD_NUMBER = "4111 1111 1111 1111";
+    /** Same default sort as the listing endpoints, so the cached query plans are the ones requests use. */
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+
+    enum Phase {
+        JWT("jwt"),
+        ENCRYPTION("encryption"),
+        MAPPER("mapper"),
+        JSON("json"),
+        DB("db");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final JwtService jwtService;
+    private final CardEncryptionService encryptionService;
+    private final CardMapper cardMapper;
+    private final ObjectMapper objectMapper;
+    private final CardRepository cardRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final int iterations;
+    private final int dbIterations;
+
+    public JitWarmupRunner(
+            JwtService jwtService,
+            CardEncryptionService encryptionService,
+            CardMapper cardMapper,
+            ObjectMapper objectMapper,
+            CardRepository cardRepository,
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${card.warmup.iterations:1000}") int iterations,
+            @Value("${card.warmup.db-iterations:10}") int dbIterations
+    ) {
+        this.jwtService = jwtService;
+        this.encryptionService = encryptionService;
+        this.cardMapper = cardMapper;
+        this.objectMapper = objectMapper;
+        this.cardRepository = cardRepository;
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.iterations = iterations;
+        this.dbIterations = dbIterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        Map<Phase, Long> phaseNanos = warmUp();
+        long totalNanos = System.nanoTime() - start;
+
+        Timer.builder("card.warmup").tag("phase", "total").register(meterRegistry)
+                .record(totalNanos, TimeUnit.NANOSECONDS);
+        StringJoiner phases = new StringJoiner(" ");
+        phaseNanos.forEach((phase, nanos) -> phases.add(phase.tag + "_ms=" + TimeUnit.NANOSECONDS.toMillis(nanos)));
+        log.info("Warm-up finished in {} ms ({} iterations, {} against the database): {}",
+                TimeUnit.NANOSECONDS.toMillis(totalNanos), iterations, dbIterations, phases);
+    }
+
+    /**
+     * A failing phase is logged and skipped: warm-up only ever delays
+     * readiness, it never keeps the pod from starting.
+     *
+     * @return nanoseconds spent per phase that ran to completion
+     */
+    Map<Phase, Long> warmUp() {
+        User user = syntheticUser();
+        Card card = syntheticCard(user);
+        Map<Phase, Long> phaseNanos = new EnumMap<>(Phase.class);
+
+        timePhase(Phase.JWT, iterations, () -> {
+            String token = jwtService.generateToken(user);
+            jwtService.extractUsername(token);
+            jwtService.isTokenValid(token, user);
+        }, phaseNanos);
+        timePhase(Phase.ENCRYPTION, iterations, () -> {
+            encryptionService.decrypt(encryptionService.encrypt(CARD_NUMBER));
+            encryptionService.mask(CARD_NUMBER);
+        }, phaseNanos);
+
+        List<CardResponse> responses = new ArrayList<>();
+        timePhase(Phase.MAPPER, iterations, () -> {
+            responses.add(cardMapper.toCardResponse(card));
+            cardMapper.toUserResponse(user);
+            if (responses.size() > FIRST_PAGE.getPageSize()) {
+                responses.remove(0);
+            }
+        }, phaseNanos);
+
+        PageResponse<CardResponse> page = PageResponse.from(new PageImpl<>(responses, FIRST_PAGE, 1_000));
+        byte[] transferJson = "{\"fromCardId\":1,\"toCardId\":2,\"amount\":10.00}".getBytes();
+        timePhase(Phase.JSON, iterations, () -> {
+            try {
+                objectMapper.writeValueAsBytes(page);
+                objectMapper.readValue(transferJson, TransferRequest.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, phaseNanos);
+
+        // A few rounds are enough for the query plan cache, and more than pgjdbc's
+        // prepareThreshold (5) so the statements end up server-side prepared
+        timePhase(Phase.DB, dbIterations, () -> {
+            userRepository.findByUsername(user.getUsername());
+            userRepository.findUserResponseById(MISSING_ID);
+            cardRepository.findByIdAndOwnerId(MISSING_ID, MISSING_ID);
+            cardRepository.findCardResponsesByOwnerId(MISSING_ID, FIRST_PAGE);
+            cardRepository.findCardVersionsByOwnerId(MISSING_ID, FIRST_PAGE);
+            cardRepository.findAllCardResponses(FIRST_PAGE);
+        }, phaseNanos);
+        return phaseNanos;
+    }
+
+    private void timePhase(Phase phase, int count, Runnable step, Map<Phase, Long> phaseNanos) {
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < count; i++) {
+                step.run();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up phase {} failed, skipping it: {}", phase.tag, e.getMessage());
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        phaseNanos.put(phase, nanos);
+        Timer.builder("card.warmup").tag("phase", phase.tag).register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static User syntheticUser() {
+        return User.builder()
+                .id(MISSING_ID)
+                .username("warmup")
+                .email("warmup@localhost")
+                .role(Role.USER)
+                .enabled(true)
+                .createdAt(OffsetDateTime.now())
+                .build();
+    }
+
+    private Card syntheticCard(User owner) {
+        return Card.builder()
+                .id(MISSING_ID)
+                .encryptedCardNumber(encryptionService.encrypt(CARD_NUMBER))
+                .maskedCardNumber(encryptionService.mask(CARD_NUMBER))
+                .owner(owner)
+                .cardholderName("WARM UP")
+                .expiryDate(LocalDate.now().plusYears(3))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .createdAt(OffsetDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.bank.card.job;
+
+import com.bank.card.cache.CardCacheInvalidator;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.shard.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Deletes very large accounts in the background: cards go in chunks, each
+ * committed on its own so no single transaction holds locks on the whole
+ * account, then the user row itself. The account is disabled before this
+ * starts, so its tokens are already rejected while the purge runs.
+ */
+@Component
+@Slf4j
+public class UserPurger {
+
+    private final UserRepository userRepository;
+    private final CardRepository cardRepository;
+    private final CardCacheInvalidator cardCacheInvalidator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UserPurger(
+            UserRepository userRepository,
+            CardRepository cardRepository,
+            CardCacheInvalidator cardCacheInvalidator,
+            PlatformTransactionManager transactionManager,
+            @Value("${card.user-purge.batch-size:5000}") int batchSize
+    ) {
+        this.userRepository = userRepository;
+        this.cardRepository = cardRepository;
+        this.cardCacheInvalidator = cardCacheInvalidator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Async
+    public void purgeAsync(Long userId) {
+        try {
+            purge(userId);
+        } catch (RuntimeException e) {
+            // The account stays disabled; deleting it again resumes where this stopped
+            log.error("Purge of user id={} failed: {}", userId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return number of cards deleted
+     */
+    public long purge(Long userId) {
+        // Runs on an @Async thread: route by the id, not by whoever asked
+        return Shards.on(Shards.ofId(userId), () -> purgeOnShard(userId));
+    }
+
+    private long purgeOnShard(Long userId) {
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> deleteCardChunk(userId));
+            deleted += chunk;
+        } while (chunk == batchSize);
+
+        transactionTemplate.executeWithoutResult(status -> userRepository.deleteByIdInBulk(userId));
+        log.info("Purged user id={} with {} card(s)", userId, deleted);
+        return deleted;
+    }
+
+    private int deleteCardChunk(Long userId) {
+        List<Long> cardIds = cardRepository.findIdsByOwnerId(userId, PageRequest.of(0, batchSize));
+        if (!cardIds.isEmpty()) {
+            cardRepository.deleteAllByIdInBatch(cardIds);
+            cardCacheInvalidator.evictAfterCommit(cardIds);
+        }
+        return cardIds.size();
+    }
+}
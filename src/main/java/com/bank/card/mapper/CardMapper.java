@@ -11,6 +11,7 @@ public interface CardMapper {
 
     @Mapping(target = "ownerId", source = "owner.id")
     @Mapping(target = "ownerUsername", source = "owner.username")
+    @Mapping(target = "status", source = "effectiveStatus")
     CardResponse toCardResponse(Card card);
 
     @Mapping(target = "cardCount", ignore = true)
@@ -0,0 +1,16 @@
+package com.bank.card.notification;
+
+import java.time.LocalDate;
+
+/**
+ * Tells the owner of {@code cardId} that it expires on {@code expiryDate}, in
+ * {@code daysBefore} days or fewer.
+ */
+public record ExpiryNotification(
+        Long cardId,
+        Long ownerId,
+        String maskedCardNumber,
+        LocalDate expiryDate,
+        int daysBefore
+) {
+}
@@ -0,0 +1,13 @@
+package com.bank.card.notification;
+
+import java.util.List;
+
+/**
+ * Delivers expiring-soon notices. Called inside the transaction that records
+ * them as sent: throwing rolls the chunk back and the next run retries it, so
+ * a sink outside the database sees at-least-once delivery.
+ */
+public interface ExpiryNotificationSink {
+
+    void send(List<ExpiryNotification> notifications);
+}
@@ -0,0 +1,19 @@
+package com.bank.card.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "card.expiry-notifications.sink", havingValue = "log")
+@Slf4j
+public class LoggingExpiryNotificationSink implements ExpiryNotificationSink {
+
+    @Override
+    public void send(List<ExpiryNotification> notifications) {
+        notifications.forEach(n -> log.info("Card {} of user {} expires on {} ({}-day notice)",
+                n.maskedCardNumber(), n.ownerId(), n.expiryDate(), n.daysBefore()));
+    }
+}
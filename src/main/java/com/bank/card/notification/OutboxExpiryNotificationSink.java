@@ -0,0 +1,31 @@
+package com.bank.card.notification;
+
+import com.bank.card.entity.OutboxEventType;
+import com.bank.card.outbox.OutboxEventPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records each notice as a {@code CARD_EXPIRING_SOON} outbox event in the same
+ * transaction as the claim, so a notice is sent exactly when it is recorded
+ * and reaches the notification service through the outbox relay.
+ */
+@Component
+@ConditionalOnProperty(name = "card.expiry-notifications.sink", havingValue = "outbox", matchIfMissing = true)
+@RequiredArgsConstructor
+public class OutboxExpiryNotificationSink implements ExpiryNotificationSink {
+
+    private final OutboxEventPublisher outboxEventPublisher;
+
+    @Override
+    public void send(List<ExpiryNotification> notifications) {
+        Map<Long, ExpiryNotification> byCardId = new LinkedHashMap<>();
+        notifications.forEach(n -> byCardId.put(n.cardId(), n));
+        outboxEventPublisher.publishAll(OutboxEventType.CARD_EXPIRING_SOON, byCardId);
+    }
+}
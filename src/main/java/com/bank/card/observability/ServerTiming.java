@@ -0,0 +1,113 @@
+package com.bank.card.observability;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request timing breakdown, opened by {@link ServerTimingFilter} on the request thread.
+ * Recording is a thread-local lookup and an addition, and a no-op outside a request, so it is
+ * cheap enough for hot paths. Phases may overlap (the user lookup includes its DB time).
+ */
+public final class ServerTiming {
+
+    public enum Phase {
+        JWT("jwt"),
+        USER_LOOKUP("user"),
+        DB("db"),
+        ENCRYPTION("enc"),
+        PASSWORD_HASH("pwd"),
+        SERIALIZATION("ser");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long bodyWriteStartNanos;
+
+    private ServerTiming() {
+    }
+
+    static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    /** Adds the time since {@code startNanos} (a {@link System#nanoTime()} reading) to {@code phase}. */
+    public static void recordSince(Phase phase, long startNanos) {
+        record(phase, System.nanoTime() - startNanos);
+    }
+
+    public static void record(Phase phase, long nanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    /** The body is about to be serialized; everything after this is reported as {@link Phase#SERIALIZATION}. */
+    void markBodyWriteStart() {
+        if (bodyWriteStartNanos == 0) {
+            bodyWriteStartNanos = System.nanoTime();
+        }
+    }
+
+    void finish() {
+        if (bodyWriteStartNanos != 0) {
+            phaseNanos[Phase.SERIALIZATION.ordinal()] += System.nanoTime() - bodyWriteStartNanos;
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * {@code Server-Timing} header value, e.g. {@code jwt;dur=0.41, db;dur=2.30;desc="3 statements", app;dur=6.02}.
+     * Only phases that were recorded are listed; {@code app} is the time spent so far.
+     */
+    String toHeaderValue(SqlStatementStats sqlStats) {
+        StringJoiner header = new StringJoiner(", ");
+        for (Phase phase : Phase.values()) {
+            long nanos = phaseNanos[phase.ordinal()];
+            if (nanos > 0) {
+                String entry = phase.metricName + ";dur=" + millis(nanos);
+                if (phase == Phase.DB && sqlStats != null) {
+                    entry += ";desc=\"" + sqlStats.getStatements() + " statements\"";
+                }
+                header.add(entry);
+            }
+        }
+        header.add("app;dur=" + millis(elapsedNanos()));
+        return header.toString();
+    }
+
+    /** {@code key=value} pairs for the slow request log line, all phases included. */
+    String toLogFields() {
+        StringJoiner fields = new StringJoiner(" ");
+        for (Phase phase : Phase.values()) {
+            fields.add(phase.metricName + "_ms=" + millis(phaseNanos[phase.ordinal()]));
+        }
+        return fields.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
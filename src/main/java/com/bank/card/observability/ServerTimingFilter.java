@@ -0,0 +1,71 @@
+package com.bank.card.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Opens the {@link ServerTiming} of each request and logs a breakdown of slow ones.
+ * Sits just inside {@link SqlStatementCountFilter}, whose statement count the log line includes.
+ * Responses with a body get the header from {@link ServerTimingHeaderAdvice}; bodiless ones
+ * (304, empty 204) get it here.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final boolean headerEnabled;
+    private final long logThresholdNanos;
+
+    public ServerTimingFilter(
+            @Value("${card.server-timing.header:true}") boolean headerEnabled,
+            @Value("${card.server-timing.log-threshold:1s}") Duration logThreshold
+    ) {
+        this.headerEnabled = headerEnabled;
+        this.logThresholdNanos = logThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        ServerTiming timing = ServerTiming.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ServerTiming.end();
+            timing.finish();
+            SqlStatementStats sqlStats = SqlStatementStats.current();
+            if (headerEnabled && !response.isCommitted() && !response.containsHeader(HEADER)) {
+                response.setHeader(HEADER, timing.toHeaderValue(sqlStats));
+            }
+            long elapsedNanos = timing.elapsedNanos();
+            if (elapsedNanos >= logThresholdNanos) {
+                log.warn("Slow request method={} uri={} status={} total_ms={} sql_statements={} {}",
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        response.getStatus(),
+                        elapsedNanos / 1_000_000,
+                        sqlStats != null ? sqlStats.getStatements() : 0,
+                        timing.toLogFields());
+            }
+        }
+    }
+}
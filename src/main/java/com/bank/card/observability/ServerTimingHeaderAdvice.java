@@ -0,0 +1,49 @@
+package com.bank.card.observability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the start of serialization and adds the {@code Server-Timing} header while it can still
+ * be sent. Serialization time itself only reaches the slow request log.
+ */
+@RestControllerAdvice
+public class ServerTimingHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean headerEnabled;
+
+    public ServerTimingHeaderAdvice(@Value("${card.server-timing.header:true}") boolean headerEnabled) {
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  @NonNull MethodParameter returnType,
+                                  @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request,
+                                  @NonNull ServerHttpResponse response) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.markBodyWriteStart();
+            if (headerEnabled) {
+                response.getHeaders().set(ServerTimingFilter.HEADER,
+                        timing.toHeaderValue(SqlStatementStats.current()));
+            }
+        }
+        return body;
+    }
+}
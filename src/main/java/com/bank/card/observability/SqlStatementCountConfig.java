@@ -0,0 +1,37 @@
+package com.bank.card.observability;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class SqlStatementCountConfig {
+
+    /**
+     * Wraps the application {@code dataSource} only: with the read replica enabled that is the
+     * routing proxy, so each statement is seen once whichever pool serves it.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor(
+            @Value("${card.sql-stats.slow-query-threshold:200ms}") Duration slowQueryThreshold
+    ) {
+        SqlStatementCountListener listener = new SqlStatementCountListener(slowQueryThreshold);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.bank.card.observability;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Attributes every JDBC execution to the current request, both as a statement count and as
+ * {@link ServerTiming.Phase#DB} time, and logs slow ones.
+ * Only the SQL text is logged: bind parameters may carry card data.
+ */
+@Slf4j
+public class SqlStatementCountListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "serverTimingStartNanos";
+
+    private final long slowQueryThresholdMillis;
+
+    public SqlStatementCountListener(Duration slowQueryThreshold) {
+        this.slowQueryThresholdMillis = slowQueryThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // ExecutionInfo#getElapsedTime is whole milliseconds; most statements take less
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (startNanos != null) {
+            ServerTiming.recordSince(ServerTiming.Phase.DB, startNanos);
+        }
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.record(execInfo.getElapsedTime());
+        }
+        if (execInfo.getElapsedTime() >= slowQueryThresholdMillis) {
+            log.warn("Slow SQL ({} ms) on {}: {}",
+                    execInfo.getElapsedTime(),
+                    stats != null ? stats.getEndpoint() : "background task",
+                    queryInfoList.stream().map(QueryInfo::getQuery).distinct().collect(Collectors.joining("; ")));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.bank.card.observability;
+
+/**
+ * SQL statements executed on the current request thread, between {@link #begin} and {@link #end}
+ * in {@link SqlStatementCountFilter}. Work handed off to other threads is not attributed.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private int statements;
+    private long elapsedMillis;
+
+    private SqlStatementStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    static SqlStatementStats begin(String endpoint) {
+        SqlStatementStats stats = new SqlStatementStats(endpoint);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Stats of the request being served by this thread, or {@code null} outside a request
+     * (scheduled jobs, async tasks, startup).
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    void record(long statementMillis) {
+        statements++;
+        elapsedMillis += statementMillis;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /** One per JDBC execution; a batch counts once. */
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
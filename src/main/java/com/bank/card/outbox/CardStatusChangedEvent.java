@@ -0,0 +1,9 @@
+package com.bank.card.outbox;
+
+import com.bank.card.entity.CardStatus;
+
+/**
+ * Payload of CARD_STATUS_CHANGED (admin) and CARD_BLOCK_REQUESTED (card owner).
+ */
+public record CardStatusChangedEvent(Long cardId, Long ownerId, CardStatus previousStatus, CardStatus status) {
+}
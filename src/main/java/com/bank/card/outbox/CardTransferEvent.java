@@ -0,0 +1,17 @@
+package com.bank.card.outbox;
+
+import java.math.BigDecimal;
+
+/**
+ * Payload of TRANSFER_DEBITED and TRANSFER_CREDITED; both sides of a transfer
+ * share {@code transferId}. {@code balance} is the card's balance afterwards.
+ */
+public record CardTransferEvent(
+        String transferId,
+        Long cardId,
+        Long counterpartyCardId,
+        Long ownerId,
+        BigDecimal amount,
+        BigDecimal balance
+) {
+}
@@ -0,0 +1,35 @@
+package com.bank.card.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Stand-in for a message broker in tests and local runs (card.outbox.sink=memory).
+ * Messages are lost on restart.
+ */
+@Component
+@ConditionalOnProperty(prefix = "card.outbox", name = "sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxMessage> messages = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void deliver(List<OutboxMessage> batch) {
+        messages.addAll(batch);
+    }
+
+    public List<OutboxMessage> messages() {
+        return List.copyOf(messages);
+    }
+
+    public List<OutboxMessage> messagesForCard(Long cardId) {
+        return messages.stream().filter(m -> m.cardId().equals(cardId)).toList();
+    }
+
+    public void clear() {
+        messages.clear();
+    }
+}
@@ -0,0 +1,73 @@
+package com.bank.card.outbox;
+
+import com.bank.card.entity.OutboxEvent;
+import com.bank.card.entity.OutboxEventType;
+import com.bank.card.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records events as rows in the caller's transaction: they exist exactly when
+ * the business change commits, and publishing costs one INSERT on the
+ * connection already in use, with no broker on the request path.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Pending changes are flushed first, so the card row is locked before the
+     * event gets its id. A concurrent transaction on the same card then waits
+     * for this one to commit before inserting its own event, so event ids
+     * follow commit order per card.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType type, Long cardId, Object payload) {
+        entityManager.flush();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .cardId(cardId)
+                .eventType(type)
+                .payload(toJson(payload))
+                .build());
+    }
+
+    /**
+     * For events whose cards have no pending entity changes: either nothing
+     * changed on the card, or a set-based UPDATE already holds the row locks.
+     * All rows go in one JDBC batch instead of a round trip each.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(OutboxEventType type, Map<Long, ?> payloadsByCardId) {
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(payloadsByCardId.size());
+        payloadsByCardId.forEach((cardId, payload) ->
+                rows.add(new Object[] {cardId, type.name(), toJson(payload), createdAt}));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox_events (card_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload " + payload.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.card.outbox;
+
+import com.bank.card.entity.OutboxEvent;
+import com.bank.card.entity.OutboxEventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.OffsetDateTime;
+
+/**
+ * What a sink receives. {@code id} only grows within a card, so consumers can
+ * drop redeliveries by remembering the last id they applied per card.
+ */
+public record OutboxMessage(
+        Long id,
+        Long cardId,
+        OutboxEventType type,
+        OffsetDateTime createdAt,
+        @JsonRawValue String payload
+) {
+
+    static OutboxMessage from(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getCardId(), event.getEventType(),
+                event.getCreatedAt(), event.getPayload());
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.card.outbox;
+
+import com.bank.card.entity.OutboxEvent;
+import com.bank.card.repository.OutboxEventRepository;
+import com.bank.card.shard.Shards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Moves committed outbox events to the {@link OutboxSink} in batches and
+ * deletes them in the same transaction. Every node with scheduling enabled
+ * polls; {@code FOR UPDATE SKIP LOCKED} hands each of them different cards.
+ * With sharding, every poll drains each shard's outbox in turn.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final Shards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Timer lag;
+    private final Counter delivered;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            OutboxSink sink,
+            Shards shards,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${card.outbox.batch-size:500}") int batchSize
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.lag = Timer.builder("card.outbox.lag")
+                .description("Time from the event being written to its delivery to the sink")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("card.outbox.delivered").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${card.outbox.poll-interval-ms:250}")
+    public void poll() {
+        shards.each(() -> {
+            try {
+                return relayPending();
+            } catch (RuntimeException e) {
+                // Nothing was deleted; the same events are retried on the next poll
+                log.warn("Outbox relay failed on shard {}: {}", Shards.current(), e.getMessage(), e);
+                return 0;
+            }
+        });
+    }
+
+    /**
+     * Drains full batches back to back, so a backlog does not wait a poll interval per batch.
+     *
+     * @return number of events delivered
+     */
+    public int relayPending() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+            total += relayed;
+        } while (relayed == batchSize);
+        return total;
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> oldest = outboxEventRepository.lockOldestPerCard(batchSize);
+        if (oldest.isEmpty()) {
+            return 0;
+        }
+        // Later events of the locked cards can't be claimed elsewhere while their
+        // oldest event is locked here; an id-ordered prefix keeps per-card order
+        List<Long> cardIds = oldest.stream().map(OutboxEvent::getCardId).toList();
+        List<OutboxEvent> events = outboxEventRepository.findByCardIds(cardIds, PageRequest.of(0, batchSize));
+
+        sink.deliver(events.stream().map(OutboxMessage::from).toList());
+        outboxEventRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+
+        OffsetDateTime now = OffsetDateTime.now();
+        events.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+        delivered.increment(events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.card.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed events, selected with card.outbox.sink.
+ * Delivery is at-least-once: the relay deletes messages only after
+ * {@link #deliver} returns, and throwing leaves all of them for the next poll.
+ */
+public interface OutboxSink {
+
+    /**
+     * @param messages in id order; a card's messages are never split across
+     *                 concurrent calls
+     */
+    void deliver(List<OutboxMessage> messages);
+}
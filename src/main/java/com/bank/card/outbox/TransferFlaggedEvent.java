@@ -0,0 +1,18 @@
+package com.bank.card.outbox;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Payload of TRANSFER_FLAGGED: a transfer that went through but that fraud
+ * scoring wants a person to review. {@code reasons} are the rules' findings.
+ */
+public record TransferFlaggedEvent(
+        String transferId,
+        Long cardId,
+        Long counterpartyCardId,
+        Long ownerId,
+        BigDecimal amount,
+        List<String> reasons
+) {
+}
@@ -0,0 +1,330 @@
+package com.bank.card.reconciliation;
+
+import com.bank.card.dto.response.ReconciliationReportResponse;
+import com.bank.card.dto.response.ReconciliationReportResponse.Mismatch;
+import com.bank.card.exception.ConflictException;
+import com.bank.card.repository.LedgerEntryRepository;
+import com.bank.card.shard.Shards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recomputes every card's balance from the ledger and compares it with
+ * {@code cards.balance}, which transfers update in place. The expected balance
+ * is the latest completed month's snapshot plus the entries since; a card
+ * without a snapshot starts from the balance before its first entry.
+ *
+ * <p>The id space is cut into {@code range-size} slices that {@code threads}
+ * workers take in turn, at most {@code ranges-per-second} in total, so the
+ * load on a live database stays bounded. Each slice is read in one
+ * REPEATABLE READ transaction: balances and ledger rows are committed
+ * together, so a transfer in flight can never show up as a mismatch. With
+ * {@code use-replica} the transactions are read-only and go to the replica.
+ * With sharding, a run reconciles the shards one after another into one report.
+ */
+@Component
+@Slf4j
+public class BalanceReconciler {
+
+    private static final OffsetDateTime LEDGER_START = OffsetDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC);
+
+    private record RangeResult(long checked, long unverified, List<Mismatch> mismatches) {
+    }
+
+    private static final class Progress {
+
+        private final AtomicLong checked = new AtomicLong();
+        private final AtomicLong unverified = new AtomicLong();
+        private final AtomicLong mismatchCount = new AtomicLong();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<Mismatch> mismatches = new ArrayList<>();
+
+        void add(RangeResult result, int maxReported) {
+            checked.addAndGet(result.checked());
+            unverified.addAndGet(result.unverified());
+            mismatchCount.addAndGet(result.mismatches().size());
+            synchronized (mismatches) {
+                result.mismatches().stream()
+                        .limit(Math.max(0, maxReported - mismatches.size()))
+                        .forEach(mismatches::add);
+            }
+        }
+    }
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final Shards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final ZoneId zone;
+    private final boolean useReplica;
+    private final int threads;
+    private final int rangeSize;
+    private final double rangesPerSecond;
+    private final int maxReported;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastMismatchCount = new AtomicLong();
+    private final Counter cardsChecked;
+    private final Timer runTimer;
+    private volatile ReconciliationReportResponse lastReport;
+
+    public BalanceReconciler(
+            LedgerEntryRepository ledgerEntryRepository,
+            Shards shards,
+            PlatformTransactionManager transactionManager,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${card.statements.time-zone:UTC}") ZoneId zone,
+            @Value("${card.reconciliation.use-replica:true}") boolean useReplica,
+            @Value("${card.reconciliation.threads:2}") int threads,
+            @Value("${card.reconciliation.range-size:5000}") int rangeSize,
+            @Value("${card.reconciliation.ranges-per-second:20}") double rangesPerSecond,
+            @Value("${card.reconciliation.max-reported:1000}") int maxReported
+    ) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionTemplate.setReadOnly(useReplica);
+        this.taskExecutor = taskExecutor;
+        this.zone = zone;
+        this.useReplica = useReplica;
+        this.threads = threads;
+        this.rangeSize = rangeSize;
+        this.rangesPerSecond = rangesPerSecond;
+        this.maxReported = maxReported;
+        this.cardsChecked = Counter.builder("card.reconciliation.cards")
+                .description("Cards whose balance was checked against the ledger")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("card.reconciliation.run")
+                .description("Full ledger-vs-balance reconciliation")
+                .register(meterRegistry);
+        Gauge.builder("card.reconciliation.mismatches", lastMismatchCount, AtomicLong::get)
+                .description("Cards whose balance disagreed with the ledger in the last run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs on the task executor, so a long reconciliation never holds one of
+     * the scheduler threads the outbox relay and stream heartbeat run on.
+     */
+    @Scheduled(cron = "${card.reconciliation.cron:0 30 4 * * *}")
+    public void scheduledRun() {
+        taskExecutor.execute(() -> {
+            try {
+                reconcile();
+            } catch (ConflictException e) {
+                log.info("Skipping scheduled reconciliation: {}", e.getMessage());
+            }
+        });
+    }
+
+    @Async
+    public void reconcileAsync() {
+        reconcile();
+    }
+
+    public Optional<ReconciliationReportResponse> lastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    /**
+     * @throws ConflictException if a run is already in progress on this node
+     */
+    public ReconciliationReportResponse reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("A reconciliation is already running");
+        }
+        try {
+            return runTimer.record(this::reconcileAll);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private ReconciliationReportResponse reconcileAll() {
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        Progress progress = new Progress();
+        List<LocalDate> snapshotMonths = shards.each(() -> reconcileShard(progress));
+        // The oldest starting point across shards; none if any shard replayed its whole ledger
+        LocalDate snapshotMonth = snapshotMonths.contains(null) ? null : Collections.min(snapshotMonths);
+
+        cardsChecked.increment(progress.checked.get());
+        lastMismatchCount.set(progress.mismatchCount.get());
+        ReconciliationReportResponse report = ReconciliationReportResponse.builder()
+                .startedAt(startedAt)
+                .finishedAt(OffsetDateTime.now())
+                .snapshotMonth(snapshotMonth)
+                .replica(useReplica)
+                .cardsChecked(progress.checked.get())
+                .cardsUnverified(progress.unverified.get())
+                .rangesFailed(progress.failed.get())
+                .mismatchCount(progress.mismatchCount.get())
+                .mismatches(List.copyOf(progress.mismatches))
+                .build();
+        lastReport = report;
+        log.info("Reconciliation checked {} card(s) from snapshot {}: {} mismatch(es), {} unverified, {} failed range(s)",
+                progress.checked.get(), snapshotMonth, progress.mismatchCount.get(), progress.unverified.get(),
+                progress.failed.get());
+        return report;
+    }
+
+    /**
+     * @return the snapshot month this shard started from, null for none
+     */
+    private LocalDate reconcileShard(Progress progress) {
+        // Only completed months: the current month's snapshot would miss entries still to come
+        LocalDate snapshotMonth = ledgerEntryRepository
+                .findLatestSnapshotMonth(LocalDate.now(zone).withDayOfMonth(1))
+                .orElse(null);
+        OffsetDateTime since = snapshotMonth != null
+                ? snapshotMonth.plusMonths(1).atStartOfDay(zone).toOffsetDateTime()
+                : LEDGER_START;
+
+        ledgerEntryRepository.findCardIdRange().ifPresent(range -> {
+            AtomicLong next = new AtomicLong(range[0]);
+            Throttle throttle = new Throttle(rangesPerSecond);
+            Runnable worker = () -> {
+                while (true) {
+                    long from = next.getAndAdd(rangeSize);
+                    if (from > range[1] || !throttle.acquire()) {
+                        return;
+                    }
+                    long to = Math.min(from + rangeSize - 1, range[1]);
+                    try {
+                        RangeResult result = transactionTemplate.execute(
+                                status -> reconcileRange(from, to, snapshotMonth, since));
+                        progress.add(result, maxReported);
+                    } catch (RuntimeException e) {
+                        progress.failed.incrementAndGet();
+                        log.warn("Reconciliation of cards {}..{} failed: {}", from, to, e.getMessage());
+                    }
+                }
+            };
+            runWorkers(Shards.bind(worker));
+        });
+        return snapshotMonth;
+    }
+
+    private RangeResult reconcileRange(long from, long to, LocalDate snapshotMonth, OffsetDateTime since) {
+        Map<Long, BigDecimal> balances = ledgerEntryRepository.findCardBalances(from, to);
+        if (balances.isEmpty()) {
+            return new RangeResult(0, 0, List.of());
+        }
+        Map<Long, BigDecimal> snapshots = snapshotMonth != null
+                ? ledgerEntryRepository.findSnapshotBalances(from, to, snapshotMonth)
+                : Map.of();
+        Map<Long, BigDecimal> sums = ledgerEntryRepository.sumEntriesSince(from, to, since);
+        Map<Long, BigDecimal> baselines = snapshots.size() < balances.size()
+                ? ledgerEntryRepository.findBalancesBefore(from, to, since)
+                : Map.of();
+
+        long unverified = 0;
+        List<Mismatch> mismatches = new ArrayList<>();
+        for (Map.Entry<Long, BigDecimal> card : balances.entrySet()) {
+            BigDecimal start = snapshots.getOrDefault(card.getKey(), baselines.get(card.getKey()));
+            if (start == null) {
+                // No snapshot and no entries: nothing to check the issue balance against
+                unverified++;
+                continue;
+            }
+            BigDecimal expected = start.add(sums.getOrDefault(card.getKey(), BigDecimal.ZERO));
+            if (expected.compareTo(card.getValue()) != 0) {
+                log.warn("Card id={} balance {} does not match its ledger ({})",
+                        card.getKey(), card.getValue(), expected);
+                mismatches.add(Mismatch.builder()
+                        .cardId(card.getKey())
+                        .expectedBalance(expected)
+                        .actualBalance(card.getValue())
+                        .build());
+            }
+        }
+        return new RangeResult(balances.size() - unverified, unverified, mismatches);
+    }
+
+    private void runWorkers(Runnable worker) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "card-reconciliation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            pool.execute(worker);
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Spaces permits evenly across all workers.
+     */
+    static final class Throttle {
+
+        private final long intervalNanos;
+        private long nextPermitNanos = System.nanoTime();
+
+        Throttle(double permitsPerSecond) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        }
+
+        /**
+         * @return false if interrupted while waiting
+         */
+        boolean acquire() {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long permitAt = Math.max(now, nextPermitNanos);
+                nextPermitNanos = permitAt + intervalNanos;
+                waitNanos = permitAt - now;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bank.card.repository;
+
+import com.bank.card.entity.CardStatus;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based card statements that Spring Data cannot derive (dynamic WHERE, RETURNING).
+ */
+public interface CardBulkRepository {
+
+    /**
+     * Sets {@code status} on every card matching {@code filter} in one UPDATE.
+     * Cards already in that status are left untouched, and when activating,
+     * cards whose expiry date is before {@code today} are skipped.
+     *
+     * @return the cards actually changed, with their previous status
+     */
+    List<CardStatusChange> updateStatusByFilter(CardStatus status, CardFilter filter, LocalDate today);
+
+    /**
+     * Expires up to {@code limit} ACTIVE cards whose expiry date is before {@code today}
+     * in one statement. Rows locked by a concurrent sweeper are skipped, and the
+     * candidate scan is served by the partial index idx_cards_active_expiry.
+     *
+     * @return the cards expired by this chunk, all previously ACTIVE
+     */
+    List<CardStatusChange> expireActiveCardsBefore(LocalDate today, int limit);
+
+    /**
+     * Next page of ACTIVE cards expiring between {@code from} and {@code to} that have
+     * no {@code daysBefore} notice for their current expiry date, in
+     * {@code (expiry_date, id)} order after {@code after} (null for the first page).
+     * A range scan on {@code idx_cards_active_expiry}, whatever the table size.
+     */
+    List<ExpiringCard> findDueExpiryNotices(LocalDate from, LocalDate to, int daysBefore,
+                                            ExpiringCard after, int limit);
+
+    /**
+     * Records a {@code daysBefore} notice for each of {@code cardIds} that is still
+     * ACTIVE and has none yet. A concurrent run claiming the same card waits for
+     * this transaction and then skips it.
+     *
+     * @return ids of the cards claimed by this call
+     */
+    List<Long> claimExpiryNotices(int daysBefore, Collection<Long> cardIds);
+}
@@ -0,0 +1,114 @@
+package com.bank.card.repository;
+
+import com.bank.card.entity.CardStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+class CardBulkRepositoryImpl implements CardBulkRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<CardStatusChange> updateStatusByFilter(CardStatus status, CardFilter filter, LocalDate today) {
+        MapSqlParameterSource params = new MapSqlParameterSource("status", status.name());
+        List<String> conditions = new ArrayList<>();
+        conditions.add("status <> :status");
+        if (status == CardStatus.ACTIVE) {
+            params.addValue("today", today);
+            conditions.add("expiry_date >= :today");
+        }
+        conditions.addAll(filterConditions(filter, params));
+
+        // RETURNING only sees the new row, so the old status comes from the locked pre-image
+        String sql = "UPDATE cards c SET status = :status, updated_at = NOW()"
+                + " FROM (SELECT id, status FROM cards WHERE " + String.join(" AND ", conditions) + " FOR UPDATE) old"
+                + " WHERE c.id = old.id RETURNING c.id, c.owner_id, old.status AS previous_status";
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new CardStatusChange(
+                rs.getLong("id"),
+                rs.getLong("owner_id"),
+                CardStatus.valueOf(rs.getString("previous_status"))));
+    }
+
+    @Override
+    public List<CardStatusChange> expireActiveCardsBefore(LocalDate today, int limit) {
+        String sql = "UPDATE cards SET status = 'EXPIRED', updated_at = NOW()"
+                + " WHERE id IN (SELECT id FROM cards WHERE status = 'ACTIVE' AND expiry_date < :today"
+                + " LIMIT :limit FOR UPDATE SKIP LOCKED) RETURNING id, owner_id";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("today", today)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new CardStatusChange(
+                rs.getLong("id"),
+                rs.getLong("owner_id"),
+                CardStatus.ACTIVE));
+    }
+
+    @Override
+    public List<ExpiringCard> findDueExpiryNotices(LocalDate from, LocalDate to, int daysBefore,
+                                                   ExpiringCard after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("daysBefore", daysBefore)
+                .addValue("limit", limit);
+        String keyset = "";
+        if (after != null) {
+            params.addValue("afterDate", after.expiryDate()).addValue("afterId", after.id());
+            keyset = " AND (c.expiry_date, c.id) > (:afterDate, :afterId)";
+        }
+        String sql = "SELECT c.id, c.owner_id, c.masked_card_number, c.expiry_date FROM cards c"
+                + " WHERE c.status = 'ACTIVE' AND c.expiry_date BETWEEN :from AND :to" + keyset
+                + " AND NOT EXISTS (SELECT 1 FROM card_expiry_notifications n WHERE n.card_id = c.id"
+                + " AND n.expiry_date = c.expiry_date AND n.days_before = :daysBefore)"
+                + " ORDER BY c.expiry_date, c.id LIMIT :limit";
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new ExpiringCard(
+                rs.getLong("id"),
+                rs.getLong("owner_id"),
+                rs.getString("masked_card_number"),
+                rs.getObject("expiry_date", LocalDate.class)));
+    }
+
+    @Override
+    public List<Long> claimExpiryNotices(int daysBefore, Collection<Long> cardIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("daysBefore", daysBefore)
+                .addValue("cardIds", cardIds);
+        String sql = "INSERT INTO card_expiry_notifications (card_id, expiry_date, days_before, sent_at)"
+                + " SELECT id, expiry_date, :daysBefore, NOW() FROM cards"
+                + " WHERE id IN (:cardIds) AND status = 'ACTIVE'"
+                + " ON CONFLICT DO NOTHING RETURNING card_id";
+        return jdbcTemplate.queryForList(sql, params, Long.class);
+    }
+
+    private static List<String> filterConditions(CardFilter filter, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.ownerId() != null) {
+            params.addValue("ownerId", filter.ownerId());
+            conditions.add("owner_id = :ownerId");
+        }
+        if (filter.cardIds() != null && !filter.cardIds().isEmpty()) {
+            params.addValue("cardIds", filter.cardIds());
+            conditions.add("id IN (:cardIds)");
+        }
+        if (filter.lastFour() != null) {
+            params.addValue("lastFour", filter.lastFour());
+            conditions.add("RIGHT(masked_card_number, 4) = :lastFour");
+        }
+        if (filter.expiryFrom() != null) {
+            params.addValue("expiryFrom", filter.expiryFrom());
+            conditions.add("expiry_date >= :expiryFrom");
+        }
+        if (filter.expiryTo() != null) {
+            params.addValue("expiryTo", filter.expiryTo());
+            conditions.add("expiry_date <= :expiryTo");
+        }
+        return conditions;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.card.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Criteria for set-based card operations; null fields are ignored and the
+ * rest are AND-ed. Expiry bounds are inclusive.
+ */
+public record CardFilter(
+        Long ownerId,
+        List<Long> cardIds,
+        String lastFour,
+        LocalDate expiryFrom,
+        LocalDate expiryTo
+) {
+
+    public boolean isEmpty() {
+        return ownerId == null
+                && (cardIds == null || cardIds.isEmpty())
+                && lastFour == null
+                && expiryFrom == null
+                && expiryTo == null;
+    }
+}
@@ -1,28 +1,166 @@
 package com.bank.card.repository;
 
+import com.bank.card.dto.response.CardResponse;
 import com.bank.card.entity.Card;
 import com.bank.card.entity.CardStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificationExecutor<Card> {
+public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificationExecutor<Card>,
+        CardBulkRepository {
 
-    Page<Card> findByOwnerId(Long ownerId, Pageable pageable);
+    String EXPORT_FETCH_SIZE = "1000";
 
-    Page<Card> findByOwnerIdAndStatus(Long ownerId, CardStatus status, Pageable pageable);
+    /**
+     * The owner is always needed to build a CardResponse, so fetch it in the
+     * same statement instead of initializing the lazy proxy afterwards.
+     */
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    Optional<Card> findById(Long id);
 
+    @EntityGraph(attributePaths = "owner")
     @Query("SELECT c FROM Card c WHERE c.owner.id = :ownerId AND c.id = :cardId")
     Optional<Card> findByIdAndOwnerId(@Param("cardId") Long cardId, @Param("ownerId") Long ownerId);
 
+    /**
+     * Locks the card row until the transaction ends, so a transfer reads the
+     * balance it will change only once earlier transfers on the card committed.
+     * Without the owner: fetching it would lock the user row too.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Card c WHERE c.owner.id = :ownerId AND c.id = :cardId")
+    Optional<Card> findByIdAndOwnerIdForUpdate(@Param("cardId") Long cardId, @Param("ownerId") Long ownerId);
+
     boolean existsByIdAndOwnerId(Long id, Long ownerId);
 
     long countByOwnerId(Long ownerId);
+
+    @Query("SELECT c.id FROM Card c WHERE c.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * One chunk of an owner's card ids, for deleting large accounts in slices.
+     */
+    @Query("SELECT c.id FROM Card c WHERE c.owner.id = :ownerId ORDER BY c.id")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    /**
+     * Card counts for a whole page of users in one GROUP BY.
+     * Owners without cards are simply absent from the result.
+     */
+    @Query("SELECT c.owner.id AS ownerId, COUNT(c) AS cardCount FROM Card c "
+            + "WHERE c.owner.id IN :ownerIds GROUP BY c.owner.id")
+    List<OwnerCardCount> countByOwnerIds(@Param("ownerIds") Collection<Long> ownerIds);
+
+    // ─── Read-only projections ───────────────────────────────────────────────
+    // Select straight into CardResponse: no entity hydration, no dirty checking,
+    // and the owner columns come from the join instead of one query per row.
+
+    @Query(value = "SELECT new com.bank.card.dto.response.CardResponse("
+            + "c.id, c.maskedCardNumber, o.id, o.username, c.cardholderName, "
+            + "c.expiryDate, c.status, c.balance, c.createdAt, c.updatedAt, c.dailyLimit, c.monthlyLimit) "
+            + "FROM Card c JOIN c.owner o",
+            countQuery = "SELECT COUNT(c) FROM Card c")
+    Page<CardResponse> findAllCardResponses(Pageable pageable);
+
+    @Query(value = "SELECT new com.bank.card.dto.response.CardResponse("
+            + "c.id, c.maskedCardNumber, o.id, o.username, c.cardholderName, "
+            + "c.expiryDate, c.status, c.balance, c.createdAt, c.updatedAt, c.dailyLimit, c.monthlyLimit) "
+            + "FROM Card c JOIN c.owner o WHERE c.status = :status",
+            countQuery = "SELECT COUNT(c) FROM Card c WHERE c.status = :status")
+    Page<CardResponse> findAllCardResponsesByStatus(@Param("status") CardStatus status, Pageable pageable);
+
+    @Query(value = "SELECT new com.bank.card.dto.response.CardResponse("
+            + "c.id, c.maskedCardNumber, o.id, o.username, c.cardholderName, "
+            + "c.expiryDate, c.status, c.balance, c.createdAt, c.updatedAt, c.dailyLimit, c.monthlyLimit) "
+            + "FROM Card c JOIN c.owner o WHERE o.id = :ownerId",
+            countQuery = "SELECT COUNT(c) FROM Card c WHERE c.owner.id = :ownerId")
+    Page<CardResponse> findCardResponsesByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(value = "SELECT new com.bank.card.dto.response.CardResponse("
+            + "c.id, c.maskedCardNumber, o.id, o.username, c.cardholderName, "
+            + "c.expiryDate, c.status, c.balance, c.createdAt, c.updatedAt, c.dailyLimit, c.monthlyLimit) "
+            + "FROM Card c JOIN c.owner o WHERE o.id = :ownerId AND c.status = :status",
+            countQuery = "SELECT COUNT(c) FROM Card c WHERE c.owner.id = :ownerId AND c.status = :status")
+    Page<CardResponse> findCardResponsesByOwnerIdAndStatus(@Param("ownerId") Long ownerId,
+                                                          @Param("status") CardStatus status,
+                                                          Pageable pageable);
+
+    @Query("SELECT new com.bank.card.dto.response.CardResponse("
+            + "c.id, c.maskedCardNumber, o.id, o.username, c.cardholderName, "
+            + "c.expiryDate, c.status, c.balance, c.createdAt, c.updatedAt, c.dailyLimit, c.monthlyLimit) "
+            + "FROM Card c JOIN c.owner o WHERE c.id IN :ids ORDER BY c.id")
+    List<CardResponse> findCardResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    // ─── Conditional GET ─────────────────────────────────────────────────────
+    // Only the columns an ETag depends on; for the default createdAt ordering the
+    // page is answered from idx_cards_owner_version without touching the heap.
+
+    @Query(value = "SELECT c.id AS id, c.updatedAt AS updatedAt, c.status AS status, c.expiryDate AS expiryDate "
+            + "FROM Card c WHERE c.owner.id = :ownerId",
+            countQuery = "SELECT COUNT(c) FROM Card c WHERE c.owner.id = :ownerId")
+    Page<CardVersion> findCardVersionsByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(value = "SELECT c.id AS id, c.updatedAt AS updatedAt, c.status AS status, c.expiryDate AS expiryDate "
+            + "FROM Card c WHERE c.owner.id = :ownerId AND c.status = :status",
+            countQuery = "SELECT COUNT(c) FROM Card c WHERE c.owner.id = :ownerId AND c.status = :status")
+    Page<CardVersion> findCardVersionsByOwnerIdAndStatus(@Param("ownerId") Long ownerId,
+                                                         @Param("status") CardStatus status,
+                                                         Pageable pageable);
+
+    // ─── Streaming export ────────────────────────────────────────────────────
+    // Server-side cursor: PostgreSQL only honours the fetch size inside a
+    // transaction, so callers must consume the stream in a read-only @Transactional.
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.bank.card.dto.response.CardResponse("
+            + "c.id, c.maskedCardNumber, o.id, o.username, c.cardholderName, "
+            + "c.expiryDate, c.status, c.balance, c.createdAt, c.updatedAt, c.dailyLimit, c.monthlyLimit) "
+            + "FROM Card c JOIN c.owner o ORDER BY c.id")
+    Stream<CardResponse> streamAllCardResponses();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.bank.card.dto.response.CardResponse("
+            + "c.id, c.maskedCardNumber, o.id, o.username, c.cardholderName, "
+            + "c.expiryDate, c.status, c.balance, c.createdAt, c.updatedAt, c.dailyLimit, c.monthlyLimit) "
+            + "FROM Card c JOIN c.owner o WHERE c.status = :status ORDER BY c.id")
+    Stream<CardResponse> streamCardResponsesByStatus(@Param("status") CardStatus status);
+
+    interface OwnerCardCount {
+        Long getOwnerId();
+        long getCardCount();
+    }
+
+    interface CardVersion {
+        Long getId();
+        OffsetDateTime getUpdatedAt();
+        CardStatus getStatus();
+        LocalDate getExpiryDate();
+    }
 }
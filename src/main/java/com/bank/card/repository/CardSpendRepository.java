@@ -0,0 +1,34 @@
+package com.bank.card.repository;
+
+import com.bank.card.entity.CardSpend;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface CardSpendRepository extends JpaRepository<CardSpend, Long> {
+
+    /**
+     * Locks the card's totals until the transaction ends, so concurrent
+     * transfers from the same card are checked one after the other, on any node.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CardSpend s WHERE s.cardId = :cardId")
+    Optional<CardSpend> findForUpdate(@Param("cardId") Long cardId);
+
+    /**
+     * Creates the card's zero totals unless another transaction already has.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO card_spend "
+            + "(card_id, spend_day, day_total, spend_month, month_total, updated_at) "
+            + "VALUES (:cardId, :day, 0, :month, 0, NOW()) ON CONFLICT DO NOTHING")
+    int insertIfAbsent(@Param("cardId") Long cardId, @Param("day") LocalDate day, @Param("month") LocalDate month);
+}
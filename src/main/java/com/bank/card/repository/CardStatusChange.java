@@ -0,0 +1,9 @@
+package com.bank.card.repository;
+
+import com.bank.card.entity.CardStatus;
+
+/**
+ * A card changed by a bulk status UPDATE, with the status it had before.
+ */
+public record CardStatusChange(Long id, Long ownerId, CardStatus previousStatus) {
+}
@@ -0,0 +1,10 @@
+package com.bank.card.repository;
+
+import java.time.LocalDate;
+
+/**
+ * An ACTIVE card due an expiring-soon notice. {@code (expiryDate, id)} is also
+ * the keyset position of the next page.
+ */
+public record ExpiringCard(Long id, Long ownerId, String maskedCardNumber, LocalDate expiryDate) {
+}
@@ -0,0 +1,13 @@
+package com.bank.card.repository;
+
+import com.bank.card.entity.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long>, LedgerStatementRepository {
+
+    List<LedgerEntry> findByCardIdOrderById(Long cardId);
+}
@@ -0,0 +1,71 @@
+package com.bank.card.repository;
+
+import com.bank.card.entity.CardBalanceSnapshot;
+import com.bank.card.entity.LedgerEntry;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Range reads over card ids for statements and balance reconciliation. Each method touches one
+ * contiguous {@code [fromCardId, toCardId]} slice, so partitions run in
+ * parallel without overlapping.
+ */
+public interface LedgerStatementRepository {
+
+    /**
+     * @return lowest and highest card id, or empty when there are no cards
+     */
+    Optional<long[]> findCardIdRange();
+
+    /**
+     * Cards in the slice that existed before {@code before}, ordered by id.
+     */
+    List<StatementCard> findStatementCards(long fromCardId, long toCardId, OffsetDateTime before);
+
+    /**
+     * Current balances of the cards in the slice, by card id.
+     */
+    Map<Long, BigDecimal> findCardBalances(long fromCardId, long toCardId);
+
+    /**
+     * Most recent month with closing balances that starts before {@code before}.
+     */
+    Optional<LocalDate> findLatestSnapshotMonth(LocalDate before);
+
+    /**
+     * Closing balances recorded for {@code monthStart}, by card id.
+     */
+    Map<Long, BigDecimal> findSnapshotBalances(long fromCardId, long toCardId, LocalDate monthStart);
+
+    /**
+     * Balance before each card's first entry at or after {@code since}, by card id.
+     * Cards without such an entry are absent: their current balance already is
+     * the balance at {@code since}.
+     */
+    Map<Long, BigDecimal> findBalancesBefore(long fromCardId, long toCardId, OffsetDateTime since);
+
+    /**
+     * Sum of each card's entry amounts at or after {@code since}, by card id.
+     * Cards without such entries are absent.
+     */
+    Map<Long, BigDecimal> sumEntriesSince(long fromCardId, long toCardId, OffsetDateTime since);
+
+    /**
+     * Feeds the slice's entries in {@code [start, end)} to {@code consumer} in one
+     * ordered scan of idx_ledger_entries_card_created, by card, then time. Rows are
+     * read through a cursor, so callers must be inside a transaction.
+     */
+    void streamEntries(long fromCardId, long toCardId, OffsetDateTime start, OffsetDateTime end,
+                       Consumer<LedgerEntry> consumer);
+
+    /**
+     * Replaces the slice's snapshots for the snapshots' month, so a rerun overwrites them.
+     */
+    void replaceSnapshots(long fromCardId, long toCardId, LocalDate monthStart, List<CardBalanceSnapshot> snapshots);
+}
@@ -0,0 +1,159 @@
+package com.bank.card.repository;
+
+import com.bank.card.entity.CardBalanceSnapshot;
+import com.bank.card.entity.LedgerEntry;
+import com.bank.card.entity.LedgerEntryType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+class LedgerStatementRepositoryImpl implements LedgerStatementRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    /** Separate template so only the entry scan uses a server-side cursor. */
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    LedgerStatementRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(FETCH_SIZE);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    @Override
+    public Optional<long[]> findCardIdRange() {
+        return jdbcTemplate.query("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM cards", rs -> {
+            rs.next();
+            long min = rs.getLong("min_id");
+            return rs.wasNull() ? Optional.empty() : Optional.of(new long[] {min, rs.getLong("max_id")});
+        });
+    }
+
+    @Override
+    public List<StatementCard> findStatementCards(long fromCardId, long toCardId, OffsetDateTime before) {
+        return jdbcTemplate.query(
+                "SELECT id, owner_id, masked_card_number, balance FROM cards"
+                        + " WHERE id BETWEEN :from AND :to AND created_at < :before ORDER BY id",
+                range(fromCardId, toCardId).addValue("before", before),
+                (rs, rowNum) -> new StatementCard(
+                        rs.getLong("id"),
+                        rs.getLong("owner_id"),
+                        rs.getString("masked_card_number"),
+                        rs.getBigDecimal("balance")));
+    }
+
+    @Override
+    public Map<Long, BigDecimal> findCardBalances(long fromCardId, long toCardId) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, balance FROM cards WHERE id BETWEEN :from AND :to",
+                range(fromCardId, toCardId),
+                rs -> {
+                    balances.put(rs.getLong("id"), rs.getBigDecimal("balance"));
+                });
+        return balances;
+    }
+
+    @Override
+    public Optional<LocalDate> findLatestSnapshotMonth(LocalDate before) {
+        LocalDate month = jdbcTemplate.queryForObject(
+                "SELECT MAX(month_start) FROM card_balance_snapshots WHERE month_start < :before",
+                new MapSqlParameterSource("before", before), LocalDate.class);
+        return Optional.ofNullable(month);
+    }
+
+    @Override
+    public Map<Long, BigDecimal> findSnapshotBalances(long fromCardId, long toCardId, LocalDate monthStart) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT card_id, closing_balance FROM card_balance_snapshots"
+                        + " WHERE card_id BETWEEN :from AND :to AND month_start = :monthStart",
+                range(fromCardId, toCardId).addValue("monthStart", monthStart),
+                rs -> {
+                    balances.put(rs.getLong("card_id"), rs.getBigDecimal("closing_balance"));
+                });
+        return balances;
+    }
+
+    @Override
+    public Map<Long, BigDecimal> findBalancesBefore(long fromCardId, long toCardId, OffsetDateTime since) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT l.card_id, l.balance_after - l.amount AS balance_before FROM ledger_entries l"
+                        + " WHERE l.id IN (SELECT MIN(id) FROM ledger_entries"
+                        + " WHERE card_id BETWEEN :from AND :to AND created_at >= :since GROUP BY card_id)",
+                range(fromCardId, toCardId).addValue("since", since),
+                rs -> {
+                    balances.put(rs.getLong("card_id"), rs.getBigDecimal("balance_before"));
+                });
+        return balances;
+    }
+
+    @Override
+    public Map<Long, BigDecimal> sumEntriesSince(long fromCardId, long toCardId, OffsetDateTime since) {
+        Map<Long, BigDecimal> sums = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT card_id, SUM(amount) AS total FROM ledger_entries"
+                        + " WHERE card_id BETWEEN :from AND :to AND created_at >= :since GROUP BY card_id",
+                range(fromCardId, toCardId).addValue("since", since),
+                rs -> {
+                    sums.put(rs.getLong("card_id"), rs.getBigDecimal("total"));
+                });
+        return sums;
+    }
+
+    @Override
+    public void streamEntries(long fromCardId, long toCardId, OffsetDateTime start, OffsetDateTime end,
+                              Consumer<LedgerEntry> consumer) {
+        streamingJdbcTemplate.query(
+                "SELECT id, card_id, transfer_id, counterparty_card_id, entry_type, amount, balance_after, created_at"
+                        + " FROM ledger_entries WHERE card_id BETWEEN :from AND :to"
+                        + " AND created_at >= :start AND created_at < :end ORDER BY card_id, created_at, id",
+                range(fromCardId, toCardId).addValue("start", start).addValue("end", end),
+                rs -> {
+                    long counterparty = rs.getLong("counterparty_card_id");
+                    consumer.accept(LedgerEntry.builder()
+                            .id(rs.getLong("id"))
+                            .cardId(rs.getLong("card_id"))
+                            .transferId(rs.getString("transfer_id"))
+                            .counterpartyCardId(rs.wasNull() ? null : counterparty)
+                            .entryType(LedgerEntryType.valueOf(rs.getString("entry_type")))
+                            .amount(rs.getBigDecimal("amount"))
+                            .balanceAfter(rs.getBigDecimal("balance_after"))
+                            .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+                            .build());
+                });
+    }
+
+    @Override
+    public void replaceSnapshots(long fromCardId, long toCardId, LocalDate monthStart,
+                                 List<CardBalanceSnapshot> snapshots) {
+        jdbcTemplate.update(
+                "DELETE FROM card_balance_snapshots WHERE card_id BETWEEN :from AND :to AND month_start = :monthStart",
+                range(fromCardId, toCardId).addValue("monthStart", monthStart));
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO card_balance_snapshots (card_id, month_start, closing_balance, entry_count)"
+                        + " VALUES (?, ?, ?, ?)",
+                snapshots.stream()
+                        .map(s -> new Object[] {s.getCardId(), Date.valueOf(s.getMonthStart()),
+                                s.getClosingBalance(), s.getEntryCount()})
+                        .toList());
+    }
+
+    private static MapSqlParameterSource range(long fromCardId, long toCardId) {
+        return new MapSqlParameterSource("from", fromCardId).addValue("to", toCardId);
+    }
+}
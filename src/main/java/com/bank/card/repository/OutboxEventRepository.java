@@ -0,0 +1,29 @@
+package com.bank.card.repository;
+
+import com.bank.card.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest pending event of up to {@code limit} cards. A card whose
+     * oldest event is held by another relay is skipped as a whole, because its
+     * later events are not the oldest: each card is relayed by one node at a
+     * time and per-card order holds with several relays polling.
+     */
+    @Query(nativeQuery = true, value = "SELECT o.* FROM outbox_events o WHERE NOT EXISTS ("
+            + "SELECT 1 FROM outbox_events e WHERE e.card_id = o.card_id AND e.id < o.id) "
+            + "ORDER BY o.id LIMIT :limit FOR UPDATE SKIP LOCKED")
+    List<OutboxEvent> lockOldestPerCard(@Param("limit") int limit);
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.cardId IN :cardIds ORDER BY e.id")
+    List<OutboxEvent> findByCardIds(@Param("cardIds") Collection<Long> cardIds, Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.bank.card.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * The card columns a statement needs; {@code balance} is the current one.
+ */
+public record StatementCard(Long id, Long ownerId, String maskedCardNumber, BigDecimal balance) {
+}
@@ -1,7 +1,11 @@
 package com.bank.card.repository;
 
+import com.bank.card.dto.response.UserResponse;
 import com.bank.card.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +20,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    /**
+     * User profile with its card count in a single round trip.
+     */
+    @Query("SELECT new com.bank.card.dto.response.UserResponse("
+            + "u.id, u.username, u.email, u.role, u.enabled, u.createdAt, "
+            + "(SELECT COUNT(c) FROM Card c WHERE c.owner = u)) "
+            + "FROM User u WHERE u.id = :id")
+    Optional<UserResponse> findUserResponseById(@Param("id") Long id);
+
+    /**
+     * Deletes the user row only; fk_cards_owner ON DELETE CASCADE removes the
+     * cards in the same statement without loading them.
+     */
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int deleteByIdInBulk(@Param("id") Long id);
 }
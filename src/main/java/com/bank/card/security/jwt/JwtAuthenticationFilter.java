@@ -4,6 +4,9 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.bank.card.entity.User;
+import com.bank.card.observability.ServerTiming;
+import com.bank.card.shard.Shards;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
@@ -43,14 +46,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(BEARER_PREFIX.length());
+        Integer shard = null;
 
         try {
+            long jwtStart = System.nanoTime();
             final String username = jwtService.extractUsername(jwt);
+            ServerTiming.recordSince(ServerTiming.Phase.JWT, jwtStart);
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                long lookupStart = System.nanoTime();
+                Long userId = jwtService.extractUserId(jwt);
+                UserDetails userDetails = userId != null
+                        ? Shards.on(Shards.ofId(userId), () -> userDetailsService.loadUserByUsername(username))
+                        : userDetailsService.loadUserByUsername(username);
+                ServerTiming.recordSince(ServerTiming.Phase.USER_LOOKUP, lookupStart);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                long validateStart = System.nanoTime();
+                boolean tokenValid = jwtService.isTokenValid(jwt, userDetails);
+                ServerTiming.recordSince(ServerTiming.Phase.JWT, validateStart);
+
+                if (tokenValid) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -59,12 +74,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    if (userDetails instanceof User user) {
+                        shard = Shards.ofId(user.getId());
+                    }
                 }
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
         }
 
-        filterChain.doFilter(request, response);
+        if (shard == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // The rest of the request reads and writes the user's own shard
+        try (Shards.Scope scope = Shards.enter(shard)) {
+            filterChain.doFilter(request, response);
+        }
     }
 }
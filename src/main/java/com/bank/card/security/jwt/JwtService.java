@@ -1,10 +1,12 @@
 package com.bank.card.security.jwt;
 
+import com.bank.card.entity.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,16 +22,26 @@ import java.util.function.Function;
 @Slf4j
 public class JwtService {
 
+    private static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Timed(value = "card.jwt.verification", extraTags = {"step", "extract-username"})
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
+    /**
+     * @return null for tokens issued before the claim existed
+     */
+    public Long extractUserId(String token) {
+        return extractClaim(token, claims -> claims.get(USER_ID_CLAIM, Long.class));
+    }
+
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
@@ -41,6 +53,10 @@ public class JwtService {
                 .stream()
                 .map(Object::toString)
                 .toList());
+        if (userDetails instanceof User user && user.getId() != null) {
+            // Tells the filter which shard to load the user from
+            extraClaims.put(USER_ID_CLAIM, user.getId());
+        }
         return generateToken(extraClaims, userDetails);
     }
 
@@ -54,10 +70,13 @@ public class JwtService {
                 .compact();
     }
 
+    @Timed(value = "card.jwt.verification", extraTags = {"step", "validate"})
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
             final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+            return username.equals(userDetails.getUsername())
+                    && userDetails.isEnabled()
+                    && !isTokenExpired(token);
         } catch (JwtException | IllegalArgumentException e) {
             log.warn("Invalid JWT token: {}", e.getMessage());
             return false;
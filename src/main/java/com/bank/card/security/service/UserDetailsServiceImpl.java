@@ -1,23 +1,27 @@
 package com.bank.card.security.service;
 
 import com.bank.card.repository.UserRepository;
+import com.bank.card.shard.Shards;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Shards shards;
 
+    /**
+     * Not one transaction: with sharding, a username without a token (login)
+     * may have to be looked up on each shard in turn.
+     */
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
+        return shards.find(() -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "User not found with username: " + username
                 ));
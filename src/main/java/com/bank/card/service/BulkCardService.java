@@ -0,0 +1,32 @@
+package com.bank.card.service;
+
+import com.bank.card.dto.request.BulkCardStatusRequest;
+import com.bank.card.dto.request.CardCreateRequest;
+import com.bank.card.dto.response.BulkCardIssueResponse;
+import com.bank.card.dto.response.BulkCardStatusResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface BulkCardService {
+
+    /**
+     * Issues all valid rows in one transaction; invalid rows (validation,
+     * unknown owner) are reported per row and do not stop the others.
+     */
+    BulkCardIssueResponse issueCards(List<CardCreateRequest> requests);
+
+    /**
+     * Same as {@link #issueCards(List)} for a CSV upload with the header
+     * cardNumber,ownerId,cardholderName,expiryDate[,initialBalance] (any column order).
+     */
+    BulkCardIssueResponse issueCardsFromCsv(InputStream csv) throws IOException;
+
+    /**
+     * Applies a status change to every card matching the request's filter in
+     * one UPDATE, with the same rule as setCardStatus: expired cards are never
+     * re-activated (they are skipped, not reported as errors).
+     */
+    BulkCardStatusResponse updateStatus(BulkCardStatusRequest request);
+}
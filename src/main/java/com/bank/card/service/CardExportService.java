@@ -0,0 +1,35 @@
+package com.bank.card.service;
+
+import com.bank.card.entity.CardStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface CardExportService {
+
+    enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() { return mediaType; }
+
+        public String getExtension() { return extension; }
+    }
+
+    /**
+     * Writes every card (optionally filtered by stored status) to {@code out},
+     * one row at a time from a database cursor.
+     *
+     * @return number of cards written
+     */
+    long exportCards(CardStatus statusFilter, Format format, OutputStream out) throws IOException;
+}
@@ -1,6 +1,7 @@
 package com.bank.card.service;
 
 import com.bank.card.dto.request.CardCreateRequest;
+import com.bank.card.dto.request.CardLimitsRequest;
 import com.bank.card.dto.response.CardResponse;
 import com.bank.card.dto.response.PageResponse;
 import com.bank.card.entity.CardStatus;
@@ -12,6 +13,7 @@ public interface CardService {
     // Admin operations
     CardResponse createCard(CardCreateRequest request);
     CardResponse setCardStatus(Long cardId, CardStatus status);
+    CardResponse setCardLimits(Long cardId, CardLimitsRequest request);
     void deleteCard(Long cardId);
     PageResponse<CardResponse> getAllCards(CardStatus statusFilter, Pageable pageable);
 
@@ -20,4 +22,8 @@ public interface CardService {
     CardResponse getMyCard(Long cardId, User currentUser);
     CardResponse requestBlock(Long cardId, User currentUser);
     CardResponse getCardById(Long cardId);
+
+    // Conditional GET validators for the user endpoints
+    String getMyCardsETag(User currentUser, CardStatus statusFilter, Pageable pageable);
+    String getMyCardETag(Long cardId, User currentUser);
 }
@@ -0,0 +1,17 @@
+package com.bank.card.service;
+
+import com.bank.card.entity.User;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+public interface StatementService {
+
+    /**
+     * The generated statement file of one of the user's cards.
+     *
+     * @throws com.bank.card.exception.ResourceNotFoundException if the card is not the
+     *         user's or no statement has been generated for that month
+     */
+    Path getMyStatement(Long cardId, YearMonth month, User currentUser);
+}
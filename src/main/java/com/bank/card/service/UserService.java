@@ -11,5 +11,11 @@ public interface UserService {
     PageResponse<UserResponse> getAllUsers(Pageable pageable);
     UserResponse getUserById(Long id);
     void deleteUser(Long id);
+
+    /**
+     * Disables the user now and deletes them with their cards in the background,
+     * in chunks — for accounts too large for one delete transaction.
+     */
+    void deleteUserAsync(Long id);
     UserResponse toggleUserEnabled(Long id, boolean enabled);
 }
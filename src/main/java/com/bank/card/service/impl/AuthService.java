@@ -7,13 +7,13 @@ import com.bank.card.entity.User;
 import com.bank.card.exception.ConflictException;
 import com.bank.card.repository.UserRepository;
 import com.bank.card.security.jwt.JwtService;
+import com.bank.card.shard.Shards;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -23,16 +23,21 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final Shards shards;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    @Transactional
+    /**
+     * Not one transaction: with sharding, the uniqueness checks ask every shard
+     * and the user is saved on the shard their username hashes to. The unique
+     * constraints on that shard still catch a concurrent duplicate username.
+     */
     public AuthResponse register(AuthRequest.Register request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
+        if (shards.gather(() -> userRepository.existsByUsername(request.getUsername())).contains(true)) {
             throw new ConflictException("Username already taken: " + request.getUsername());
         }
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (shards.gather(() -> userRepository.existsByEmail(request.getEmail())).contains(true)) {
             throw new ConflictException("Email already registered: " + request.getEmail());
         }
 
@@ -44,7 +49,7 @@ public class AuthService {
                 .enabled(true)
                 .build();
 
-        userRepository.save(user);
+        Shards.run(shards.forUsername(user.getUsername()), () -> userRepository.save(user));
         String token = jwtService.generateToken(user);
 
         return buildAuthResponse(user, token);
@@ -55,7 +60,7 @@ public class AuthService {
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
 
-        User user = userRepository.findByUsername(request.getUsername())
+        User user = shards.find(() -> userRepository.findByUsername(request.getUsername()))
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         String token = jwtService.generateToken(user);
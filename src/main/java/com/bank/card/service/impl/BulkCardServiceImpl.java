@@ -0,0 +1,271 @@
+package com.bank.card.service.impl;
+
+import com.bank.card.cache.CardCacheInvalidator;
+import com.bank.card.config.CardEncryptionService;
+import com.bank.card.dto.request.BulkCardStatusRequest;
+import com.bank.card.dto.request.CardCreateRequest;
+import com.bank.card.dto.response.BulkCardIssueResponse;
+import com.bank.card.dto.response.BulkCardStatusResponse;
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.OutboxEventType;
+import com.bank.card.entity.User;
+import com.bank.card.exception.CardOperationException;
+import com.bank.card.outbox.CardStatusChangedEvent;
+import com.bank.card.outbox.OutboxEventPublisher;
+import com.bank.card.repository.CardFilter;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.CardStatusChange;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.service.BulkCardService;
+import com.bank.card.service.impl.CardCsvReader.ParsedRow;
+import com.bank.card.shard.Shards;
+import com.bank.card.stream.CardChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk card operations. Issuance: validate every row, resolve all owners with one IN query,
+ * encrypt and mask in parallel, then persist in JDBC batches. Card ids come
+ * from the pooled cards_id_seq, so Hibernate can batch the INSERTs and the
+ * driver (reWriteBatchedInserts) sends each batch as multi-row statements.
+ * Status changes are a single UPDATE ... RETURNING over the filter, plus one
+ * batch of CARD_STATUS_CHANGED outbox rows for the cards it changed.
+ * With sharding, issuance runs one transaction per owner shard and status
+ * changes one per shard; without it, each request is one transaction.
+ */
+@Service
+@Slf4j
+public class BulkCardServiceImpl implements BulkCardService {
+
+    private final UserRepository userRepository;
+    private final CardRepository cardRepository;
+    private final CardEncryptionService encryptionService;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final CardCacheInvalidator cardCacheInvalidator;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Shards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRows;
+    private final int batchSize;
+
+    public BulkCardServiceImpl(
+            UserRepository userRepository,
+            CardRepository cardRepository,
+            CardEncryptionService encryptionService,
+            Validator validator,
+            EntityManager entityManager,
+            CardCacheInvalidator cardCacheInvalidator,
+            OutboxEventPublisher outboxEventPublisher,
+            ApplicationEventPublisher eventPublisher,
+            Shards shards,
+            PlatformTransactionManager transactionManager,
+            @Value("${card.bulk.max-rows:50000}") int maxRows,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize
+    ) {
+        this.userRepository = userRepository;
+        this.cardRepository = cardRepository;
+        this.encryptionService = encryptionService;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.cardCacheInvalidator = cardCacheInvalidator;
+        this.outboxEventPublisher = outboxEventPublisher;
+        this.eventPublisher = eventPublisher;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxRows = maxRows;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public BulkCardIssueResponse issueCards(List<CardCreateRequest> requests) {
+        return issue(IntStream.range(0, requests.size())
+                .mapToObj(i -> ParsedRow.ok(i + 1, requests.get(i)))
+                .toList());
+    }
+
+    @Override
+    public BulkCardIssueResponse issueCardsFromCsv(InputStream csv) throws IOException {
+        return issue(CardCsvReader.read(csv));
+    }
+
+    @Override
+    public BulkCardStatusResponse updateStatus(BulkCardStatusRequest request) {
+        CardFilter filter = request.toFilter();
+        if (filter.isEmpty()) {
+            throw new CardOperationException("At least one filter is required for a bulk status change");
+        }
+
+        LocalDate today = LocalDate.now();
+        int updated = shards.each(() -> transactionTemplate.execute(status -> {
+            List<CardStatusChange> changes = cardRepository.updateStatusByFilter(request.getStatus(), filter, today);
+            cardCacheInvalidator.evictAfterCommit(changes.stream().map(CardStatusChange::id).toList());
+            if (!changes.isEmpty()) {
+                outboxEventPublisher.publishAll(OutboxEventType.CARD_STATUS_CHANGED, changes.stream()
+                        .collect(Collectors.toMap(CardStatusChange::id, change -> new CardStatusChangedEvent(
+                                change.id(), change.ownerId(), change.previousStatus(), request.getStatus()))));
+            }
+            // Open streams of the owners get the new statuses once this shard's transaction commits
+            CardChangedEvent.byOwner(changes, CardStatusChange::ownerId, CardStatusChange::id)
+                    .forEach(eventPublisher::publishEvent);
+            return changes.size();
+        })).stream().mapToInt(Integer::intValue).sum();
+        log.info("Bulk status change to {} updated {} card(s) matching {}", request.getStatus(), updated, filter);
+        return BulkCardStatusResponse.builder()
+                .status(request.getStatus())
+                .updated(updated)
+                .build();
+    }
+
+    private BulkCardIssueResponse issue(List<ParsedRow> rows) {
+        if (rows.size() > maxRows) {
+            throw new CardOperationException("Bulk issuance is limited to " + maxRows + " rows per request");
+        }
+        long started = System.nanoTime();
+        BulkCardIssueResponse.Row[] results = new BulkCardIssueResponse.Row[rows.size()];
+
+        // Bean validation and AES are CPU-bound and independent per row; toList keeps input order
+        List<String> errors = rows.parallelStream()
+                .map(row -> row.error() != null ? row.error() : validate(row.request()))
+                .toList();
+
+        List<ParsedRow> valid = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ParsedRow row = rows.get(i);
+            String error = errors.get(i);
+            if (error != null) {
+                results[row.row() - 1] = failed(row.row(), error);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        Map<Integer, List<ParsedRow>> byShard = valid.stream()
+                .collect(Collectors.groupingBy(row -> Shards.ofId(row.request().getOwnerId()),
+                        TreeMap::new, Collectors.toList()));
+        int created = 0;
+        for (Map.Entry<Integer, List<ParsedRow>> shard : byShard.entrySet()) {
+            created += Shards.on(shard.getKey(),
+                    () -> transactionTemplate.execute(status -> issueOnShard(shard.getValue(), results)));
+        }
+
+        log.info("Bulk issued {} of {} card(s) in {} ms",
+                created, rows.size(), (System.nanoTime() - started) / 1_000_000);
+        return BulkCardIssueResponse.builder()
+                .total(rows.size())
+                .created(created)
+                .failed(rows.size() - created)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Persists the rows whose owners live on the current shard.
+     *
+     * @return number of cards created
+     */
+    private int issueOnShard(List<ParsedRow> valid, BulkCardIssueResponse.Row[] results) {
+        Set<Long> ownerIds = valid.stream()
+                .map(row -> row.request().getOwnerId())
+                .collect(Collectors.toSet());
+        Map<Long, User> owners = userRepository.findAllById(ownerIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<ParsedRow> issuable = new ArrayList<>(valid.size());
+        for (ParsedRow row : valid) {
+            if (owners.containsKey(row.request().getOwnerId())) {
+                issuable.add(row);
+            } else {
+                results[row.row() - 1] = failed(row.row(), "User not found with id: " + row.request().getOwnerId());
+            }
+        }
+
+        List<Card> cards = issuable.parallelStream()
+                .map(row -> toCard(row.request(), owners.get(row.request().getOwnerId())))
+                .toList();
+
+        for (int i = 0; i < cards.size(); i++) {
+            entityManager.persist(cards.get(i));
+            if ((i + 1) % batchSize == 0) {
+                // Keep the persistence context small; ids are already assigned
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        // Open streams of the owners get the new cards once this shard's transaction commits
+        CardChangedEvent.byOwner(cards, card -> card.getOwner().getId(), Card::getId)
+                .forEach(eventPublisher::publishEvent);
+
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            int row = issuable.get(i).row();
+            results[row - 1] = BulkCardIssueResponse.Row.builder()
+                    .row(row)
+                    .created(true)
+                    .cardId(card.getId())
+                    .maskedCardNumber(card.getMaskedCardNumber())
+                    .build();
+        }
+        return cards.size();
+    }
+
+    private String validate(CardCreateRequest request) {
+        Set<ConstraintViolation<CardCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    private Card toCard(CardCreateRequest request, User owner) {
+        // Same initial status rule as CardService.createCard
+        CardStatus initialStatus = request.getExpiryDate().isBefore(LocalDate.now())
+                ? CardStatus.EXPIRED
+                : CardStatus.ACTIVE;
+
+        return Card.builder()
+                .encryptedCardNumber(encryptionService.encrypt(request.getCardNumber()))
+                .maskedCardNumber(encryptionService.mask(request.getCardNumber()))
+                .owner(owner)
+                .cardholderName(request.getCardholderName())
+                .expiryDate(request.getExpiryDate())
+                .status(initialStatus)
+                .balance(request.getInitialBalance())
+                .build();
+    }
+
+    private static BulkCardIssueResponse.Row failed(int row, String error) {
+        return BulkCardIssueResponse.Row.builder()
+                .row(row)
+                .created(false)
+                .error(error)
+                .build();
+    }
+}
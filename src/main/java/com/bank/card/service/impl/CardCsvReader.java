@@ -0,0 +1,167 @@
+package com.bank.card.service.impl;
+
+import com.bank.card.dto.request.CardCreateRequest;
+import com.bank.card.exception.CardOperationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads bulk issuance rows from CSV. Columns are matched by header name, so
+ * their order is free; a row that cannot be parsed becomes an error row
+ * instead of failing the upload. Quoted fields may contain commas and
+ * doubled quotes but not line breaks.
+ */
+final class CardCsvReader {
+
+    record ParsedRow(int row, CardCreateRequest request, String error) {
+
+        static ParsedRow ok(int row, CardCreateRequest request) {
+            return new ParsedRow(row, request, null);
+        }
+
+        static ParsedRow failed(int row, String error) {
+            return new ParsedRow(row, null, error);
+        }
+    }
+
+    private static final String CARD_NUMBER = "cardnumber";
+    private static final String OWNER_ID = "ownerid";
+    private static final String CARDHOLDER_NAME = "cardholdername";
+    private static final String EXPIRY_DATE = "expirydate";
+    private static final String INITIAL_BALANCE = "initialbalance";
+
+    private CardCsvReader() {
+    }
+
+    static List<ParsedRow> read(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new CardOperationException("CSV upload is empty");
+        }
+        Map<String, Integer> columns = parseHeader(headerLine);
+
+        List<ParsedRow> rows = new ArrayList<>();
+        String line;
+        int row = 0;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            rows.add(parseRow(row, line, columns));
+        }
+        return rows;
+    }
+
+    private static Map<String, Integer> parseHeader(String headerLine) {
+        List<String> names = split(stripBom(headerLine));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of(CARD_NUMBER, OWNER_ID, CARDHOLDER_NAME, EXPIRY_DATE)) {
+            if (!columns.containsKey(required)) {
+                throw new CardOperationException(
+                        "CSV header must contain cardNumber, ownerId, cardholderName and expiryDate");
+            }
+        }
+        return columns;
+    }
+
+    private static ParsedRow parseRow(int row, String line, Map<String, Integer> columns) {
+        List<String> fields;
+        try {
+            fields = split(line);
+        } catch (IllegalArgumentException e) {
+            return ParsedRow.failed(row, e.getMessage());
+        }
+
+        CardCreateRequest request = new CardCreateRequest();
+        request.setCardNumber(field(fields, columns, CARD_NUMBER));
+        request.setCardholderName(field(fields, columns, CARDHOLDER_NAME));
+
+        String ownerId = field(fields, columns, OWNER_ID);
+        try {
+            request.setOwnerId(ownerId == null ? null : Long.valueOf(ownerId));
+        } catch (NumberFormatException e) {
+            return ParsedRow.failed(row, "Invalid ownerId: '" + ownerId + "'");
+        }
+
+        String expiryDate = field(fields, columns, EXPIRY_DATE);
+        try {
+            request.setExpiryDate(expiryDate == null ? null : LocalDate.parse(expiryDate));
+        } catch (DateTimeParseException e) {
+            return ParsedRow.failed(row, "Invalid expiryDate (expected yyyy-MM-dd): '" + expiryDate + "'");
+        }
+
+        String balance = field(fields, columns, INITIAL_BALANCE);
+        if (balance != null) {
+            try {
+                request.setInitialBalance(new BigDecimal(balance));
+            } catch (NumberFormatException e) {
+                return ParsedRow.failed(row, "Invalid initialBalance: '" + balance + "'");
+            }
+        }
+        return ParsedRow.ok(row, request);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * RFC 4180 field splitting for a single physical line.
+     */
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+}
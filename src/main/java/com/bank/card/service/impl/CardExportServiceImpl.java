@@ -0,0 +1,150 @@
+package com.bank.card.service.impl;
+
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.service.CardExportService;
+import com.bank.card.shard.Shards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams cards straight from a server-side cursor to the response.
+ * Rows are DTO projections, so nothing is added to the persistence context
+ * and memory stays flat regardless of how many cards are exported.
+ * With sharding, the shards are streamed one after another, each in its own
+ * read-only transaction.
+ */
+@Service
+@Slf4j
+public class CardExportServiceImpl implements CardExportService {
+
+    private static final String CSV_HEADER =
+            "id,maskedCardNumber,ownerId,ownerUsername,cardholderName,expiryDate,status,balance,createdAt,updatedAt,"
+                    + "dailyLimit,monthlyLimit";
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final CardRepository cardRepository;
+    private final ObjectMapper objectMapper;
+    private final Shards shards;
+    private final TransactionTemplate transactionTemplate;
+
+    public CardExportServiceImpl(
+            CardRepository cardRepository,
+            ObjectMapper objectMapper,
+            Shards shards,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.cardRepository = cardRepository;
+        this.objectMapper = objectMapper;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public long exportCards(CardStatus statusFilter, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows;
+        try {
+            rows = shards.each(() -> transactionTemplate.execute(status -> {
+                try {
+                    return writeRows(statusFilter, format, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })).stream().mapToLong(Long::longValue).sum();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} card(s) as {}", rows, format);
+        return rows;
+    }
+
+    private long writeRows(CardStatus statusFilter, Format format, Writer writer) throws IOException {
+        long rows = 0;
+        try (Stream<CardResponse> cards = statusFilter != null
+                ? cardRepository.streamCardResponsesByStatus(statusFilter)
+                : cardRepository.streamAllCardResponses()) {
+            Iterator<CardResponse> it = cards.iterator();
+            while (it.hasNext()) {
+                CardResponse card = it.next();
+                card.setStatus(CardStatus.effective(card.getStatus(), card.getExpiryDate()));
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, card);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(card));
+                }
+                writer.write('\n');
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void writeCsvRow(Writer writer, CardResponse card) throws IOException {
+        writer.write(String.valueOf(card.getId()));
+        writer.write(',');
+        writer.write(csv(card.getMaskedCardNumber()));
+        writer.write(',');
+        writer.write(String.valueOf(card.getOwnerId()));
+        writer.write(',');
+        writer.write(csv(card.getOwnerUsername()));
+        writer.write(',');
+        writer.write(csv(card.getCardholderName()));
+        writer.write(',');
+        writer.write(String.valueOf(card.getExpiryDate()));
+        writer.write(',');
+        writer.write(String.valueOf(card.getStatus()));
+        writer.write(',');
+        writer.write(card.getBalance().toPlainString());
+        writer.write(',');
+        writer.write(String.valueOf(card.getCreatedAt()));
+        writer.write(',');
+        writer.write(card.getUpdatedAt() != null ? card.getUpdatedAt().toString() : "");
+        writer.write(',');
+        writer.write(card.getDailyLimit() != null ? card.getDailyLimit().toPlainString() : "");
+        writer.write(',');
+        writer.write(card.getMonthlyLimit() != null ? card.getMonthlyLimit().toPlainString() : "");
+    }
+
+    /**
+     * RFC 4180 quoting for free-text columns. A value a spreadsheet would read
+     * as a formula (usernames are chosen by their owners) gets a leading
+     * apostrophe first, so it opens as text.
+     */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
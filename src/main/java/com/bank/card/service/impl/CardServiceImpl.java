@@ -1,26 +1,38 @@
 package com.bank.card.service.impl;
 
+import com.bank.card.cache.CardCacheInvalidator;
+import com.bank.card.cache.CardResponseCache;
 import com.bank.card.config.CardEncryptionService;
+import com.bank.card.config.ReplicaRoutingDataSource;
 import com.bank.card.dto.request.CardCreateRequest;
+import com.bank.card.dto.request.CardLimitsRequest;
 import com.bank.card.dto.response.CardResponse;
 import com.bank.card.dto.response.PageResponse;
 import com.bank.card.entity.Card;
 import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.OutboxEventType;
 import com.bank.card.entity.User;
 import com.bank.card.exception.CardOperationException;
 import com.bank.card.exception.ResourceNotFoundException;
 import com.bank.card.mapper.CardMapper;
+import com.bank.card.outbox.CardStatusChangedEvent;
+import com.bank.card.outbox.OutboxEventPublisher;
 import com.bank.card.repository.CardRepository;
 import com.bank.card.repository.UserRepository;
 import com.bank.card.service.CardService;
+import com.bank.card.stream.CardChangedEvent;
+import com.bank.card.util.ETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +43,10 @@ public class CardServiceImpl implements CardService {
     private final UserRepository userRepository;
     private final CardEncryptionService encryptionService;
     private final CardMapper cardMapper;
+    private final CardResponseCache cardCache;
+    private final CardCacheInvalidator cardCacheInvalidator;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ─── Admin Operations ────────────────────────────────────────────────────
 
@@ -61,6 +77,7 @@ public class CardServiceImpl implements CardService {
                 .build();
 
         Card saved = cardRepository.save(card);
+        eventPublisher.publishEvent(new CardChangedEvent(owner.getId(), List.of(saved.getId())));
         log.info("Card created with id={} for owner id={}", saved.getId(), owner.getId());
         return cardMapper.toCardResponse(saved);
     }
@@ -77,39 +94,57 @@ public class CardServiceImpl implements CardService {
             );
         }
 
+        CardStatus previousStatus = card.getStatus();
         card.setStatus(status);
         Card saved = cardRepository.save(card);
+        cardCacheInvalidator.evictAfterCommit(List.of(cardId));
+        outboxEventPublisher.publish(OutboxEventType.CARD_STATUS_CHANGED, cardId,
+                new CardStatusChangedEvent(cardId, card.getOwner().getId(), previousStatus, status));
+        eventPublisher.publishEvent(new CardChangedEvent(card.getOwner().getId(), List.of(cardId)));
         log.info("Card id={} status changed to {}", cardId, status);
         return cardMapper.toCardResponse(saved);
     }
 
+    @Override
+    @Transactional
+    public CardResponse setCardLimits(Long cardId, CardLimitsRequest request) {
+        Card card = findCardOrThrow(cardId);
+        card.setDailyLimit(request.getDailyLimit());
+        card.setMonthlyLimit(request.getMonthlyLimit());
+        Card saved = cardRepository.save(card);
+        cardCacheInvalidator.evictAfterCommit(List.of(cardId));
+        eventPublisher.publishEvent(new CardChangedEvent(card.getOwner().getId(), List.of(cardId)));
+        log.info("Card id={} limits set to daily={} monthly={}", cardId,
+                request.getDailyLimit(), request.getMonthlyLimit());
+        return cardMapper.toCardResponse(saved);
+    }
+
     @Override
     @Transactional
     public void deleteCard(Long cardId) {
         Card card = findCardOrThrow(cardId);
         cardRepository.delete(card);
+        cardCacheInvalidator.evictAfterCommit(List.of(cardId));
+        eventPublisher.publishEvent(new CardChangedEvent(card.getOwner().getId(), List.of(cardId)));
         log.info("Card id={} deleted", cardId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<CardResponse> getAllCards(CardStatus statusFilter, Pageable pageable) {
-        Page<Card> page;
+        Page<CardResponse> page;
         if (statusFilter != null) {
-            page = cardRepository.findAll(
-                    (root, query, cb) -> cb.equal(root.get("status"), statusFilter),
-                    pageable
-            );
+            page = cardRepository.findAllCardResponsesByStatus(statusFilter, pageable);
         } else {
-            page = cardRepository.findAll(pageable);
+            page = cardRepository.findAllCardResponses(pageable);
         }
-        return PageResponse.from(page.map(cardMapper::toCardResponse));
+        return PageResponse.from(page.map(this::withEffectiveStatus));
     }
 
     @Override
     @Transactional(readOnly = true)
     public CardResponse getCardById(Long cardId) {
-        return cardMapper.toCardResponse(findCardOrThrow(cardId));
+        return cardCache.get(cardId, this::loadCardResponse);
     }
 
     // ─── User Operations ─────────────────────────────────────────────────────
@@ -117,29 +152,24 @@ public class CardServiceImpl implements CardService {
     @Override
     @Transactional(readOnly = true)
     public PageResponse<CardResponse> getMyCards(User currentUser, CardStatus statusFilter, Pageable pageable) {
-        // Auto-expire cards whose expiry date has passed
-        Page<Card> page;
+        Page<CardResponse> page;
         if (statusFilter != null) {
-            page = cardRepository.findByOwnerIdAndStatus(currentUser.getId(), statusFilter, pageable);
+            page = cardRepository.findCardResponsesByOwnerIdAndStatus(currentUser.getId(), statusFilter, pageable);
         } else {
-            page = cardRepository.findByOwnerId(currentUser.getId(), pageable);
+            page = cardRepository.findCardResponsesByOwnerId(currentUser.getId(), pageable);
         }
-
-        return PageResponse.from(page.map(card -> {
-            syncExpiredStatus(card);
-            return cardMapper.toCardResponse(card);
-        }));
+        return PageResponse.from(page.map(this::withEffectiveStatus));
     }
 
     @Override
     @Transactional(readOnly = true)
     public CardResponse getMyCard(Long cardId, User currentUser) {
-        Card card = cardRepository.findByIdAndOwnerId(cardId, currentUser.getId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Card not found with id: " + cardId
-                ));
-        syncExpiredStatus(card);
-        return cardMapper.toCardResponse(card);
+        CardResponse card = cardCache.get(cardId, this::loadCardResponse);
+        // Same answer as for a missing card, so ids of other users' cards are not disclosed
+        if (!currentUser.getId().equals(card.getOwnerId())) {
+            throw new ResourceNotFoundException("Card not found with id: " + cardId);
+        }
+        return card;
     }
 
     @Override
@@ -150,21 +180,64 @@ public class CardServiceImpl implements CardService {
                         "Card not found with id: " + cardId
                 ));
 
-        if (card.getStatus() == CardStatus.BLOCKED) {
+        CardStatus currentStatus = card.getEffectiveStatus();
+        if (currentStatus == CardStatus.BLOCKED) {
             throw new CardOperationException("Card id=" + cardId + " is already blocked");
         }
-        if (card.getStatus() == CardStatus.EXPIRED) {
+        if (currentStatus == CardStatus.EXPIRED) {
             throw new CardOperationException("Card id=" + cardId + " is already expired and cannot be blocked");
         }
 
         card.setStatus(CardStatus.BLOCKED);
         Card saved = cardRepository.save(card);
+        cardCacheInvalidator.evictAfterCommit(List.of(cardId));
+        outboxEventPublisher.publish(OutboxEventType.CARD_BLOCK_REQUESTED, cardId,
+                new CardStatusChangedEvent(cardId, currentUser.getId(), currentStatus, CardStatus.BLOCKED));
+        eventPublisher.publishEvent(new CardChangedEvent(currentUser.getId(), List.of(cardId)));
         log.info("User id={} requested block on card id={}", currentUser.getId(), cardId);
         return cardMapper.toCardResponse(saved);
     }
 
+    // ─── Conditional GET ─────────────────────────────────────────────────────
+    // Effective status is part of every tag: a card crossing its expiry date
+    // reads as EXPIRED before the sweeper bumps updatedAt.
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getMyCardsETag(User currentUser, CardStatus statusFilter, Pageable pageable) {
+        Page<CardRepository.CardVersion> versions;
+        if (statusFilter != null) {
+            versions = cardRepository.findCardVersionsByOwnerIdAndStatus(currentUser.getId(), statusFilter, pageable);
+        } else {
+            versions = cardRepository.findCardVersionsByOwnerId(currentUser.getId(), pageable);
+        }
+
+        List<Object> parts = new ArrayList<>();
+        parts.add(versions.getNumber());
+        parts.add(versions.getSize());
+        parts.add(versions.getTotalElements());
+        for (CardRepository.CardVersion version : versions) {
+            parts.add(version.getId());
+            parts.add(version.getUpdatedAt());
+            parts.add(CardStatus.effective(version.getStatus(), version.getExpiryDate()));
+        }
+        return ETags.of(parts.toArray());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getMyCardETag(Long cardId, User currentUser) {
+        CardResponse card = getMyCard(cardId, currentUser);
+        return ETags.of(card.getId(), card.getUpdatedAt(), card.getStatus());
+    }
+
     // ─── Helpers ─────────────────────────────────────────────────────────────
 
+    private CardResponse loadCardResponse(Long cardId) {
+        // A cached entry outlives replica lag, so never fill it from a replica
+        return ReplicaRoutingDataSource.onPrimary(() -> cardMapper.toCardResponse(findCardOrThrow(cardId)));
+    }
+
     private Card findCardOrThrow(Long cardId) {
         return cardRepository.findById(cardId)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -173,14 +246,11 @@ public class CardServiceImpl implements CardService {
     }
 
     /**
-     * If a card's expiry date has passed but status is still ACTIVE,
-     * update it to EXPIRED on the fly and persist the change.
+     * Projections carry the stored status; report ACTIVE cards past their expiry
+     * date as EXPIRED without writing — CardExpirySweeper persists it in bulk.
      */
-    @Transactional
-    protected void syncExpiredStatus(Card card) {
-        if (card.getStatus() == CardStatus.ACTIVE && card.isExpired()) {
-            card.setStatus(CardStatus.EXPIRED);
-            cardRepository.save(card);
-        }
+    private CardResponse withEffectiveStatus(CardResponse response) {
+        response.setStatus(CardStatus.effective(response.getStatus(), response.getExpiryDate()));
+        return response;
     }
 }
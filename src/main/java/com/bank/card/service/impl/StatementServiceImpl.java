@@ -0,0 +1,30 @@
+package com.bank.card.service.impl;
+
+import com.bank.card.entity.User;
+import com.bank.card.exception.ResourceNotFoundException;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.service.StatementService;
+import com.bank.card.statement.StatementFiles;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+@Service
+@RequiredArgsConstructor
+public class StatementServiceImpl implements StatementService {
+
+    private final CardRepository cardRepository;
+    private final StatementFiles statementFiles;
+
+    @Override
+    public Path getMyStatement(Long cardId, YearMonth month, User currentUser) {
+        if (!cardRepository.existsByIdAndOwnerId(cardId, currentUser.getId())) {
+            throw new ResourceNotFoundException("Card not found with id: " + cardId);
+        }
+        return statementFiles.find(cardId, month)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No statement for card " + cardId + " in " + month));
+    }
+}
@@ -1,21 +1,47 @@
 package com.bank.card.service.impl;
 
+import com.bank.card.cache.CardCacheInvalidator;
 import com.bank.card.dto.request.TransferRequest;
 import com.bank.card.dto.response.TransferResponse;
 import com.bank.card.entity.Card;
 import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.LedgerEntry;
+import com.bank.card.entity.LedgerEntryType;
+import com.bank.card.entity.OutboxEventType;
 import com.bank.card.entity.User;
 import com.bank.card.exception.CardOperationException;
 import com.bank.card.exception.InsufficientFundsException;
 import com.bank.card.exception.ResourceNotFoundException;
+import com.bank.card.exception.SpendingLimitExceededException;
+import com.bank.card.exception.TransferDeniedException;
+import com.bank.card.fraud.FraudAssessment;
+import com.bank.card.fraud.FraudDecision;
+import com.bank.card.fraud.FraudEngine;
+import com.bank.card.fraud.TransferAttempt;
+import com.bank.card.outbox.CardTransferEvent;
+import com.bank.card.outbox.OutboxEventPublisher;
+import com.bank.card.outbox.TransferFlaggedEvent;
 import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.LedgerEntryRepository;
 import com.bank.card.service.TransferService;
+import com.bank.card.spending.SpendingLimiter;
+import com.bank.card.stream.CardChangedEvent;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,54 +49,102 @@ import java.time.OffsetDateTime;
 public class TransferServiceImpl implements TransferService {
 
     private final CardRepository cardRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final SpendingLimiter spendingLimiter;
+    private final FraudEngine fraudEngine;
+    private final CardCacheInvalidator cardCacheInvalidator;
+    private final MeterRegistry meterRegistry;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
+    @Timed(value = "card.transfer", description = "Transfer latency, including rejected transfers")
     public TransferResponse transfer(TransferRequest request, User currentUser) {
         // 1. Prevent self-transfer
         if (request.getFromCardId().equals(request.getToCardId())) {
+            countOutcome("same_card");
             throw new CardOperationException("Source and destination cards must be different");
         }
 
-        // 2. Load both cards — both must belong to the current user
-        Card fromCard = cardRepository.findByIdAndOwnerId(request.getFromCardId(), currentUser.getId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Source card not found with id: " + request.getFromCardId()
-                ));
-
-        Card toCard = cardRepository.findByIdAndOwnerId(request.getToCardId(), currentUser.getId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Destination card not found with id: " + request.getToCardId()
-                ));
+        // 2. Lock both cards, which must belong to the current user. Balances are only read
+        //    under the lock, and the lower id goes first so opposite transfers cannot deadlock
+        Card fromCard;
+        Card toCard;
+        if (request.getFromCardId() < request.getToCardId()) {
+            fromCard = lockOwnCard(request.getFromCardId(), currentUser, "Source");
+            toCard = lockOwnCard(request.getToCardId(), currentUser, "Destination");
+        } else {
+            toCard = lockOwnCard(request.getToCardId(), currentUser, "Destination");
+            fromCard = lockOwnCard(request.getFromCardId(), currentUser, "Source");
+        }
 
         // 3. Validate source card is ACTIVE
-        if (fromCard.getStatus() != CardStatus.ACTIVE) {
+        if (fromCard.getEffectiveStatus() != CardStatus.ACTIVE) {
+            countOutcome("inactive_card");
             throw new CardOperationException(
-                    "Source card is not active. Current status: " + fromCard.getStatus()
+                    "Source card is not active. Current status: " + fromCard.getEffectiveStatus()
             );
         }
 
         // 4. Validate destination card is ACTIVE
-        if (toCard.getStatus() != CardStatus.ACTIVE) {
+        if (toCard.getEffectiveStatus() != CardStatus.ACTIVE) {
+            countOutcome("inactive_card");
             throw new CardOperationException(
-                    "Destination card is not active. Current status: " + toCard.getStatus()
+                    "Destination card is not active. Current status: " + toCard.getEffectiveStatus()
             );
         }
 
         // 5. Check sufficient funds
         if (fromCard.getBalance().compareTo(request.getAmount()) < 0) {
+            countOutcome("insufficient_funds");
             throw new InsufficientFundsException(
                     "Insufficient funds. Available: " + fromCard.getBalance()
                     + ", requested: " + request.getAmount()
             );
         }
 
-        // 6. Execute transfer atomically
+        // 6. Score against recent activity, in memory
+        TransferAttempt attempt = new TransferAttempt(currentUser.getId(), fromCard.getId(), toCard.getId(),
+                request.getAmount(), fromCard.getBalance(), System.nanoTime());
+        FraudAssessment assessment = fraudEngine.assess(attempt);
+        if (assessment.decision() == FraudDecision.DENY) {
+            countOutcome("fraud_denied");
+            log.warn("Transfer from card id={} by user={} denied: {}", fromCard.getId(),
+                    currentUser.getUsername(), reasons(assessment));
+            throw new TransferDeniedException("Transfer declined, please contact support");
+        }
+
+        // 7. Check and record the source card's daily and monthly spend
+        try {
+            spendingLimiter.charge(fromCard, request.getAmount());
+        } catch (SpendingLimitExceededException e) {
+            countOutcome("limit_exceeded");
+            throw e;
+        }
+
+        // 8. Execute transfer atomically
         fromCard.setBalance(fromCard.getBalance().subtract(request.getAmount()));
         toCard.setBalance(toCard.getBalance().add(request.getAmount()));
 
         cardRepository.save(fromCard);
         cardRepository.save(toCard);
+        cardCacheInvalidator.evictAfterCommit(List.of(fromCard.getId(), toCard.getId()));
+        String transferId = UUID.randomUUID().toString();
+        publishTransfer(transferId, fromCard, toCard, request.getAmount(), currentUser);
+        if (assessment.decision() == FraudDecision.REVIEW) {
+            outboxEventPublisher.publish(OutboxEventType.TRANSFER_FLAGGED, fromCard.getId(), new TransferFlaggedEvent(
+                    transferId, fromCard.getId(), toCard.getId(), currentUser.getId(), request.getAmount(),
+                    reasons(assessment)));
+        }
+        recordLedger(transferId, fromCard, toCard, request.getAmount());
+        eventPublisher.publishEvent(new CardChangedEvent(currentUser.getId(), List.of(fromCard.getId(), toCard.getId())));
+        // A transfer rolled back at commit (e.g. a serialization failure) is not a success,
+        // and must not count towards the activity the next transfer is scored against
+        afterCommit(() -> {
+            countOutcome("success");
+            fraudEngine.record(attempt);
+        });
 
         log.info("Transfer completed: {} -> {} amount={} user={}",
                 fromCard.getMaskedCardNumber(),
@@ -89,4 +163,73 @@ public class TransferServiceImpl implements TransferService {
                 .message("Transfer completed successfully")
                 .build();
     }
+
+    private void publishTransfer(String transferId, Card fromCard, Card toCard, BigDecimal amount, User currentUser) {
+        outboxEventPublisher.publish(OutboxEventType.TRANSFER_DEBITED, fromCard.getId(), new CardTransferEvent(
+                transferId, fromCard.getId(), toCard.getId(), currentUser.getId(), amount, fromCard.getBalance()));
+        outboxEventPublisher.publish(OutboxEventType.TRANSFER_CREDITED, toCard.getId(), new CardTransferEvent(
+                transferId, toCard.getId(), fromCard.getId(), currentUser.getId(), amount, toCard.getBalance()));
+    }
+
+    /**
+     * Both card rows have been locked since they were read, so entry ids,
+     * timestamps and balances follow commit order per card.
+     */
+    private void recordLedger(String transferId, Card fromCard, Card toCard, BigDecimal amount) {
+        ledgerEntryRepository.saveAll(List.of(
+                LedgerEntry.builder()
+                        .cardId(fromCard.getId())
+                        .transferId(transferId)
+                        .counterpartyCardId(toCard.getId())
+                        .entryType(LedgerEntryType.DEBIT)
+                        .amount(amount.negate())
+                        .balanceAfter(fromCard.getBalance())
+                        .build(),
+                LedgerEntry.builder()
+                        .cardId(toCard.getId())
+                        .transferId(transferId)
+                        .counterpartyCardId(fromCard.getId())
+                        .entryType(LedgerEntryType.CREDIT)
+                        .amount(amount)
+                        .balanceAfter(toCard.getBalance())
+                        .build()));
+    }
+
+    private Card lockOwnCard(Long cardId, User currentUser, String role) {
+        return cardRepository.findByIdAndOwnerIdForUpdate(cardId, currentUser.getId())
+                .orElseThrow(() -> {
+                    countOutcome("card_not_found");
+                    return new ResourceNotFoundException(role + " card not found with id: " + cardId);
+                });
+    }
+
+    private static List<String> reasons(FraudAssessment assessment) {
+        List<String> reasons = assessment.findings().stream()
+                .map(finding -> finding.rule() + ": " + finding.reason())
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (assessment.degraded()) {
+            reasons.add("scoring incomplete");
+        }
+        return reasons;
+    }
+
+    /**
+     * Runs {@code action} once the current transaction commits, immediately when there is none.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void countOutcome(String outcome) {
+        meterRegistry.counter("card.transfers", "outcome", outcome).increment();
+    }
 }
@@ -1,26 +1,39 @@
 package com.bank.card.service.impl;
 
+import com.bank.card.cache.CardCacheInvalidator;
 import com.bank.card.dto.response.PageResponse;
 import com.bank.card.dto.response.UserResponse;
 import com.bank.card.entity.User;
 import com.bank.card.exception.ResourceNotFoundException;
+import com.bank.card.job.UserPurger;
 import com.bank.card.mapper.CardMapper;
 import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.CardRepository.OwnerCardCount;
 import com.bank.card.repository.UserRepository;
 import com.bank.card.service.UserService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final CardRepository cardRepository;
     private final CardMapper cardMapper;
+    private final CardCacheInvalidator cardCacheInvalidator;
+    private final UserPurger userPurger;
 
     @Override
     @Transactional(readOnly = true)
@@ -31,23 +44,50 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public PageResponse<UserResponse> getAllUsers(Pageable pageable) {
-        Page<UserResponse> page = userRepository.findAll(pageable)
-                .map(this::buildUserResponse);
+        Page<User> users = userRepository.findAll(pageable);
+        Map<Long, Long> cardCounts = countCardsByOwner(users.getContent());
+
+        Page<UserResponse> page = users.map(user -> {
+            UserResponse response = cardMapper.toUserResponse(user);
+            response.setCardCount(cardCounts.getOrDefault(user.getId(), 0L));
+            return response;
+        });
         return PageResponse.from(page);
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
-        User user = findUserOrThrow(id);
-        return buildUserResponse(user);
+        return userRepository.findUserResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
     @Override
     @Transactional
     public void deleteUser(Long id) {
+        if (!userRepository.existsById(id)) {
+            throw new ResourceNotFoundException("User not found with id: " + id);
+        }
+        List<Long> cardIds = cardRepository.findIdsByOwnerId(id);
+        userRepository.deleteByIdInBulk(id);
+        cardCacheInvalidator.evictAfterCommit(cardIds);
+        log.info("User id={} deleted with {} card(s)", id, cardIds.size());
+    }
+
+    @Override
+    @Transactional
+    public void deleteUserAsync(Long id) {
         User user = findUserOrThrow(id);
-        userRepository.delete(user);
+        // Disabled accounts fail token validation, so access ends before the purge completes
+        user.setEnabled(false);
+        userRepository.save(user);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userPurger.purgeAsync(id);
+            }
+        });
+        log.info("User id={} disabled; purge scheduled", id);
     }
 
     @Override
@@ -66,6 +106,15 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
+    private Map<Long, Long> countCardsByOwner(List<User> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ownerIds = users.stream().map(User::getId).toList();
+        return cardRepository.countByOwnerIds(ownerIds).stream()
+                .collect(Collectors.toMap(OwnerCardCount::getOwnerId, OwnerCardCount::getCardCount));
+    }
+
     private UserResponse buildUserResponse(User user) {
         UserResponse response = cardMapper.toUserResponse(user);
         response.setCardCount(cardRepository.countByOwnerId(user.getId()));
@@ -0,0 +1,66 @@
+package com.bank.card.shard;
+
+import com.bank.card.dto.response.PageResponse;
+import com.bank.card.exception.CardOperationException;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeansException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Merges the head of each shard's listing into the requested page. Rows are
+ * compared on the DTO's properties of the same names as the sort's entity
+ * properties, with nulls last ascending and first descending, as PostgreSQL
+ * orders them.
+ */
+final class ShardedPages {
+
+    private ShardedPages() {
+    }
+
+    static <T> PageResponse<T> merge(List<PageResponse<T>> heads, Pageable pageable) {
+        Comparator<T> order = comparator(pageable.getSort());
+        long total = heads.stream().mapToLong(PageResponse::getTotalElements).sum();
+        List<T> content = heads.stream()
+                .flatMap(head -> head.getContent().stream())
+                .sorted(order)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        int totalPages = (int) ((total + pageable.getPageSize() - 1) / pageable.getPageSize());
+        return PageResponse.<T>builder()
+                .content(content)
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .totalElements(total)
+                .totalPages(totalPages)
+                .first(pageable.getPageNumber() == 0)
+                .last(pageable.getPageNumber() + 1 >= totalPages)
+                .build();
+    }
+
+    static <T> Comparator<T> comparator(Sort sort) {
+        Comparator<T> order = (a, b) -> 0;
+        for (Sort.Order sortOrder : sort) {
+            Comparator<Comparable<Object>> values = Comparator.nullsLast(Comparator.naturalOrder());
+            if (sortOrder.isDescending()) {
+                values = values.reversed();
+            }
+            String property = sortOrder.getProperty();
+            order = order.thenComparing(row -> property(row, property), values);
+        }
+        return order;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> property(Object row, String property) {
+        try {
+            return (Comparable<Object>) new BeanWrapperImpl(row).getPropertyValue(property);
+        } catch (BeansException | ClassCastException e) {
+            throw new CardOperationException("Cannot sort across shards by " + property);
+        }
+    }
+}
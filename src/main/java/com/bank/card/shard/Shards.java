@@ -0,0 +1,215 @@
+package com.bank.card.shard;
+
+import com.bank.card.dto.response.PageResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Which of the {@code card.sharding} databases the current thread works on.
+ * A user and all of their cards live on one shard, and every id carries its
+ * shard in the bits above {@link #ID_SHIFT}: each shard's sequences start at
+ * {@code shard << ID_SHIFT}, so ids stay globally unique and any id can be
+ * routed without a lookup. With sharding off there is one shard and nothing
+ * here changes which database is used.
+ *
+ * <p>The binding is a plain thread-local: work handed to another thread must
+ * be wrapped with {@link #bind(Runnable)} or routed with {@link #on}.
+ */
+@Component
+public class Shards {
+
+    /** Local ids get 48 bits; 32 shards keep every id below 2^53, exact in JSON numbers. */
+    public static final int ID_SHIFT = 48;
+    public static final int MAX_SHARDS = 32;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int count;
+    private final ExecutorService scatter;
+
+    @Autowired
+    public Shards(
+            @Value("${card.sharding.enabled:false}") boolean enabled,
+            @Value("${card.sharding.urls:}") List<String> urls
+    ) {
+        this(enabled ? 1 + urls.size() : 1);
+    }
+
+    public Shards(int count) {
+        if (count < 1 || count > MAX_SHARDS) {
+            throw new IllegalStateException("Between 1 and " + MAX_SHARDS + " shards are supported, got " + count);
+        }
+        this.count = count;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scatter = count > 1
+                ? Executors.newFixedThreadPool(count, r -> {
+                    Thread thread = new Thread(r, "shard-scatter-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * The shard bound to this thread; shard 0 when none is.
+     */
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    public static int ofId(long id) {
+        return (int) (id >>> ID_SHIFT);
+    }
+
+    public static long idBase(int shard) {
+        return (long) shard << ID_SHIFT;
+    }
+
+    /**
+     * Home shard of a new account. Only used at registration: afterwards the
+     * user's id says where they live.
+     */
+    public int forUsername(String username) {
+        CRC32 crc = new CRC32();
+        crc.update(username.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % count);
+    }
+
+    /**
+     * Binds {@code shard} until the scope is closed, for callers that cannot
+     * pass a lambda (servlet filters and other checked-exception code).
+     */
+    public static Scope enter(int shard) {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(shard);
+        return scope;
+    }
+
+    /**
+     * Runs {@code work} against {@code shard}. Only affects connections not yet
+     * acquired, so call it outside any transaction that should go elsewhere.
+     */
+    public static <T> T on(int shard, Supplier<T> work) {
+        try (Scope scope = enter(shard)) {
+            return work.get();
+        }
+    }
+
+    public static void run(int shard, Runnable work) {
+        on(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Carries the caller's shard over to the thread that runs {@code work}.
+     */
+    public static Runnable bind(Runnable work) {
+        int shard = current();
+        return () -> run(shard, work);
+    }
+
+    /**
+     * Runs {@code work} on every shard in turn, e.g. one pass of a background
+     * job per database. Results are in shard order.
+     */
+    public <T> List<T> each(Supplier<T> work) {
+        List<T> results = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            results.add(on(shard, work));
+        }
+        return results;
+    }
+
+    /**
+     * Asks the bound shard first, then the others in turn, until one has it.
+     * For keys that do not carry their shard, e.g. a username at login.
+     */
+    public <T> Optional<T> find(Supplier<Optional<T>> lookup) {
+        int home = current();
+        Optional<T> found = lookup.get();
+        for (int shard = 0; found.isEmpty() && shard < count; shard++) {
+            if (shard != home) {
+                found = on(shard, lookup);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Runs {@code work} on every shard at once and waits for all of them.
+     * Each shard gets its own transaction, so the results are not one snapshot.
+     */
+    public <T> List<T> gather(Supplier<T> work) {
+        if (scatter == null) {
+            return Collections.singletonList(work.get());
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> on(target, work), scatter));
+        }
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * One page of a listing across all shards: each shard returns its first
+     * {@code (page + 1) * size} rows in the requested order, and the merge
+     * keeps the requested slice. Deep pages get expensive, like OFFSET does.
+     */
+    public <T> PageResponse<T> page(Pageable pageable, Function<Pageable, PageResponse<T>> query) {
+        if (count == 1) {
+            return query.apply(pageable);
+        }
+        Pageable head = PageRequest.of(0, (pageable.getPageNumber() + 1) * pageable.getPageSize(), pageable.getSort());
+        return ShardedPages.merge(gather(() -> query.apply(head)), pageable);
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Integer previous;
+
+        private Scope(Integer previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.bank.card.spending;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Last committed spend totals per card, kept in a fixed array of slots
+ * addressed by card id. Slots are updated by compare-and-set; a card whose
+ * slot was taken by another one simply has no local totals until its next
+ * transfer, so memory stays fixed however many cards are active.
+ *
+ * <p>Totals are only ever recorded from committed {@code card_spend} rows, so
+ * they never exceed the real ones: they can prove a transfer is over a limit,
+ * never that it is within one.
+ */
+@Component
+public class SpendCounters {
+
+    private final AtomicReferenceArray<SpendWindow> slots;
+    private final int mask;
+
+    public SpendCounters(@Value("${card.spending-limits.counter-slots:65536}") int slots) {
+        int size = Integer.highestOneBit(Math.max(1, slots - 1) << 1);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    SpendWindow get(long cardId) {
+        SpendWindow window = slots.get(slot(cardId));
+        return window != null && window.cardId() == cardId ? window : null;
+    }
+
+    void record(SpendWindow window) {
+        int slot = slot(window.cardId());
+        slots.accumulateAndGet(slot, window, (current, update) ->
+                current != null && current.cardId() == update.cardId() ? current.latest(update) : update);
+    }
+
+    private int slot(long cardId) {
+        // Fibonacci hashing, so ids that share low bits (pooled sequences, shards) still spread
+        return Long.hashCode(cardId * 0x9E3779B97F4A7C15L) & mask;
+    }
+}
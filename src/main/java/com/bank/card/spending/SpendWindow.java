@@ -0,0 +1,31 @@
+package com.bank.card.spending;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A card's outgoing totals for one day and the month it falls in.
+ */
+record SpendWindow(long cardId, LocalDate day, BigDecimal dayTotal, BigDecimal monthTotal) {
+
+    BigDecimal dayTotalOn(LocalDate today) {
+        return day.equals(today) ? dayTotal : BigDecimal.ZERO;
+    }
+
+    BigDecimal monthTotalIn(LocalDate today) {
+        return day.getYear() == today.getYear() && day.getMonth() == today.getMonth()
+                ? monthTotal
+                : BigDecimal.ZERO;
+    }
+
+    /**
+     * The newer of two observations of the same card. Totals only grow within
+     * a day, so on the same day the larger ones are the later ones.
+     */
+    SpendWindow latest(SpendWindow other) {
+        if (!day.equals(other.day)) {
+            return day.isAfter(other.day) ? this : other;
+        }
+        return new SpendWindow(cardId, day, dayTotal.max(other.dayTotal), monthTotal.max(other.monthTotal));
+    }
+}
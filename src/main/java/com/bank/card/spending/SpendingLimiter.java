@@ -0,0 +1,117 @@
+package com.bank.card.spending;
+
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardSpend;
+import com.bank.card.exception.SpendingLimitExceededException;
+import com.bank.card.repository.CardSpendRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Enforces per-card daily and monthly limits on outgoing transfers.
+ *
+ * <p>The card's {@code card_spend} row is the authority: it is locked, checked
+ * and updated in the transfer's transaction, so limits hold across nodes and
+ * restarts and a rolled-back transfer never counts. {@link SpendCounters}
+ * in front of it reject a card that is already over its limit on this node
+ * without touching the database.
+ */
+@Component
+@Slf4j
+public class SpendingLimiter {
+
+    private final CardSpendRepository cardSpendRepository;
+    private final SpendCounters counters;
+    private final boolean enabled;
+    private final BigDecimal dailyDefault;
+    private final BigDecimal monthlyDefault;
+    private final ZoneId zone;
+
+    public SpendingLimiter(
+            CardSpendRepository cardSpendRepository,
+            SpendCounters counters,
+            @Value("${card.spending-limits.enabled:true}") boolean enabled,
+            @Value("${card.spending-limits.daily-default:}") BigDecimal dailyDefault,
+            @Value("${card.spending-limits.monthly-default:}") BigDecimal monthlyDefault,
+            @Value("${card.spending-limits.time-zone:UTC}") ZoneId zone
+    ) {
+        this.cardSpendRepository = cardSpendRepository;
+        this.counters = counters;
+        this.enabled = enabled;
+        this.dailyDefault = dailyDefault;
+        this.monthlyDefault = monthlyDefault;
+        this.zone = zone;
+    }
+
+    /**
+     * Adds {@code amount} to the card's totals for today and this month.
+     * Totals are kept for cards without any limit too, so a limit set during
+     * the day already counts the day's earlier transfers.
+     *
+     * @throws SpendingLimitExceededException if a limit would be exceeded; nothing is recorded
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void charge(Card card, BigDecimal amount) {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now(zone);
+        BigDecimal dailyLimit = card.getDailyLimit() != null ? card.getDailyLimit() : dailyDefault;
+        BigDecimal monthlyLimit = card.getMonthlyLimit() != null ? card.getMonthlyLimit() : monthlyDefault;
+
+        SpendWindow local = counters.get(card.getId());
+        if (local != null) {
+            check(local, today, amount, dailyLimit, monthlyLimit);
+        }
+
+        CardSpend spend = lockSpend(card.getId(), today);
+        SpendWindow committed = new SpendWindow(card.getId(), today,
+                spend.getSpendDay().equals(today) ? spend.getDayTotal() : BigDecimal.ZERO,
+                spend.getSpendMonth().equals(today.withDayOfMonth(1)) ? spend.getMonthTotal() : BigDecimal.ZERO);
+        counters.record(committed);
+        check(committed, today, amount, dailyLimit, monthlyLimit);
+
+        spend.setSpendDay(today);
+        spend.setDayTotal(committed.dayTotal().add(amount));
+        spend.setSpendMonth(today.withDayOfMonth(1));
+        spend.setMonthTotal(committed.monthTotal().add(amount));
+        SpendWindow updated = new SpendWindow(card.getId(), today, spend.getDayTotal(), spend.getMonthTotal());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counters.record(updated);
+            }
+        });
+    }
+
+    private CardSpend lockSpend(Long cardId, LocalDate today) {
+        return cardSpendRepository.findForUpdate(cardId).orElseGet(() -> {
+            // First transfer from this card: create the row, then lock it like any other
+            cardSpendRepository.insertIfAbsent(cardId, today, today.withDayOfMonth(1));
+            return cardSpendRepository.findForUpdate(cardId).orElseThrow();
+        });
+    }
+
+    private static void check(SpendWindow window, LocalDate today, BigDecimal amount,
+                              BigDecimal dailyLimit, BigDecimal monthlyLimit) {
+        BigDecimal day = window.dayTotalOn(today);
+        if (dailyLimit != null && day.add(amount).compareTo(dailyLimit) > 0) {
+            throw new SpendingLimitExceededException("Daily transfer limit of " + dailyLimit
+                    + " exceeded: " + day + " already sent today, requested " + amount);
+        }
+        BigDecimal month = window.monthTotalIn(today);
+        if (monthlyLimit != null && month.add(amount).compareTo(monthlyLimit) > 0) {
+            throw new SpendingLimitExceededException("Monthly transfer limit of " + monthlyLimit
+                    + " exceeded: " + month + " already sent this month, requested " + amount);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bank.card.statement;
+
+import com.bank.card.service.CardExportService.Format;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Where statements live: {@code <directory>/<yyyy-MM>/<cardId / 1000>/<cardId>.<csv|ndjson>.gz},
+ * so no directory holds more than a thousand files.
+ */
+@Component
+public class StatementFiles {
+
+    private static final int CARDS_PER_DIRECTORY = 1000;
+
+    private final Path directory;
+    private final Format format;
+
+    public StatementFiles(
+            @Value("${card.statements.directory:${java.io.tmpdir}/card-statements}") Path directory,
+            @Value("${card.statements.format:csv}") String format
+    ) {
+        this.directory = directory;
+        this.format = Format.valueOf(format.toUpperCase(Locale.ROOT));
+    }
+
+    public Format format() {
+        return format;
+    }
+
+    public Path path(Long cardId, YearMonth month) {
+        return directory.resolve(month.toString())
+                .resolve(String.valueOf(cardId / CARDS_PER_DIRECTORY))
+                .resolve(cardId + "." + format.getExtension() + ".gz");
+    }
+
+    public Optional<Path> find(Long cardId, YearMonth month) {
+        Path path = path(cardId, month);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /** Download name, e.g. {@code card-42-2026-03.csv.gz}. */
+    public String downloadName(Long cardId, YearMonth month) {
+        return "card-" + cardId + "-" + month + "." + format.getExtension() + ".gz";
+    }
+}
@@ -0,0 +1,290 @@
+package com.bank.card.statement;
+
+import com.bank.card.entity.CardBalanceSnapshot;
+import com.bank.card.entity.LedgerEntry;
+import com.bank.card.repository.LedgerEntryRepository;
+import com.bank.card.repository.StatementCard;
+import com.bank.card.shard.Shards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes every card's monthly statement from the ledger. The card id space is
+ * split recursively on a fork-join pool down to {@code partition-size} ids;
+ * each partition reads its cards, their opening balances and then all of the
+ * month's entries in one ordered scan, writing files as the scan moves from
+ * card to card.
+ *
+ * <p>Opening balances come from the previous month's snapshot. Without one
+ * (the first run, or a gap) they are taken from the balance before the card's
+ * first later entry, so nothing is ever replayed from the start of the ledger.
+ * Each partition records its closing balances as the next month's snapshots.
+ * With sharding, the scheduled run generates one shard after another.
+ */
+@Component
+@Slf4j
+public class StatementGenerator {
+
+    public record StatementRun(YearMonth month, long statements, long entries, int failedPartitions) {
+    }
+
+    private record Counts(long statements, long entries, int failed) {
+
+        static final Counts EMPTY = new Counts(0, 0, 0);
+
+        Counts plus(Counts other) {
+            return new Counts(statements + other.statements, entries + other.entries, failed + other.failed);
+        }
+    }
+
+    private record Month(YearMonth month, OffsetDateTime start, OffsetDateTime end) {
+
+        LocalDate monthStart() {
+            return month.atDay(1);
+        }
+
+        LocalDate previousMonthStart() {
+            return month.minusMonths(1).atDay(1);
+        }
+    }
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final StatementFiles statementFiles;
+    private final Shards shards;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final Timer runTimer;
+    private final ZoneId zone;
+    private final int parallelism;
+    private final int partitionSize;
+
+    public StatementGenerator(
+            LedgerEntryRepository ledgerEntryRepository,
+            StatementFiles statementFiles,
+            Shards shards,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${card.statements.time-zone:UTC}") ZoneId zone,
+            @Value("${card.statements.parallelism:4}") int parallelism,
+            @Value("${card.statements.partition-size:10000}") int partitionSize
+    ) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.statementFiles = statementFiles;
+        this.shards = shards;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.runTimer = Timer.builder("card.statements.run")
+                .description("Monthly statement generation for all cards")
+                .register(meterRegistry);
+        this.zone = zone;
+        this.parallelism = parallelism;
+        this.partitionSize = partitionSize;
+    }
+
+    /**
+     * Runs on the task executor rather than holding a scheduler thread, which
+     * the outbox relay and the stream heartbeat need every few seconds.
+     */
+    @Scheduled(cron = "${card.statements.cron:0 0 3 1 * *}", zone = "${card.statements.time-zone:UTC}")
+    public void generatePreviousMonth() {
+        YearMonth month = YearMonth.now(zone).minusMonths(1);
+        taskExecutor.execute(() -> shards.each(() -> generate(month)));
+    }
+
+    /**
+     * Generates the cards of the current shard. Safe to rerun: files are
+     * replaced atomically and snapshots overwritten. A failed partition is
+     * logged and counted; the others still complete.
+     */
+    public StatementRun generate(YearMonth month) {
+        long started = System.nanoTime();
+        Month window = new Month(month,
+                month.atDay(1).atStartOfDay(zone).toOffsetDateTime(),
+                month.plusMonths(1).atDay(1).atStartOfDay(zone).toOffsetDateTime());
+
+        Counts counts = ledgerEntryRepository.findCardIdRange()
+                .map(range -> {
+                    ForkJoinPool pool = new ForkJoinPool(parallelism);
+                    try {
+                        return pool.invoke(new Partition(window, Shards.current(), range[0], range[1]));
+                    } finally {
+                        pool.shutdown();
+                    }
+                })
+                .orElse(Counts.EMPTY);
+
+        long nanos = System.nanoTime() - started;
+        runTimer.record(nanos, TimeUnit.NANOSECONDS);
+        log.info("Generated {} statement(s) for {} from {} ledger entries in {} ms ({} failed partition(s))",
+                counts.statements(), month, counts.entries(), TimeUnit.NANOSECONDS.toMillis(nanos), counts.failed());
+        return new StatementRun(month, counts.statements(), counts.entries(), counts.failed());
+    }
+
+    private class Partition extends RecursiveTask<Counts> {
+
+        private final Month window;
+        /** Pool threads are not bound to a shard; every partition carries it along. */
+        private final int shard;
+        private final long fromCardId;
+        private final long toCardId;
+
+        Partition(Month window, int shard, long fromCardId, long toCardId) {
+            this.window = window;
+            this.shard = shard;
+            this.fromCardId = fromCardId;
+            this.toCardId = toCardId;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (toCardId - fromCardId < partitionSize) {
+                return Shards.on(shard, () -> writePartition(window, fromCardId, toCardId));
+            }
+            long middle = fromCardId + (toCardId - fromCardId) / 2;
+            Partition low = new Partition(window, shard, fromCardId, middle);
+            Partition high = new Partition(window, shard, middle + 1, toCardId);
+            high.fork();
+            return low.compute().plus(high.join());
+        }
+    }
+
+    private Counts writePartition(Month window, long fromCardId, long toCardId) {
+        PartitionWriter writer = new PartitionWriter(window);
+        try {
+            return transactionTemplate.execute(status -> {
+                List<StatementCard> cards = ledgerEntryRepository.findStatementCards(fromCardId, toCardId, window.end());
+                if (cards.isEmpty()) {
+                    return Counts.EMPTY;
+                }
+                Map<Long, BigDecimal> openings = ledgerEntryRepository.findSnapshotBalances(
+                        fromCardId, toCardId, window.previousMonthStart());
+                if (openings.size() < cards.size()) {
+                    Map<Long, BigDecimal> before = ledgerEntryRepository.findBalancesBefore(
+                            fromCardId, toCardId, window.start());
+                    cards.forEach(card -> openings.computeIfAbsent(card.id(),
+                            id -> before.getOrDefault(id, card.balance())));
+                }
+
+                writer.start(cards, openings);
+                ledgerEntryRepository.streamEntries(fromCardId, toCardId, window.start(), window.end(), writer::accept);
+                writer.finish();
+                ledgerEntryRepository.replaceSnapshots(fromCardId, toCardId, window.monthStart(), writer.snapshots);
+                return new Counts(cards.size(), writer.entries, 0);
+            });
+        } catch (RuntimeException e) {
+            writer.discard();
+            log.warn("Statements for {} cards {}..{} failed, rerun the month to retry: {}",
+                    window.month(), fromCardId, toCardId, e.getMessage());
+            return new Counts(0, 0, 1);
+        }
+    }
+
+    /**
+     * Merges the id-ordered card list with the entry scan. Cards without
+     * entries this month still get a statement with only their balances.
+     */
+    private class PartitionWriter {
+
+        private final Month window;
+        private final List<CardBalanceSnapshot> snapshots = new ArrayList<>();
+        private Iterator<StatementCard> cards;
+        private Map<Long, BigDecimal> openings;
+        private StatementCard card;
+        private StatementWriter file;
+        private BigDecimal balance;
+        private int cardEntries;
+        private long entries;
+
+        PartitionWriter(Month window) {
+            this.window = window;
+        }
+
+        void start(List<StatementCard> cards, Map<Long, BigDecimal> openings) {
+            this.cards = cards.iterator();
+            this.openings = openings;
+        }
+
+        void accept(LedgerEntry entry) {
+            while (card == null || card.id() < entry.getCardId()) {
+                if (card != null) {
+                    closeCard();
+                }
+                if (!cards.hasNext()) {
+                    // Entries of a card deleted since
+                    return;
+                }
+                openCard(cards.next());
+            }
+            if (card.id().equals(entry.getCardId())) {
+                file.entry(entry);
+                balance = balance.add(entry.getAmount());
+                cardEntries++;
+                entries++;
+            }
+        }
+
+        void finish() {
+            if (card != null) {
+                closeCard();
+            }
+            while (cards.hasNext()) {
+                openCard(cards.next());
+                closeCard();
+            }
+        }
+
+        void discard() {
+            if (file != null) {
+                file.discard();
+            }
+        }
+
+        private void openCard(StatementCard next) {
+            card = next;
+            balance = openings.get(card.id());
+            cardEntries = 0;
+            file = new StatementWriter(statementFiles.path(card.id(), window.month()),
+                    statementFiles.format(), objectMapper);
+            file.opening(window.start(), balance);
+        }
+
+        private void closeCard() {
+            file.close(window.end(), balance);
+            file = null;
+            snapshots.add(CardBalanceSnapshot.builder()
+                    .cardId(card.id())
+                    .monthStart(window.monthStart())
+                    .closingBalance(balance)
+                    .entryCount(cardEntries)
+                    .build());
+            card = null;
+        }
+    }
+}
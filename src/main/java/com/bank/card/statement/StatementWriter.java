@@ -0,0 +1,110 @@
+package com.bank.card.statement;
+
+import com.bank.card.entity.LedgerEntry;
+import com.bank.card.service.CardExportService.Format;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes one card's statement: an OPENING line, one line per ledger entry and
+ * a CLOSING line. The file is written next to its final path and moved into
+ * place when complete, so readers never see a partial statement.
+ */
+class StatementWriter {
+
+    static final String CSV_HEADER = "type,date,transferId,counterpartyCardId,amount,balance";
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Line(String type, OffsetDateTime date, String transferId, Long counterpartyCardId,
+                BigDecimal amount, BigDecimal balance) {
+    }
+
+    private final Path target;
+    private final Path temp;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+
+    StatementWriter(Path target, Format format, ObjectMapper objectMapper) {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.format = format;
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(target.getParent());
+            this.writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp), 8 * 1024), StandardCharsets.UTF_8));
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void opening(OffsetDateTime start, BigDecimal balance) {
+        write(new Line("OPENING", start, null, null, null, balance));
+    }
+
+    void entry(LedgerEntry entry) {
+        write(new Line(entry.getEntryType().name(), entry.getCreatedAt(), entry.getTransferId(),
+                entry.getCounterpartyCardId(), entry.getAmount(), entry.getBalanceAfter()));
+    }
+
+    /** Writes the CLOSING line and moves the file into place. */
+    void close(OffsetDateTime end, BigDecimal balance) {
+        write(new Line("CLOSING", end, null, null, null, balance));
+        try {
+            writer.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void discard() {
+        try {
+            writer.close();
+            Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+            // Best effort: a leftover .tmp file is overwritten by the next run
+        }
+    }
+
+    private void write(Line line) {
+        try {
+            if (format == Format.CSV) {
+                writer.write(line.type());
+                writer.write(',');
+                writer.write(String.valueOf(line.date()));
+                writer.write(',');
+                writer.write(line.transferId() != null ? line.transferId() : "");
+                writer.write(',');
+                writer.write(line.counterpartyCardId() != null ? line.counterpartyCardId().toString() : "");
+                writer.write(',');
+                writer.write(line.amount() != null ? line.amount().toPlainString() : "");
+                writer.write(',');
+                writer.write(line.balance().toPlainString());
+            } else {
+                writer.write(objectMapper.writeValueAsString(line));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.bank.card.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Published on the application event bus when cards of one owner change;
+ * {@link CardStreamBroadcaster} turns it into pushes on that owner's streams.
+ */
+public record CardChangedEvent(Long ownerId, List<Long> cardIds) {
+
+    /** Keeps the NOTIFY payload under PostgreSQL's 8000-byte limit, whatever the ids' length. */
+    public static final int MAX_CARD_IDS = 400;
+
+    /**
+     * Events for any number of an owner's cards, each small enough for one NOTIFY.
+     */
+    public static List<CardChangedEvent> of(Long ownerId, List<Long> cardIds) {
+        List<CardChangedEvent> events = new ArrayList<>();
+        for (int from = 0; from < cardIds.size(); from += MAX_CARD_IDS) {
+            events.add(new CardChangedEvent(ownerId,
+                    List.copyOf(cardIds.subList(from, Math.min(from + MAX_CARD_IDS, cardIds.size())))));
+        }
+        return events;
+    }
+
+    /**
+     * Events for changed cards of any number of owners, in owner id order.
+     */
+    public static <T> List<CardChangedEvent> byOwner(Collection<T> cards, Function<T, Long> ownerId,
+                                                     Function<T, Long> cardId) {
+        return cards.stream()
+                .collect(Collectors.groupingBy(ownerId, TreeMap::new, Collectors.mapping(cardId, Collectors.toList())))
+                .entrySet().stream()
+                .flatMap(owner -> of(owner.getKey(), owner.getValue()).stream())
+                .toList();
+    }
+}
@@ -0,0 +1,216 @@
+package com.bank.card.stream;
+
+import com.bank.card.config.PostgresNotificationListener;
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.shard.Shards;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes {@link CardResponse} deltas to each user's open SSE streams, on every node.
+ * A {@link CardChangedEvent} is sent through PostgreSQL NOTIFY (delivered on commit,
+ * to all nodes) and delivered locally after commit. Streams are async requests, so
+ * an idle one holds a socket but no thread; only nodes with a subscriber for the
+ * owner query the changed cards.
+ */
+@Component
+@Slf4j
+public class CardStreamBroadcaster {
+
+    static final String CHANNEL = "card_stream";
+    static final String EVENT_NAME = "card";
+    static final String DELETED_EVENT_NAME = "card-deleted";
+    private static final long RECONNECT_MS = 3_000;
+
+    /** Lets a node skip its own NOTIFY: it has already delivered the event after commit. */
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final CardRepository cardRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean notifyEnabled;
+    private final long timeoutMillis;
+    private final ExecutorService fanOut;
+
+    public CardStreamBroadcaster(
+            CardRepository cardRepository,
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<PostgresNotificationListener> listener,
+            MeterRegistry meterRegistry,
+            @Value("${card.notify.enabled:true}") boolean notifyEnabled,
+            @Value("${card.stream.timeout:30m}") Duration timeout,
+            @Value("${card.stream.fan-out-threads:4}") int fanOutThreads
+    ) {
+        this.cardRepository = cardRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.notifyEnabled = notifyEnabled;
+        this.timeoutMillis = timeout.toMillis();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fanOut = Executors.newFixedThreadPool(fanOutThreads, r -> {
+            Thread thread = new Thread(r, "card-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        listener.ifAvailable(l -> l.subscribe(CHANNEL, this::applyRemote));
+        Gauge.builder("card.stream.connections", emitters,
+                        m -> m.values().stream().mapToInt(Set::size).sum())
+                .description("Open card SSE streams on this node")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long ownerId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.compute(ownerId, (id, set) -> {
+            Set<SseEmitter> owned = set != null ? set : ConcurrentHashMap.newKeySet();
+            owned.add(emitter);
+            return owned;
+        });
+        emitter.onCompletion(() -> unsubscribe(ownerId, emitter));
+        emitter.onTimeout(() -> unsubscribe(ownerId, emitter));
+        emitter.onError(e -> unsubscribe(ownerId, emitter));
+        // Flushes the response headers now instead of on the first change
+        send(ownerId, emitter, SseEmitter.event().comment("connected").reconnectTime(RECONNECT_MS));
+        return emitter;
+    }
+
+    @EventListener
+    public void onCardChanged(CardChangedEvent event) {
+        if (notifyEnabled) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, encode(event));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliverAsync(event);
+                }
+            });
+        } else {
+            deliverAsync(event);
+        }
+    }
+
+    /**
+     * Comment lines keep proxies from closing idle streams and reveal dead clients.
+     * Written from the fan-out pool, so a slow client holds up one of its threads
+     * and not the scheduler the other jobs run on.
+     */
+    @Scheduled(fixedRateString = "${card.stream.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        emitters.forEach((ownerId, owned) -> fanOut.execute(() ->
+                owned.forEach(emitter -> send(ownerId, emitter, SseEmitter.event().comment("keep-alive")))));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanOut.shutdownNow();
+        emitters.values().forEach(owned -> owned.forEach(SseEmitter::complete));
+    }
+
+    void applyRemote(String payload) {
+        String[] parts = payload.split(";", 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed card stream payload: {}", payload);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            List<Long> cardIds = Arrays.stream(parts[2].split(",")).map(Long::valueOf).toList();
+            deliverAsync(new CardChangedEvent(Long.valueOf(parts[1]), cardIds));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed card stream payload: {}", payload);
+        }
+    }
+
+    String encode(CardChangedEvent event) {
+        return nodeId + ";" + event.ownerId() + ";"
+                + event.cardIds().stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private void deliverAsync(CardChangedEvent event) {
+        if (emitters.containsKey(event.ownerId())) {
+            fanOut.execute(() -> deliver(event));
+        }
+    }
+
+    private void deliver(CardChangedEvent event) {
+        Set<SseEmitter> owned = emitters.get(event.ownerId());
+        if (owned == null) {
+            return;
+        }
+        // Outside a read-only transaction, so this reads the primary the change was committed to
+        List<CardResponse> cards = Shards.on(Shards.ofId(event.ownerId()),
+                () -> cardRepository.findCardResponsesByIds(event.cardIds()));
+        cards.forEach(card -> card.setStatus(CardStatus.effective(card.getStatus(), card.getExpiryDate())));
+        // A changed card that is no longer there was deleted
+        Set<Long> found = cards.stream().map(CardResponse::getId).collect(Collectors.toSet());
+        List<Long> deleted = event.cardIds().stream().filter(id -> !found.contains(id)).toList();
+        for (SseEmitter emitter : owned) {
+            sendAll(event.ownerId(), emitter, cards, deleted);
+        }
+    }
+
+    /**
+     * Stops at the first failed write: the emitter is gone by then.
+     */
+    private void sendAll(Long ownerId, SseEmitter emitter, List<CardResponse> cards, List<Long> deleted) {
+        for (CardResponse card : cards) {
+            if (!send(ownerId, emitter, SseEmitter.event().name(EVENT_NAME).data(card, MediaType.APPLICATION_JSON))) {
+                return;
+            }
+        }
+        for (Long cardId : deleted) {
+            if (!send(ownerId, emitter, SseEmitter.event().name(DELETED_EVENT_NAME)
+                    .data(Map.of("id", cardId), MediaType.APPLICATION_JSON))) {
+                return;
+            }
+        }
+    }
+
+    private boolean send(Long ownerId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the stream already completed
+            unsubscribe(ownerId, emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Long ownerId, SseEmitter emitter) {
+        emitters.computeIfPresent(ownerId, (id, owned) -> {
+            owned.remove(emitter);
+            return owned.isEmpty() ? null : owned;
+        });
+    }
+}
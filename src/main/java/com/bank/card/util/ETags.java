@@ -0,0 +1,25 @@
+package com.bank.card.util;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.StringJoiner;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Strong validator over the given parts, in order. Timestamps are compared as
+     * instants so the same row read through different offsets yields the same tag.
+     */
+    public static String of(Object... parts) {
+        StringJoiner joined = new StringJoiner("|");
+        for (Object part : parts) {
+            joined.add(String.valueOf(part instanceof OffsetDateTime time ? time.toInstant() : part));
+        }
+        return DigestUtils.md5DigestAsHex(joined.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
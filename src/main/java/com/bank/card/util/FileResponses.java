@@ -0,0 +1,58 @@
+package com.bank.card.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class FileResponses {
+
+    /** Set by Tomcat's NIO connectors when sendfile is available for this request. */
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileResponses() {
+    }
+
+    /**
+     * Sends {@code file} as an attachment without copying it through the JVM heap.
+     * On Tomcat the connector hands the file to the kernel's sendfile once the
+     * handler returns; elsewhere it is copied with {@link FileChannel#transferTo}.
+     * Response compression must stay off for this path, or Tomcat falls back to a copy.
+     */
+    public static void sendFile(Path file, MediaType contentType, String downloadName,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path realPath = file.toRealPath();
+        long length;
+        try (FileChannel channel = FileChannel.open(realPath, StandardOpenOption.READ)) {
+            length = channel.size();
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(length);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(downloadName).build().toString());
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // Tomcat rejects anything but the canonical path
+                request.setAttribute(SENDFILE_FILENAME, realPath.toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, length);
+                return;
+            }
+            long position = 0;
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (position < length) {
+                position += channel.transferTo(position, length - position, out);
+            }
+        }
+    }
+}
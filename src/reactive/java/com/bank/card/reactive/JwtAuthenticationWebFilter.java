@@ -0,0 +1,59 @@
+package com.bank.card.reactive;
+
+import com.bank.card.security.jwt.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Reactive counterpart of {@link com.bank.card.security.jwt.JwtAuthenticationFilter}: same token
+ * checks through {@link JwtService}, with the user looked up over R2DBC instead of JPA.
+ * Not a bean, so WebFlux does not also register it outside the security chain.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final ReactiveCardReadRepository cardReadRepository;
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        final String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        final String jwt = authHeader.substring(BEARER_PREFIX.length());
+
+        Mono<Authentication> authentication = Mono.fromCallable(() -> jwtService.extractUsername(jwt))
+                .flatMap(cardReadRepository::findUserByUsername)
+                .filter(user -> jwtService.isTokenValid(jwt, user))
+                .<Authentication>map(user -> new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()))
+                .onErrorResume(e -> {
+                    log.error("Cannot set user authentication: {}", e.getMessage());
+                    return Mono.empty();
+                });
+
+        // Errors from the rest of the chain must not be swallowed by the handler above
+        return authentication
+                .map(auth -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)))
+                .switchIfEmpty(Mono.fromSupplier(() -> chain.filter(exchange)))
+                .flatMap(Function.identity());
+    }
+}
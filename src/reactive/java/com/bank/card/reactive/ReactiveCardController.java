@@ -0,0 +1,92 @@
+package com.bank.card.reactive;
+
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.dto.response.PageResponse;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.User;
+import com.bank.card.exception.ResourceNotFoundException;
+import com.bank.card.util.ETags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Same contract as the read endpoints of {@link com.bank.card.controller.CardController},
+ * including ETags: both stacks hash the same fields, so a tag from one validates on the other.
+ * Conditional requests are answered with 304 by the ResponseEntity handler.
+ */
+@RestController
+@RequestMapping("/api/v1/cards")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveCardController {
+
+    private final ReactiveCardReadRepository cardReadRepository;
+
+    @GetMapping
+    public Mono<ResponseEntity<PageResponse<CardResponse>>> getMyCards(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) CardStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir
+    ) {
+        Sort sort = sortDir.equalsIgnoreCase("asc")
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        return Mono.zip(
+                        cardReadRepository.findCardResponsesByOwnerId(currentUser.getId(), status, pageable)
+                                .map(ReactiveCardController::withEffectiveStatus)
+                                .collectList(),
+                        cardReadRepository.countByOwnerId(currentUser.getId(), status))
+                .map(result -> {
+                    PageImpl<CardResponse> cards = new PageImpl<>(result.getT1(), pageable, result.getT2());
+                    return ResponseEntity.ok()
+                            .eTag(pageETag(cards))
+                            .body(PageResponse.from(cards));
+                });
+    }
+
+    @GetMapping("/{cardId}")
+    public Mono<ResponseEntity<CardResponse>> getMyCard(@AuthenticationPrincipal User currentUser,
+                                                        @PathVariable Long cardId) {
+        return cardReadRepository.findCardResponseByIdAndOwnerId(cardId, currentUser.getId())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Card not found with id: " + cardId)))
+                .map(ReactiveCardController::withEffectiveStatus)
+                .map(card -> ResponseEntity.ok()
+                        .eTag(ETags.of(card.getId(), card.getUpdatedAt(), card.getStatus()))
+                        .body(card));
+    }
+
+    /** Mirrors CardServiceImpl#getMyCardsETag, computed from the rows already loaded. */
+    private static String pageETag(PageImpl<CardResponse> cards) {
+        List<Object> parts = new ArrayList<>();
+        parts.add(cards.getNumber());
+        parts.add(cards.getSize());
+        parts.add(cards.getTotalElements());
+        for (CardResponse card : cards) {
+            parts.add(card.getId());
+            parts.add(card.getUpdatedAt());
+            parts.add(card.getStatus());
+        }
+        return ETags.of(parts.toArray());
+    }
+
+    private static CardResponse withEffectiveStatus(CardResponse response) {
+        response.setStatus(CardStatus.effective(response.getStatus(), response.getExpiryDate()));
+        return response;
+    }
+}
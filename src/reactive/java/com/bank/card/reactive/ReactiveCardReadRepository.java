@@ -0,0 +1,129 @@
+package com.bank.card.reactive;
+
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.exception.CardOperationException;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * R2DBC reads against the Liquibase schema, returning the same {@link CardResponse}
+ * rows as the JPQL constructor projections in {@link com.bank.card.repository.CardRepository}.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveCardReadRepository {
+
+    private static final String SELECT_CARDS = "SELECT c.id, c.masked_card_number, c.owner_id, u.username, "
+            + "c.cardholder_name, c.expiry_date, c.status, c.balance, c.created_at, c.updated_at, "
+            + "c.daily_limit, c.monthly_limit "
+            + "FROM cards c JOIN users u ON u.id = c.owner_id ";
+
+    /** Sortable {@link CardResponse} properties; anything else would be SQL injected into ORDER BY. */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "c.id",
+            "maskedCardNumber", "c.masked_card_number",
+            "cardholderName", "c.cardholder_name",
+            "expiryDate", "c.expiry_date",
+            "status", "c.status",
+            "balance", "c.balance",
+            "createdAt", "c.created_at",
+            "updatedAt", "c.updated_at"
+    );
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<User> findUserByUsername(String username) {
+        return databaseClient.sql("SELECT id, username, email, role, enabled FROM users WHERE username = :username")
+                .bind("username", username)
+                .map(row -> User.builder()
+                        .id(row.get("id", Long.class))
+                        .username(row.get("username", String.class))
+                        .email(row.get("email", String.class))
+                        .role(Role.valueOf(row.get("role", String.class)))
+                        .enabled(Boolean.TRUE.equals(row.get("enabled", Boolean.class)))
+                        .build())
+                .one();
+    }
+
+    public Flux<CardResponse> findCardResponsesByOwnerId(Long ownerId, CardStatus status, Pageable pageable) {
+        String sql = SELECT_CARDS + "WHERE c.owner_id = :ownerId"
+                + (status != null ? " AND c.status = :status" : "")
+                + orderBy(pageable.getSort())
+                + " LIMIT :limit OFFSET :offset";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("ownerId", ownerId)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset());
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        return spec.map(ReactiveCardReadRepository::toCardResponse).all();
+    }
+
+    public Mono<Long> countByOwnerId(Long ownerId, CardStatus status) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT COUNT(*) FROM cards WHERE owner_id = :ownerId"
+                        + (status != null ? " AND status = :status" : ""))
+                .bind("ownerId", ownerId);
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        return spec.map(row -> row.get(0, Long.class)).one();
+    }
+
+    public Mono<CardResponse> findCardResponseByIdAndOwnerId(Long cardId, Long ownerId) {
+        return databaseClient.sql(SELECT_CARDS + "WHERE c.id = :cardId AND c.owner_id = :ownerId")
+                .bind("cardId", cardId)
+                .bind("ownerId", ownerId)
+                .map(ReactiveCardReadRepository::toCardResponse)
+                .one();
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new CardOperationException("Cannot sort cards by: " + order.getProperty());
+            }
+            orderBy.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return orderBy.toString();
+    }
+
+    private static CardResponse toCardResponse(Readable row) {
+        return CardResponse.builder()
+                .id(row.get("id", Long.class))
+                .maskedCardNumber(row.get("masked_card_number", String.class))
+                .ownerId(row.get("owner_id", Long.class))
+                .ownerUsername(row.get("username", String.class))
+                .cardholderName(row.get("cardholder_name", String.class))
+                .expiryDate(row.get("expiry_date", LocalDate.class))
+                .status(CardStatus.valueOf(row.get("status", String.class)))
+                .balance(row.get("balance", BigDecimal.class))
+                .createdAt(row.get("created_at", OffsetDateTime.class))
+                .updatedAt(row.get("updated_at", OffsetDateTime.class))
+                .dailyLimit(row.get("daily_limit", BigDecimal.class))
+                .monthlyLimit(row.get("monthly_limit", BigDecimal.class))
+                .build();
+    }
+}
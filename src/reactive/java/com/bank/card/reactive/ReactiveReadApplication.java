@@ -0,0 +1,47 @@
+package com.bank.card.reactive;
+
+import com.bank.card.exception.GlobalExceptionHandler;
+import com.bank.card.security.jwt.JwtService;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Non-blocking read-only entrypoint for {@code GET /api/v1/cards} and {@code GET /api/v1/cards/{id}}.
+ * Runs as its own process next to {@link com.bank.card.BankCardApplication}, which keeps every write.
+ * Configured from {@code reactive-read.yml}, never from {@code application.yml}.
+ */
+@SpringBootApplication
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import({JwtService.class, GlobalExceptionHandler.class})
+public class ReactiveReadApplication {
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .properties("spring.config.name=reactive-read")
+                .run(args);
+    }
+
+    /** Tomcat is on the shared classpath too and would otherwise be preferred. */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Reads go to the single {@code spring.r2dbc} database, which with card.sharding
+     * would hold only shard 0's cards: refuse to start rather than answer with empty pages.
+     */
+    @Bean
+    public SmartInitializingSingleton shardingCheck(@Value("${card.sharding.enabled:false}") boolean sharding) {
+        return () -> {
+            if (sharding) {
+                throw new IllegalStateException("The reactive read API does not support card.sharding.enabled");
+            }
+        };
+    }
+}
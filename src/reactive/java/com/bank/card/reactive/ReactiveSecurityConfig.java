@@ -0,0 +1,49 @@
+package com.bank.card.reactive;
+
+import com.bank.card.security.jwt.JwtService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Same rules as {@link com.bank.card.config.SecurityConfig} for the card read endpoints.
+ * Everything else is denied here; it is served by the servlet application.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+
+    private final JwtService jwtService;
+    private final ReactiveCardReadRepository cardReadRepository;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            // The servlet chain answers anonymous requests with 403 as well
+            .exceptionHandling(handling -> handling
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN))
+            )
+            .authorizeExchange(auth -> auth
+                .pathMatchers(HttpMethod.GET, "/api/v1/cards", "/api/v1/cards/*").hasAnyRole("USER", "ADMIN")
+                .anyExchange().denyAll()
+            )
+            .addFilterAt(new JwtAuthenticationWebFilter(jwtService, cardReadRepository),
+                    SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+}
@@ -0,0 +1,222 @@
+package com.bank.card.reactive;
+
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.security.jwt.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(controllers = ReactiveCardController.class)
+// Explicit: the class-path search for @SpringBootConfiguration skips web-type conditional classes
+@ContextConfiguration(classes = ReactiveReadApplication.class)
+@Import(ReactiveSecurityConfig.class)
+@DisplayName("ReactiveCardController Tests")
+class ReactiveCardControllerTest {
+
+    @Autowired private WebTestClient webTestClient;
+    @Autowired private JwtService jwtService;
+
+    @MockBean private ReactiveCardReadRepository cardReadRepository;
+
+    private User testUser;
+    private String token;
+    private CardResponse sampleCardResponse;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id(1L)
+                .username("testuser")
+                .role(Role.USER)
+                .enabled(true)
+                .build();
+        token = jwtService.generateToken(testUser);
+        when(cardReadRepository.findUserByUsername("testuser")).thenReturn(Mono.just(testUser));
+
+        sampleCardResponse = CardResponse.builder()
+                .id(10L)
+                .maskedCardNumber("**** **** **** 1234")
+                .ownerId(1L)
+                .ownerUsername("testuser")
+                .expiryDate(LocalDate.now().plusYears(1))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("1000.00"))
+                .dailyLimit(new BigDecimal("500.00"))
+                .monthlyLimit(new BigDecimal("5000.00"))
+                .updatedAt(OffsetDateTime.parse("2024-01-01T10:00:00Z"))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/cards")
+    class GetMyCardsTests {
+
+        @Test
+        @DisplayName("Should return the page of the current user's cards with an ETag")
+        void shouldReturnPage() {
+            when(cardReadRepository.findCardResponsesByOwnerId(eq(1L), isNull(), any(Pageable.class)))
+                    .thenReturn(Flux.just(sampleCardResponse));
+            when(cardReadRepository.countByOwnerId(1L, null)).thenReturn(Mono.just(1L));
+
+            webTestClient.get().uri("/api/v1/cards?size=5")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().exists(HttpHeaders.ETAG)
+                    .expectBody()
+                    .jsonPath("$.content[0].id").isEqualTo(10)
+                    .jsonPath("$.size").isEqualTo(5)
+                    .jsonPath("$.totalElements").isEqualTo(1)
+                    .jsonPath("$.first").isEqualTo(true);
+        }
+
+        @Test
+        @DisplayName("Should report a past-expiry ACTIVE card as EXPIRED")
+        void shouldApplyEffectiveStatus() {
+            sampleCardResponse.setExpiryDate(LocalDate.now().minusDays(1));
+            when(cardReadRepository.findCardResponsesByOwnerId(eq(1L), isNull(), any(Pageable.class)))
+                    .thenReturn(Flux.just(sampleCardResponse));
+            when(cardReadRepository.countByOwnerId(1L, null)).thenReturn(Mono.just(1L));
+
+            webTestClient.get().uri("/api/v1/cards")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.content[0].status").isEqualTo("EXPIRED");
+        }
+
+        @Test
+        @DisplayName("Should answer 304 when If-None-Match carries the current ETag")
+        void shouldReturnNotModified() {
+            when(cardReadRepository.findCardResponsesByOwnerId(eq(1L), eq(CardStatus.ACTIVE), any(Pageable.class)))
+                    .thenAnswer(i -> Flux.just(sampleCardResponse.toBuilder().build()));
+            when(cardReadRepository.countByOwnerId(1L, CardStatus.ACTIVE)).thenReturn(Mono.just(1L));
+
+            String etag = webTestClient.get().uri("/api/v1/cards?status=ACTIVE")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(String.class)
+                    .getResponseHeaders().getETag();
+
+            webTestClient.get().uri("/api/v1/cards?status=ACTIVE")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .header(HttpHeaders.IF_NONE_MATCH, etag)
+                    .exchange()
+                    .expectStatus().isNotModified()
+                    .expectBody().isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown sort property with 400")
+        void shouldRejectUnknownSortProperty() {
+            when(cardReadRepository.findCardResponsesByOwnerId(eq(1L), isNull(), any(Pageable.class)))
+                    .thenCallRealMethod();
+
+            webTestClient.get().uri("/api/v1/cards?sortBy=encryptedCardNumber")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/cards/{id}")
+    class GetMyCardTests {
+
+        @Test
+        @DisplayName("Should return the card owned by the current user")
+        void shouldReturnCard() {
+            when(cardReadRepository.findCardResponseByIdAndOwnerId(10L, 1L)).thenReturn(Mono.just(sampleCardResponse));
+
+            webTestClient.get().uri("/api/v1/cards/10")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().exists(HttpHeaders.ETAG)
+                    .expectBody()
+                    .jsonPath("$.maskedCardNumber").isEqualTo("**** **** **** 1234")
+                    .jsonPath("$.dailyLimit").isEqualTo(500.00)
+                    .jsonPath("$.monthlyLimit").isEqualTo(5000.00);
+        }
+
+        @Test
+        @DisplayName("Should return 404 for a card of another user")
+        void shouldReturn404ForForeignCard() {
+            when(cardReadRepository.findCardResponseByIdAndOwnerId(99L, 1L)).thenReturn(Mono.empty());
+
+            webTestClient.get().uri("/api/v1/cards/99")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .exchange()
+                    .expectStatus().isNotFound()
+                    .expectBody()
+                    .jsonPath("$.message").isEqualTo("Card not found with id: 99");
+        }
+    }
+
+    @Nested
+    @DisplayName("Authentication")
+    class AuthenticationTests {
+
+        @Test
+        @DisplayName("Should return 403 without a token")
+        void shouldRejectAnonymous() {
+            webTestClient.get().uri("/api/v1/cards/10")
+                    .exchange()
+                    .expectStatus().isForbidden();
+
+            verify(cardReadRepository, never()).findCardResponseByIdAndOwnerId(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 403 for a tampered token")
+        void shouldRejectInvalidToken() {
+            webTestClient.get().uri("/api/v1/cards/10")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x")
+                    .exchange()
+                    .expectStatus().isForbidden();
+        }
+
+        @Test
+        @DisplayName("Should return 403 for a disabled user")
+        void shouldRejectDisabledUser() {
+            testUser.setEnabled(false);
+
+            webTestClient.get().uri("/api/v1/cards/10")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .exchange()
+                    .expectStatus().isForbidden();
+        }
+
+        @Test
+        @DisplayName("Should deny endpoints served only by the servlet application")
+        void shouldDenyWrites() {
+            webTestClient.post().uri("/api/v1/cards/10/request-block")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .exchange()
+                    .expectStatus().isForbidden();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bank.card.cache;
+
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.entity.CardStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CardResponseCache Tests")
+class CardResponseCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, CardResponse> loader = id -> {
+        loads.incrementAndGet();
+        return CardResponse.builder()
+                .id(id)
+                .ownerId(1L)
+                .status(CardStatus.ACTIVE)
+                .expiryDate(LocalDate.now().plusYears(1))
+                .build();
+    };
+
+    @Test
+    @DisplayName("Should load once and record hits and misses")
+    void shouldRecordHitsAndMisses() {
+        CardResponseCache cache = new CardResponseCache(true, 10, Duration.ofMinutes(1));
+
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(2);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should hand out copies so callers cannot corrupt the cached entry")
+    void shouldReturnCopies() {
+        CardResponseCache cache = new CardResponseCache(true, 10, Duration.ofMinutes(1));
+
+        cache.get(1L, loader).setStatus(CardStatus.BLOCKED);
+
+        assertThat(cache.get(1L, loader).getStatus()).isEqualTo(CardStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should reload after invalidation")
+    void shouldReloadAfterInvalidation() {
+        CardResponseCache cache = new CardResponseCache(true, 10, Duration.ofMinutes(1));
+        cache.get(1L, loader);
+
+        cache.invalidate(List.of(1L));
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should report a cached ACTIVE card past its expiry date as EXPIRED")
+    void shouldApplyEffectiveStatusOnRead() {
+        CardResponseCache cache = new CardResponseCache(true, 10, Duration.ofMinutes(1));
+
+        CardResponse response = cache.get(1L, id -> CardResponse.builder()
+                .id(id).status(CardStatus.ACTIVE).expiryDate(LocalDate.now().minusDays(1)).build());
+
+        assertThat(response.getStatus()).isEqualTo(CardStatus.EXPIRED);
+    }
+
+    @Test
+    @DisplayName("Should always call the loader when disabled")
+    void shouldBypassWhenDisabled() {
+        CardResponseCache cache = new CardResponseCache(false, 10, Duration.ofMinutes(1));
+
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+}
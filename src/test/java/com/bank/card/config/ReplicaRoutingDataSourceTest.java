@@ -0,0 +1,137 @@
+package com.bank.card.config;
+
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    @Mock private DataSource primary;
+    @Mock private DataSource replica;
+    @Mock private Connection primaryConnection;
+    @Mock private Connection replicaConnection;
+
+    private PrimaryStickiness stickiness;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+        stickiness = new PrimaryStickiness(Duration.ofMinutes(1));
+        routingDataSource = new ReplicaRoutingDataSource(primary, replica, stickiness);
+
+        User user = User.builder().id(1L).username("testuser").role(Role.USER).enabled(true).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Nested
+    @DisplayName("Routing")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should use the primary outside read-only transactions")
+        void shouldUsePrimaryForWrites() throws SQLException {
+            assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        }
+
+        @Test
+        @DisplayName("Should use the replica for read-only transactions")
+        void shouldUseReplicaForReadOnly() throws SQLException {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+        }
+
+        @Test
+        @DisplayName("Should keep a user who just wrote on the primary")
+        void shouldUsePrimaryForPinnedUser() throws SQLException {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            stickiness.pin(1L);
+
+            assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+        }
+
+        @Test
+        @DisplayName("Should use the primary for reads forced onto it")
+        void shouldHonourOnPrimary() {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            Connection connection = ReplicaRoutingDataSource.onPrimary(() -> {
+                try {
+                    return routingDataSource.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertThat(connection).isSameAs(primaryConnection);
+        }
+    }
+
+    @Nested
+    @DisplayName("Read-your-writes")
+    class StickinessTests {
+
+        @Mock private TransactionExecution transaction;
+
+        @Test
+        @DisplayName("Should pin the current user after a read-write commit")
+        void shouldPinAfterWriteCommit() {
+            when(transaction.isReadOnly()).thenReturn(false);
+            when(transaction.isNewTransaction()).thenReturn(true);
+
+            stickiness.afterCommit(transaction, null);
+
+            assertThat(stickiness.isPinned(1L)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should not pin after a read-only commit")
+        void shouldNotPinAfterReadOnlyCommit() {
+            when(transaction.isReadOnly()).thenReturn(true);
+
+            stickiness.afterCommit(transaction, null);
+
+            assertThat(stickiness.isPinned(1L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should expire the pin after the sticky window")
+        void shouldExpirePin() throws InterruptedException {
+            PrimaryStickiness shortWindow = new PrimaryStickiness(Duration.ofMillis(50));
+            shortWindow.pin(1L);
+            Thread.sleep(100);
+
+            assertThat(shortWindow.isPinned(1L)).isFalse();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.card.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ShardingConfig Tests")
+class ShardingConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ReplicaDataSourceConfig.class, ShardingConfig.class);
+
+    @Test
+    @DisplayName("Should refuse to start with the read replica, naming both properties")
+    void shouldRefuseReplica() {
+        contextRunner
+                .withPropertyValues("card.sharding.enabled=true", "card.datasource.replica.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasFailed();
+                    assertThat(NestedExceptionUtils.getMostSpecificCause(context.getStartupFailure()))
+                            .isInstanceOf(IllegalStateException.class)
+                            .hasMessage("card.sharding.enabled and card.datasource.replica.enabled cannot both be true");
+                });
+    }
+
+    @Test
+    @DisplayName("Should stay out of the way when sharding is off")
+    void shouldIgnoreReplicaWithoutSharding() {
+        contextRunner
+                .withPropertyValues("card.datasource.replica.enabled=false")
+                .run(context -> assertThat(context).hasNotFailed().doesNotHaveBean(ShardingConfig.class));
+    }
+}
@@ -10,6 +10,9 @@ import com.bank.card.exception.GlobalExceptionHandler;
 import com.bank.card.exception.ResourceNotFoundException;
 import com.bank.card.security.service.SecurityUtils;
 import com.bank.card.service.CardService;
+import com.bank.card.service.StatementService;
+import com.bank.card.statement.StatementFiles;
+import com.bank.card.stream.CardStreamBroadcaster;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,6 +26,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -38,6 +42,9 @@ class CardControllerTest {
 
     @Mock private CardService cardService;
     @Mock private SecurityUtils securityUtils;
+    @Mock private CardStreamBroadcaster cardStreamBroadcaster;
+    @Mock private StatementService statementService;
+    @Mock private StatementFiles statementFiles;
 
     @InjectMocks
     private CardController cardController;
@@ -146,6 +153,81 @@ class CardControllerTest {
                     .andExpect(status().isNotFound())
                     .andExpect(jsonPath("$.message").value("Card not found with id: 99"));
         }
+
+        @Test
+        @DisplayName("Should return 503 with Retry-After when no database connection is available")
+        void shouldReturn503WhenPoolExhausted() throws Exception {
+            when(securityUtils.getCurrentUser()).thenReturn(testUser);
+            when(cardService.getMyCard(10L, testUser))
+                    .thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+            mockMvc.perform(get("/api/v1/cards/10"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional GET")
+    class ConditionalGetTests {
+
+        @Test
+        @DisplayName("Should return ETag with the card list")
+        void shouldReturnETagWithCards() throws Exception {
+            PageResponse<CardResponse> pageResponse = PageResponse.<CardResponse>builder()
+                    .content(List.of(sampleCardResponse))
+                    .page(0).size(10).totalElements(1).totalPages(1)
+                    .first(true).last(true)
+                    .build();
+
+            when(securityUtils.getCurrentUser()).thenReturn(testUser);
+            when(cardService.getMyCardsETag(eq(testUser), isNull(), any(Pageable.class))).thenReturn("v1");
+            when(cardService.getMyCards(eq(testUser), isNull(), any(Pageable.class))).thenReturn(pageResponse);
+
+            mockMvc.perform(get("/api/v1/cards"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"v1\""))
+                    .andExpect(jsonPath("$.content[0].id").value(10));
+        }
+
+        @Test
+        @DisplayName("Should return 304 without loading the page when If-None-Match matches")
+        void shouldReturn304ForUnchangedCards() throws Exception {
+            when(securityUtils.getCurrentUser()).thenReturn(testUser);
+            when(cardService.getMyCardsETag(eq(testUser), isNull(), any(Pageable.class))).thenReturn("v1");
+
+            mockMvc.perform(get("/api/v1/cards").header("If-None-Match", "\"v1\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"v1\""))
+                    .andExpect(content().string(""));
+
+            verify(cardService, never()).getMyCards(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 304 for an unchanged card")
+        void shouldReturn304ForUnchangedCard() throws Exception {
+            when(securityUtils.getCurrentUser()).thenReturn(testUser);
+            when(cardService.getMyCardETag(10L, testUser)).thenReturn("c1");
+
+            mockMvc.perform(get("/api/v1/cards/10").header("If-None-Match", "\"c1\""))
+                    .andExpect(status().isNotModified());
+
+            verify(cardService, never()).getMyCard(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 200 with the new ETag when the card changed")
+        void shouldReturn200ForChangedCard() throws Exception {
+            when(securityUtils.getCurrentUser()).thenReturn(testUser);
+            when(cardService.getMyCardETag(10L, testUser)).thenReturn("c2");
+            when(cardService.getMyCard(10L, testUser)).thenReturn(sampleCardResponse);
+
+            mockMvc.perform(get("/api/v1/cards/10").header("If-None-Match", "\"c1\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().stringValues("ETag", "\"c2\""))
+                    .andExpect(jsonPath("$.id").value(10));
+        }
     }
 
     @Nested
@@ -0,0 +1,166 @@
+package com.bank.card.controller;
+
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.observability.ServerTimingFilter;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.security.jwt.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bank.card.observability.SqlStatementCountMatchers.atMostStatements;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Statement budget per endpoint over several owners. Budgets include the JWT user lookup;
+ * pages are larger than the data, so Spring Data skips the count query.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Endpoint SQL Statement Budget Tests")
+class EndpointStatementCountTest {
+
+    private static final int OWNERS = 5;
+    private static final int CARDS_PER_OWNER = 4;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private JwtService jwtService;
+
+    private User admin;
+    private User owner;
+    private Card ownerCard;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(user("admin", Role.ADMIN));
+        List<Card> cards = new ArrayList<>();
+        for (int u = 0; u < OWNERS; u++) {
+            User user = userRepository.save(user("owner" + u, Role.USER));
+            if (owner == null) owner = user;
+            for (int c = 0; c < CARDS_PER_OWNER; c++) {
+                cards.add(Card.builder()
+                        .encryptedCardNumber("enc-" + u + "-" + c)
+                        .maskedCardNumber("**** **** **** 000" + c)
+                        .owner(user)
+                        .cardholderName("Owner " + u)
+                        .expiryDate(LocalDate.now().plusYears(2))
+                        .status(CardStatus.ACTIVE)
+                        .balance(new BigDecimal("100.00"))
+                        .build());
+            }
+        }
+        ownerCard = cardRepository.saveAll(cards).get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Nested
+    @DisplayName("User endpoints")
+    class UserEndpointTests {
+
+        @Test
+        @DisplayName("GET /api/v1/cards")
+        void myCards() throws Exception {
+            mockMvc.perform(as(owner, get("/api/v1/cards").param("size", "20")))
+                    .andExpect(status().isOk())
+                    .andExpect(atMostStatements(3))
+                    .andExpect(header().string(ServerTimingFilter.HEADER,
+                            allOf(containsString("jwt;dur="), containsString("user;dur="),
+                                    containsString("db;dur="), containsString("app;dur="))));
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/cards/{id}")
+        void myCard() throws Exception {
+            mockMvc.perform(as(owner, get("/api/v1/cards/" + ownerCard.getId())))
+                    .andExpect(status().isOk())
+                    .andExpect(atMostStatements(2));
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/users/me")
+        void me() throws Exception {
+            mockMvc.perform(as(owner, get("/api/v1/users/me")))
+                    .andExpect(status().isOk())
+                    .andExpect(atMostStatements(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Admin endpoints")
+    class AdminEndpointTests {
+
+        @Test
+        @DisplayName("GET /api/v1/admin/cards")
+        void allCards() throws Exception {
+            mockMvc.perform(as(admin, get("/api/v1/admin/cards").param("size", "20")))
+                    .andExpect(status().isOk())
+                    .andExpect(atMostStatements(3));
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/admin/cards/{id}")
+        void cardById() throws Exception {
+            mockMvc.perform(as(admin, get("/api/v1/admin/cards/" + ownerCard.getId())))
+                    .andExpect(status().isOk())
+                    .andExpect(atMostStatements(2));
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/admin/users")
+        void allUsers() throws Exception {
+            mockMvc.perform(as(admin, get("/api/v1/admin/users").param("size", "20")))
+                    .andExpect(status().isOk())
+                    .andExpect(atMostStatements(3));
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/admin/users/{id}")
+        void userById() throws Exception {
+            mockMvc.perform(as(admin, get("/api/v1/admin/users/" + owner.getId())))
+                    .andExpect(status().isOk())
+                    .andExpect(atMostStatements(2));
+        }
+    }
+
+    private MockHttpServletRequestBuilder as(User user, MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(user));
+    }
+
+    private static User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .email(username + "@bank.com")
+                .password("secret")
+                .role(role)
+                .enabled(true)
+                .build();
+    }
+}
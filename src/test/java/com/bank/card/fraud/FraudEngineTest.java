@@ -0,0 +1,213 @@
+package com.bank.card.fraud;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FraudEngine Tests")
+class FraudEngineTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final List<FraudRule> defaultRules = List.of(
+            new VelocityRule(5, 10),
+            new AmountOutlierRule(5, 20),
+            new DrainRule(new BigDecimal("0.9"), new BigDecimal("1000")));
+
+    private FraudEngine engine(List<FraudRule> rules, Duration budget, String failureMode) {
+        return new FraudEngine(rules, new FraudProfiles(Duration.ofSeconds(30), 1000, Duration.ofHours(1)),
+                new SimpleMeterRegistry(), true, budget, failureMode);
+    }
+
+    private FraudEngine engine() {
+        return engine(defaultRules, Duration.ofSeconds(1), "open");
+    }
+
+    /**
+     * Scores the attempt and, unless denied, records it as the transfer service does after commit.
+     */
+    private static FraudAssessment transfer(FraudEngine engine, TransferAttempt attempt) {
+        FraudAssessment assessment = engine.assess(attempt);
+        if (assessment.decision() != FraudDecision.DENY) {
+            engine.record(attempt);
+        }
+        return assessment;
+    }
+
+    private static TransferAttempt attempt(long userId, long cardId, String amount, long nanoTime) {
+        return new TransferAttempt(userId, cardId, 99L, new BigDecimal(amount), new BigDecimal("500.00"), nanoTime);
+    }
+
+    @Nested
+    @DisplayName("Rules")
+    class RuleTests {
+
+        @Test
+        @DisplayName("Should review and then deny a burst of simultaneous transfers, and forget it after a few half-lives")
+        void shouldScoreBursts() {
+            FraudEngine engine = engine();
+            List<FraudDecision> decisions = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                decisions.add(transfer(engine, attempt(1L, 10L, "20.00", 0)).decision());
+            }
+
+            assertThat(decisions.subList(0, 4)).containsOnly(FraudDecision.ALLOW);
+            assertThat(decisions.get(4)).isEqualTo(FraudDecision.REVIEW);
+            assertThat(decisions.get(9)).isEqualTo(FraudDecision.DENY);
+            assertThat(transfer(engine, attempt(1L, 10L, "20.00", 300 * SECOND)).decision())
+                    .isEqualTo(FraudDecision.ALLOW);
+        }
+
+        @Test
+        @DisplayName("Should count a user's transfers across all of their cards")
+        void shouldTrackUserAcrossCards() {
+            FraudEngine engine = engine();
+            for (int i = 0; i < 4; i++) {
+                transfer(engine, attempt(2L, 20L + i, "20.00", 0));
+            }
+
+            FraudAssessment fifth = transfer(engine, attempt(2L, 30L, "20.00", 0));
+
+            assertThat(fifth.decision()).isEqualTo(FraudDecision.REVIEW);
+            assertThat(fifth.findings()).extracting(RuleFinding::rule).containsExactly("velocity");
+        }
+
+        @Test
+        @DisplayName("Should review an amount far above the card's history, only once there is enough of it")
+        void shouldReviewAmountOutliers() {
+            FraudEngine engine = engine();
+            assertThat(transfer(engine, attempt(3L, 40L, "400.00", 0)).decision()).isEqualTo(FraudDecision.ALLOW);
+            for (int i = 1; i <= 20; i++) {
+                transfer(engine, attempt(3L, 40L, "10.00", i * 60 * SECOND));
+            }
+
+            FraudAssessment outlier = transfer(engine, attempt(3L, 40L, "400.00", 30 * 60 * SECOND));
+
+            assertThat(outlier.decision()).isEqualTo(FraudDecision.REVIEW);
+            assertThat(outlier.findings()).extracting(RuleFinding::rule).containsExactly("amount");
+        }
+
+        @Test
+        @DisplayName("Should not let attempts that never executed raise the next transfer's score")
+        void shouldIgnoreUnrecordedAttempts() {
+            FraudEngine engine = engine();
+            for (int i = 0; i < 20; i++) {
+                engine.assess(attempt(9L, 90L, "20.00", 0));
+            }
+
+            assertThat(engine.assess(attempt(9L, 90L, "20.00", 0)).decision()).isEqualTo(FraudDecision.ALLOW);
+        }
+
+        @Test
+        @DisplayName("Should review sending nearly all of a large balance")
+        void shouldReviewDrain() {
+            FraudEngine engine = engine();
+            TransferAttempt drain = new TransferAttempt(4L, 50L, 99L, new BigDecimal("1900.00"),
+                    new BigDecimal("2000.00"), 0);
+            TransferAttempt small = new TransferAttempt(5L, 51L, 99L, new BigDecimal("450.00"),
+                    new BigDecimal("500.00"), 0);
+
+            assertThat(engine.assess(drain).findings()).extracting(RuleFinding::rule).containsExactly("drain");
+            assertThat(engine.assess(small).decision()).isEqualTo(FraudDecision.ALLOW);
+        }
+
+        @Test
+        @DisplayName("Should apply any FraudRule it is given and keep the most severe finding")
+        void shouldApplyPluggedRules() {
+            FraudRule blocklist = (attempt, user, card) -> attempt.toCardId() == 99L
+                    ? new RuleFinding("blocklist", FraudDecision.DENY, "blocked counterparty")
+                    : null;
+            FraudEngine engine = engine(List.of(new VelocityRule(1, 10), blocklist), Duration.ofSeconds(1), "open");
+
+            FraudAssessment assessment = engine.assess(attempt(6L, 60L, "20.00", 0));
+
+            assertThat(assessment.decision()).isEqualTo(FraudDecision.DENY);
+            assertThat(assessment.findings()).extracting(RuleFinding::rule).containsExactly("velocity", "blocklist");
+        }
+    }
+
+    @Nested
+    @DisplayName("Failure mode")
+    class FailureModeTests {
+
+        private final FraudRule broken = (attempt, user, card) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        @Test
+        @DisplayName("Should allow when a rule fails in open mode, and deny in closed mode")
+        void shouldApplyFailureModeOnError() {
+            FraudAssessment open = engine(List.of(broken), Duration.ofSeconds(1), "open")
+                    .assess(attempt(7L, 70L, "20.00", 0));
+            FraudAssessment closed = engine(List.of(broken), Duration.ofSeconds(1), "closed")
+                    .assess(attempt(7L, 70L, "20.00", 0));
+
+            assertThat(open.decision()).isEqualTo(FraudDecision.ALLOW);
+            assertThat(open.degraded()).isTrue();
+            assertThat(closed.decision()).isEqualTo(FraudDecision.DENY);
+        }
+
+        @Test
+        @DisplayName("Should skip the remaining rules once the budget has run out")
+        void shouldStopAtBudget() {
+            FraudRule slow = (attempt, user, card) -> {
+                long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2);
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+                return null;
+            };
+            FraudRule denyAll = (attempt, user, card) -> new RuleFinding("deny", FraudDecision.DENY, "always");
+
+            FraudAssessment open = engine(List.of(slow, denyAll), Duration.ofMillis(1), "open")
+                    .assess(attempt(8L, 80L, "20.00", 0));
+            FraudAssessment closed = engine(List.of(slow, denyAll), Duration.ofMillis(1), "closed")
+                    .assess(attempt(8L, 80L, "20.00", 0));
+
+            assertThat(open.decision()).isEqualTo(FraudDecision.ALLOW);
+            assertThat(open.degraded()).isTrue();
+            assertThat(open.findings()).isEmpty();
+            assertThat(closed.decision()).isEqualTo(FraudDecision.DENY);
+        }
+    }
+
+    @Nested
+    @DisplayName("Sketches")
+    class SketchTests {
+
+        @Test
+        @DisplayName("Should estimate the 95th percentile of a stream within a few percent")
+        void shouldEstimateP95() {
+            P2Quantile quantile = new P2Quantile(0.95);
+            Random random = new Random(42);
+            for (int i = 0; i < 100_000; i++) {
+                quantile.add(random.nextDouble() * 1000);
+            }
+
+            assertThat(quantile.count()).isEqualTo(100_000);
+            assertThat(quantile.quantile()).isCloseTo(950, within(15.0));
+        }
+
+        @Test
+        @DisplayName("Should halve the transfer count every half-life")
+        void shouldDecayCounts() {
+            ActivitySketch sketch = new ActivitySketch(Duration.ofSeconds(30), 0);
+            sketch.recordAttempt(0);
+            sketch.recordAttempt(0);
+
+            assertThat(sketch.recentTransfers(0)).isEqualTo(2.0);
+            assertThat(sketch.recentTransfers(30 * SECOND)).isCloseTo(1.0, within(1e-9));
+            assertThat(sketch.recentTransfers(60 * SECOND)).isCloseTo(0.5, within(1e-9));
+        }
+    }
+}
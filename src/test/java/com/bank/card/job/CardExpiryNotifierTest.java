@@ -0,0 +1,141 @@
+package com.bank.card.job;
+
+import com.bank.card.notification.ExpiryNotification;
+import com.bank.card.notification.ExpiryNotificationSink;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.ExpiringCard;
+import com.bank.card.shard.Shards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CardExpiryNotifier Tests")
+class CardExpiryNotifierTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock private CardRepository cardRepository;
+    @Mock private ExpiryNotificationSink sink;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private CardExpiryNotifier notifier;
+    private final LocalDate today = LocalDate.of(2026, 3, 1);
+
+    @BeforeEach
+    void setUp() {
+        notifier = new CardExpiryNotifier(cardRepository, sink, new Shards(1), transactionManager,
+                new SyncTaskExecutor(), new SimpleMeterRegistry(), List.of(30, 1, 7), CHUNK_SIZE, 2);
+        lenient().when(cardRepository.findDueExpiryNotices(any(), any(), anyInt(), any(), anyInt()))
+                .thenReturn(List.of());
+        lenient().when(cardRepository.claimExpiryNotices(anyInt(), anyCollection()))
+                .thenAnswer(inv -> new ArrayList<>(inv.<Collection<Long>>getArgument(1)));
+    }
+
+    @Test
+    @DisplayName("Should scan one window per threshold, most urgent first")
+    void shouldScanWindowPerThreshold() {
+        notifier.notifyExpiringCards(today);
+
+        verify(cardRepository).findDueExpiryNotices(today, today.plusDays(1), 1, null, CHUNK_SIZE);
+        verify(cardRepository).findDueExpiryNotices(today.plusDays(2), today.plusDays(7), 7, null, CHUNK_SIZE);
+        verify(cardRepository).findDueExpiryNotices(today.plusDays(8), today.plusDays(30), 30, null, CHUNK_SIZE);
+        verifyNoInteractions(sink);
+    }
+
+    @Test
+    @DisplayName("Should leave the scheduler thread and run on the task executor")
+    void shouldHandOffScheduledRun() {
+        List<Runnable> handedOff = new ArrayList<>();
+        CardExpiryNotifier scheduled = new CardExpiryNotifier(cardRepository, sink, new Shards(1), transactionManager,
+                handedOff::add, new SimpleMeterRegistry(), List.of(30, 1, 7), CHUNK_SIZE, 2);
+
+        scheduled.scheduledRun();
+
+        verifyNoInteractions(cardRepository);
+        assertThat(handedOff).hasSize(1);
+        handedOff.get(0).run();
+        verify(cardRepository, times(3)).findDueExpiryNotices(any(), any(), anyInt(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should page by keyset while pages come back full and send every chunk")
+    void shouldPageByKeyset() {
+        ExpiringCard first = card(1L, 10);
+        ExpiringCard second = card(2L, 12);
+        ExpiringCard third = card(3L, 12);
+        LocalDate from = today.plusDays(8);
+        LocalDate to = today.plusDays(30);
+        when(cardRepository.findDueExpiryNotices(from, to, 30, null, CHUNK_SIZE)).thenReturn(List.of(first, second));
+        when(cardRepository.findDueExpiryNotices(from, to, 30, second, CHUNK_SIZE)).thenReturn(List.of(third));
+
+        int sent = notifier.notifyExpiringCards(today);
+
+        assertThat(sent).isEqualTo(3);
+        verify(sink).send(List.of(notice(first), notice(second)));
+        verify(sink).send(List.of(notice(third)));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should send only the cards it claimed")
+    void shouldSendOnlyClaimedCards() {
+        ExpiringCard claimed = card(1L, 5);
+        ExpiringCard taken = card(2L, 5);
+        when(cardRepository.findDueExpiryNotices(today.plusDays(2), today.plusDays(7), 7, null, CHUNK_SIZE))
+                .thenReturn(List.of(claimed, taken));
+        when(cardRepository.claimExpiryNotices(7, List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        int sent = notifier.notifyExpiringCards(today);
+
+        assertThat(sent).isEqualTo(1);
+        verify(sink).send(List.of(new ExpiryNotification(1L, 100L, "**** **** **** 0001", today.plusDays(5), 7)));
+    }
+
+    @Test
+    @DisplayName("Should roll back a failed chunk and still send the others")
+    void shouldContinueAfterFailedChunk() {
+        ExpiringCard failing = card(1L, 1);
+        ExpiringCard ok = card(2L, 20);
+        when(cardRepository.findDueExpiryNotices(today, today.plusDays(1), 1, null, CHUNK_SIZE))
+                .thenReturn(List.of(failing));
+        when(cardRepository.findDueExpiryNotices(today.plusDays(8), today.plusDays(30), 30, null, CHUNK_SIZE))
+                .thenReturn(List.of(ok));
+        // Lenient: strict stubs would flag the other chunk's send as a mismatch when it runs first
+        lenient().doThrow(new IllegalStateException("sink down")).when(sink).send(List.of(notice(failing, 1)));
+
+        int sent = notifier.notifyExpiringCards(today);
+
+        assertThat(sent).isEqualTo(1);
+        verify(sink).send(List.of(notice(ok)));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    private ExpiringCard card(Long id, int daysLeft) {
+        return new ExpiringCard(id, 100L, "**** **** **** %04d".formatted(id), today.plusDays(daysLeft));
+    }
+
+    private static ExpiryNotification notice(ExpiringCard card) {
+        return notice(card, 30);
+    }
+
+    private static ExpiryNotification notice(ExpiringCard card, int daysBefore) {
+        return new ExpiryNotification(card.id(), card.ownerId(), card.maskedCardNumber(), card.expiryDate(), daysBefore);
+    }
+}
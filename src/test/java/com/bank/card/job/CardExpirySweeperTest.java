@@ -0,0 +1,90 @@
+package com.bank.card.job;
+
+import com.bank.card.cache.CardCacheInvalidator;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.CardStatusChange;
+import com.bank.card.shard.Shards;
+import com.bank.card.stream.CardChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CardExpirySweeper Tests")
+class CardExpirySweeperTest {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Mock private CardRepository cardRepository;
+    @Mock private CardCacheInvalidator cardCacheInvalidator;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private CardExpirySweeper sweeper;
+    private final LocalDate today = LocalDate.of(2026, 3, 1);
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new CardExpirySweeper(cardRepository, cardCacheInvalidator, eventPublisher, new Shards(1),
+                transactionManager, BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should keep sweeping while chunks come back full, one transaction per chunk")
+    void shouldSweepUntilChunkIsPartial() {
+        when(cardRepository.expireActiveCardsBefore(today, BATCH_SIZE))
+                .thenReturn(expired(0, BATCH_SIZE), expired(BATCH_SIZE, BATCH_SIZE), expired(2 * BATCH_SIZE, 7));
+
+        int expired = sweeper.expireCardsBefore(today);
+
+        assertThat(expired).isEqualTo(2 * BATCH_SIZE + 7);
+        verify(cardRepository, times(3)).expireActiveCardsBefore(today, BATCH_SIZE);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should issue a single statement when nothing is due")
+    void shouldStopWhenNothingExpired() {
+        when(cardRepository.expireActiveCardsBefore(any(), anyInt())).thenReturn(List.of());
+
+        assertThat(sweeper.expireCardsBefore(today)).isZero();
+        verify(cardRepository, times(1)).expireActiveCardsBefore(any(), anyInt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should evict and push the expired cards of each owner")
+    void shouldPublishExpiredCards() {
+        when(cardRepository.expireActiveCardsBefore(today, BATCH_SIZE)).thenReturn(List.of(
+                new CardStatusChange(1L, 8L, CardStatus.ACTIVE),
+                new CardStatusChange(2L, 7L, CardStatus.ACTIVE),
+                new CardStatusChange(3L, 8L, CardStatus.ACTIVE)));
+
+        sweeper.expireCardsBefore(today);
+
+        verify(cardCacheInvalidator).evictAfterCommit(List.of(1L, 2L, 3L));
+        verify(eventPublisher).publishEvent(new CardChangedEvent(7L, List.of(2L)));
+        verify(eventPublisher).publishEvent(new CardChangedEvent(8L, List.of(1L, 3L)));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    private static List<CardStatusChange> expired(long firstId, int count) {
+        return LongStream.range(firstId, firstId + count)
+                .mapToObj(id -> new CardStatusChange(id, id % 10, CardStatus.ACTIVE))
+                .toList();
+    }
+}
@@ -0,0 +1,83 @@
+package com.bank.card.job;
+
+import com.bank.card.config.CardEncryptionService;
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.mapper.CardMapper;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.security.jwt.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JitWarmupRunner Tests")
+class JitWarmupRunnerTest {
+
+    private static final int ITERATIONS = 5;
+    private static final int DB_ITERATIONS = 2;
+
+    @Mock private JwtService jwtService;
+    @Mock private CardEncryptionService encryptionService;
+    @Mock private CardMapper cardMapper;
+    @Mock private CardRepository cardRepository;
+    @Mock private UserRepository userRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JitWarmupRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        when(encryptionService.encrypt(anyString())).thenReturn("encrypted");
+        when(encryptionService.mask(anyString())).thenReturn("**** **** **** 1111");
+        when(cardMapper.toCardResponse(any())).thenReturn(CardResponse.builder().id(-1L).build());
+        runner = new JitWarmupRunner(jwtService, encryptionService, cardMapper,
+                new ObjectMapper().findAndRegisterModules(), cardRepository, userRepository,
+                meterRegistry, ITERATIONS, DB_ITERATIONS);
+    }
+
+    @Test
+    @DisplayName("Should run every phase the configured number of times and time each one")
+    void shouldRunEveryPhase() {
+        when(jwtService.generateToken(any(UserDetails.class))).thenReturn("token");
+
+        runner.run(new DefaultApplicationArguments());
+
+        verify(jwtService, times(ITERATIONS)).isTokenValid(eq("token"), any());
+        verify(encryptionService, times(ITERATIONS)).decrypt("encrypted");
+        verify(cardMapper, times(ITERATIONS)).toUserResponse(any());
+        verify(userRepository, times(DB_ITERATIONS)).findByUsername("warmup");
+        verify(cardRepository, times(DB_ITERATIONS)).findAllCardResponses(any());
+        for (String phase : new String[] {"jwt", "encryption", "mapper", "json", "db", "total"}) {
+            assertThat(meterRegistry.get("card.warmup").tag("phase", phase).timer().count())
+                    .as(phase).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip a failing phase without failing startup")
+    void shouldSkipFailingPhase() {
+        when(userRepository.findByUsername("warmup")).thenThrow(new IllegalStateException("connection refused"));
+
+        Map<JitWarmupRunner.Phase, Long> phaseNanos = runner.warmUp();
+
+        assertThat(phaseNanos).doesNotContainKey(JitWarmupRunner.Phase.DB)
+                .containsKeys(JitWarmupRunner.Phase.JWT, JitWarmupRunner.Phase.JSON);
+        verify(userRepository, times(1)).findByUsername("warmup");
+        verifyNoInteractions(cardRepository);
+    }
+}
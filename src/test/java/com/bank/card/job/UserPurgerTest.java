@@ -0,0 +1,68 @@
+package com.bank.card.job;
+
+import com.bank.card.cache.CardCacheInvalidator;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserPurger Tests")
+class UserPurgerTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock private UserRepository userRepository;
+    @Mock private CardRepository cardRepository;
+    @Mock private CardCacheInvalidator cardCacheInvalidator;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private UserPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        purger = new UserPurger(userRepository, cardRepository, cardCacheInvalidator, transactionManager, BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should delete cards chunk by chunk, each in its own transaction, then the user")
+    void shouldPurgeInChunks() {
+        when(cardRepository.findIdsByOwnerId(1L, PageRequest.of(0, BATCH_SIZE)))
+                .thenReturn(List.of(10L, 11L), List.of(12L, 13L), List.of(14L));
+
+        long deleted = purger.purge(1L);
+
+        assertThat(deleted).isEqualTo(5);
+        InOrder inOrder = inOrder(cardRepository, cardCacheInvalidator, userRepository);
+        inOrder.verify(cardRepository).deleteAllByIdInBatch(List.of(10L, 11L));
+        inOrder.verify(cardCacheInvalidator).evictAfterCommit(List.of(10L, 11L));
+        inOrder.verify(cardRepository).deleteAllByIdInBatch(List.of(12L, 13L));
+        inOrder.verify(cardRepository).deleteAllByIdInBatch(List.of(14L));
+        inOrder.verify(userRepository).deleteByIdInBulk(1L);
+        // three card chunks plus the user row
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should delete just the user when there are no cards")
+    void shouldPurgeUserWithoutCards() {
+        when(cardRepository.findIdsByOwnerId(1L, PageRequest.of(0, BATCH_SIZE))).thenReturn(List.of());
+
+        assertThat(purger.purge(1L)).isZero();
+        verify(cardRepository, never()).deleteAllByIdInBatch(any());
+        verify(userRepository).deleteByIdInBulk(1L);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bank.card.observability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ServerTiming Tests")
+class ServerTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.end();
+    }
+
+    @Nested
+    @DisplayName("Header value")
+    class HeaderValueTests {
+
+        @Test
+        @DisplayName("Should list recorded phases in milliseconds, then the elapsed app time")
+        void shouldListRecordedPhases() {
+            ServerTiming timing = ServerTiming.begin();
+            ServerTiming.record(ServerTiming.Phase.JWT, TimeUnit.MICROSECONDS.toNanos(420));
+            ServerTiming.record(ServerTiming.Phase.DB, TimeUnit.MILLISECONDS.toNanos(2));
+            ServerTiming.record(ServerTiming.Phase.DB, TimeUnit.MILLISECONDS.toNanos(1));
+
+            assertThat(timing.toHeaderValue(null))
+                    .startsWith("jwt;dur=0.42, db;dur=3.00, app;dur=")
+                    .doesNotContain("user;", "enc;", "ser;");
+        }
+
+        @Test
+        @DisplayName("Should describe DB time with the request's statement count")
+        void shouldIncludeStatementCount() {
+            ServerTiming timing = ServerTiming.begin();
+            SqlStatementStats sqlStats = SqlStatementStats.begin("GET /api/v1/cards");
+            try {
+                sqlStats.record(1);
+                sqlStats.record(1);
+                ServerTiming.record(ServerTiming.Phase.DB, TimeUnit.MILLISECONDS.toNanos(2));
+
+                assertThat(timing.toHeaderValue(sqlStats)).contains("db;dur=2.00;desc=\"2 statements\"");
+            } finally {
+                SqlStatementStats.end();
+            }
+        }
+
+        @Test
+        @DisplayName("Should ignore recordings outside a request")
+        void shouldIgnoreRecordingOutsideRequest() {
+            assertThatCode(() -> ServerTiming.recordSince(ServerTiming.Phase.ENCRYPTION, System.nanoTime()))
+                    .doesNotThrowAnyException();
+            assertThat(ServerTiming.current()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("ServerTimingFilter")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should add the header to a bodiless response and close the timing")
+        void shouldAddHeaderToBodilessResponse() throws Exception {
+            ServerTimingFilter filter = new ServerTimingFilter(true, Duration.ofSeconds(1));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/cards/1"), response,
+                    (req, res) -> ServerTiming.record(ServerTiming.Phase.USER_LOOKUP, TimeUnit.MILLISECONDS.toNanos(1)));
+
+            assertThat(response.getHeader(ServerTimingFilter.HEADER)).startsWith("user;dur=1.00, app;dur=");
+            assertThat(ServerTiming.current()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should leave the response alone when the header is disabled")
+        void shouldSkipHeaderWhenDisabled() throws Exception {
+            ServerTimingFilter filter = new ServerTimingFilter(false, Duration.ofSeconds(1));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/cards/1"), response, (req, res) -> { });
+
+            assertThat(response.getHeader(ServerTimingFilter.HEADER)).isNull();
+        }
+    }
+}
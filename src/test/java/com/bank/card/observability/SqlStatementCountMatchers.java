@@ -0,0 +1,31 @@
+package com.bank.card.observability;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * MockMvc matchers over the {@value SqlStatementCountHeaderAdvice#HEADER} header, which the
+ * {@code test} profile turns on. A budget that holds for a page of several owners fails as soon
+ * as the listing starts issuing one query per row.
+ */
+public final class SqlStatementCountMatchers {
+
+    private SqlStatementCountMatchers() {
+    }
+
+    public static ResultMatcher atMostStatements(int max) {
+        return result -> {
+            MockHttpServletRequest request = result.getRequest();
+            String header = result.getResponse().getHeader(SqlStatementCountHeaderAdvice.HEADER);
+            assertThat(header)
+                    .as("%s header on %s %s", SqlStatementCountHeaderAdvice.HEADER,
+                            request.getMethod(), request.getRequestURI())
+                    .isNotNull();
+            assertThat(Integer.parseInt(header))
+                    .as("SQL statements for %s %s", request.getMethod(), request.getRequestURI())
+                    .isLessThanOrEqualTo(max);
+        };
+    }
+}
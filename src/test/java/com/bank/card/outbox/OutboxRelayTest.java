@@ -0,0 +1,161 @@
+package com.bank.card.outbox;
+
+import com.bank.card.dto.request.TransferRequest;
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.OutboxEvent;
+import com.bank.card.entity.OutboxEventType;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.exception.InsufficientFundsException;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.OutboxEventRepository;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.service.CardService;
+import com.bank.card.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Service writes through the outbox to the in-memory sink, against H2. A batch
+ * size of 2 makes the relay drain several batches.
+ */
+@SpringBootTest(properties = "card.outbox.batch-size=2")
+@ActiveProfiles("test")
+@DisplayName("Outbox Relay Tests")
+class OutboxRelayTest {
+
+    @Autowired private OutboxRelay relay;
+    @Autowired private InMemoryOutboxSink sink;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private CardService cardService;
+    @Autowired private TransferService transferService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private Card first;
+    private Card second;
+
+    @BeforeEach
+    void setUp() {
+        sink.clear();
+        owner = userRepository.save(User.builder()
+                .username("outbox-owner")
+                .email("outbox-owner@example.com")
+                .password("{noop}secret")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+        first = cardRepository.save(card("1111"));
+        second = cardRepository.save(card("2222"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAllInBatch();
+        cardRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should deliver committed events in order per card and delete them")
+    void shouldRelayInOrderPerCard() {
+        transferService.transfer(transfer(first, second, "40.00"), owner);
+        cardService.requestBlock(second.getId(), owner);
+        cardService.setCardStatus(second.getId(), CardStatus.ACTIVE);
+
+        assertThat(relay.relayPending()).isEqualTo(4);
+
+        assertThat(sink.messagesForCard(first.getId())).extracting(OutboxMessage::type)
+                .containsExactly(OutboxEventType.TRANSFER_DEBITED);
+        assertThat(sink.messagesForCard(second.getId())).extracting(OutboxMessage::type)
+                .containsExactly(OutboxEventType.TRANSFER_CREDITED,
+                        OutboxEventType.CARD_BLOCK_REQUESTED,
+                        OutboxEventType.CARD_STATUS_CHANGED);
+        assertThat(sink.messagesForCard(second.getId()).get(0).payload())
+                .contains("\"amount\":40.00", "\"balance\":140.00");
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not record events of a rolled-back transfer")
+    void shouldNotRecordRolledBackTransfer() {
+        assertThatThrownBy(() -> transferService.transfer(transfer(first, second, "5000.00"), owner))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(relay.relayPending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip a card whose oldest event another relay holds, including its later events")
+    void shouldSkipCardLockedByAnotherRelay() throws Exception {
+        transferService.transfer(transfer(first, second, "10.00"), owner);
+        cardService.requestBlock(first.getId(), owner);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate otherRelay = new TransactionTemplate(transactionManager);
+        CompletableFuture<List<Long>> held = CompletableFuture.supplyAsync(() -> otherRelay.execute(status -> {
+            List<Long> cardIds = outboxEventRepository.lockOldestPerCard(1).stream()
+                    .map(OutboxEvent::getCardId).toList();
+            locked.countDown();
+            await(release);
+            return cardIds;
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        relay.relayPending();
+        release.countDown();
+
+        assertThat(held.get(10, TimeUnit.SECONDS)).containsExactly(first.getId());
+        assertThat(sink.messages()).extracting(OutboxMessage::cardId).containsOnly(second.getId());
+        assertThat(outboxEventRepository.count()).isEqualTo(2);
+    }
+
+    private Card card(String lastDigits) {
+        return Card.builder()
+                .encryptedCardNumber("enc-" + lastDigits)
+                .maskedCardNumber("**** **** **** " + lastDigits)
+                .owner(owner)
+                .cardholderName("Outbox Owner")
+                .expiryDate(LocalDate.now().plusYears(2))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .build();
+    }
+
+    private static TransferRequest transfer(Card from, Card to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromCardId(from.getId());
+        request.setToCardId(to.getId());
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.bank.card.reconciliation;
+
+import com.bank.card.dto.request.TransferRequest;
+import com.bank.card.dto.response.ReconciliationReportResponse;
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.LedgerEntryRepository;
+import com.bank.card.repository.OutboxEventRepository;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.security.jwt.JwtService;
+import com.bank.card.service.TransferService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * A range size of 1 gives every card its own range and transaction.
+ */
+@SpringBootTest(properties = {
+        "card.reconciliation.range-size=1",
+        "card.reconciliation.ranges-per-second=1000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Balance Reconciler Tests")
+class BalanceReconcilerTest {
+
+    @Autowired private BalanceReconciler reconciler;
+    @Autowired private TransferService transferService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private JwtService jwtService;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private MockMvc mockMvc;
+
+    private User owner;
+    private Card first;
+    private Card second;
+    private Card quiet;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("reconcile-owner", Role.USER));
+        first = cardRepository.save(card("1111"));
+        second = cardRepository.save(card("2222"));
+        quiet = cardRepository.save(card("3333"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM card_balance_snapshots");
+        ledgerEntryRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+        cardRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should report a balance changed outside the ledger, through the report, endpoint and gauge")
+    void shouldReportDrift() throws Exception {
+        transferService.transfer(transfer(first, second, "40.00"), owner);
+        transferService.transfer(transfer(second, first, "15.00"), owner);
+
+        ReconciliationReportResponse clean = reconciler.reconcile();
+        assertThat(clean.getMismatchCount()).isZero();
+        assertThat(clean.getCardsChecked()).isEqualTo(2);
+        assertThat(clean.getCardsUnverified()).isEqualTo(1);
+        assertThat(clean.getSnapshotMonth()).isNull();
+
+        jdbcTemplate.update("UPDATE cards SET balance = balance + 1 WHERE id = ?", second.getId());
+        ReconciliationReportResponse drifted = reconciler.reconcile();
+
+        assertThat(drifted.getMismatchCount()).isEqualTo(1);
+        assertThat(drifted.getMismatches()).singleElement().satisfies(m -> {
+            assertThat(m.getCardId()).isEqualTo(second.getId());
+            assertThat(m.getExpectedBalance()).isEqualByComparingTo("125.00");
+            assertThat(m.getActualBalance()).isEqualByComparingTo("126.00");
+        });
+        assertThat(meterRegistry.get("card.reconciliation.mismatches").gauge().value()).isEqualTo(1.0);
+
+        User admin = userRepository.save(user("reconcile-admin", Role.ADMIN));
+        mockMvc.perform(get("/api/v1/admin/reconciliation")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mismatchCount").value(1))
+                .andExpect(jsonPath("$.mismatches[0].cardId").value(second.getId()));
+    }
+
+    @Test
+    @DisplayName("Should start from the last completed month's snapshot and add the entries since")
+    void shouldStartFromSnapshot() {
+        LocalDate previousMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).minusMonths(1);
+        snapshot(first, previousMonth, "100.00");
+        snapshot(second, previousMonth, "90.00");
+        transferService.transfer(transfer(first, second, "40.00"), owner);
+
+        ReconciliationReportResponse report = reconciler.reconcile();
+
+        assertThat(report.getSnapshotMonth()).isEqualTo(previousMonth);
+        assertThat(report.getCardsChecked()).isEqualTo(2);
+        assertThat(report.getMismatches()).singleElement().satisfies(m -> {
+            assertThat(m.getCardId()).isEqualTo(second.getId());
+            assertThat(m.getExpectedBalance()).isEqualByComparingTo("130.00");
+            assertThat(m.getActualBalance()).isEqualByComparingTo("140.00");
+        });
+    }
+
+    private void snapshot(Card card, LocalDate monthStart, String closingBalance) {
+        jdbcTemplate.update("INSERT INTO card_balance_snapshots (card_id, month_start, closing_balance, entry_count)"
+                + " VALUES (?, ?, ?, 0)", card.getId(), Date.valueOf(monthStart), new BigDecimal(closingBalance));
+    }
+
+    private Card card(String lastDigits) {
+        return Card.builder()
+                .encryptedCardNumber("enc-" + lastDigits)
+                .maskedCardNumber("**** **** **** " + lastDigits)
+                .owner(owner)
+                .cardholderName("Reconcile Owner")
+                .expiryDate(LocalDate.now().plusYears(2))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .build();
+    }
+
+    private static TransferRequest transfer(Card from, Card to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromCardId(from.getId());
+        request.setToCardId(to.getId());
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private static User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("{noop}secret")
+                .role(role)
+                .enabled(true)
+                .build();
+    }
+}
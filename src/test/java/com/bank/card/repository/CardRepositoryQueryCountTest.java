@@ -0,0 +1,147 @@
+package com.bank.card.repository;
+
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("CardRepository Query Count Tests")
+class CardRepositoryQueryCountTest {
+
+    private static final int OWNERS = 5;
+    private static final int CARDS_PER_OWNER = 4;
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private CardRepository cardRepository;
+
+    private Statistics statistics;
+    private User firstOwner;
+
+    @BeforeEach
+    void setUp() {
+        for (int u = 0; u < OWNERS; u++) {
+            User owner = entityManager.persist(User.builder()
+                    .username("owner" + u)
+                    .email("owner" + u + "@bank.com")
+                    .password("secret")
+                    .role(Role.USER)
+                    .enabled(true)
+                    .build());
+            if (firstOwner == null) firstOwner = owner;
+
+            for (int c = 0; c < CARDS_PER_OWNER; c++) {
+                entityManager.persist(Card.builder()
+                        .encryptedCardNumber("enc-" + u + "-" + c)
+                        .maskedCardNumber("**** **** **** 000" + c)
+                        .owner(owner)
+                        .cardholderName("Owner " + u)
+                        .expiryDate(LocalDate.now().plusYears(2))
+                        .status(c % 2 == 0 ? CardStatus.ACTIVE : CardStatus.BLOCKED)
+                        .balance(new BigDecimal("100.00"))
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Admin listing costs the same number of statements for any page size")
+    void allCardsPageIsConstant() {
+        Page<CardResponse> small = cardRepository.findAllCardResponses(
+                PageRequest.of(0, 2, Sort.by("createdAt").descending()));
+        long smallPageStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        Page<CardResponse> large = cardRepository.findAllCardResponses(
+                PageRequest.of(0, 15, Sort.by("createdAt").descending()));
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertThat(small.getContent()).hasSize(2);
+        assertThat(large.getContent()).hasSize(15);
+        assertThat(large.getContent()).allSatisfy(card -> {
+            assertThat(card.getOwnerId()).isNotNull();
+            assertThat(card.getOwnerUsername()).startsWith("owner");
+        });
+        // one SELECT for the page plus one COUNT, regardless of how many owners it spans
+        assertThat(smallPageStatements).isEqualTo(2);
+        assertThat(largePageStatements).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Status-filtered admin listing does not load owners per row")
+    void filteredPageIsConstant() {
+        Page<CardResponse> page = cardRepository.findAllCardResponsesByStatus(
+                CardStatus.ACTIVE, PageRequest.of(0, 5));
+
+        assertThat(page.getContent()).hasSize(5)
+                .allSatisfy(card -> assertThat(card.getStatus()).isEqualTo(CardStatus.ACTIVE));
+        assertThat(page.getTotalElements()).isEqualTo(OWNERS * CARDS_PER_OWNER / 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Owner listing reads the owner columns from the join")
+    void ownerPageIsSingleStatement() {
+        Page<CardResponse> page = cardRepository.findCardResponsesByOwnerId(
+                firstOwner.getId(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).hasSize(CARDS_PER_OWNER)
+                .allSatisfy(card -> assertThat(card.getOwnerUsername()).isEqualTo("owner0"));
+        // the page is smaller than the page size, so Spring Data skips the COUNT
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("ETag versions for a page come from one narrow SELECT")
+    void ownerVersionsAreSingleStatement() {
+        Page<CardRepository.CardVersion> versions = cardRepository.findCardVersionsByOwnerIdAndStatus(
+                firstOwner.getId(), CardStatus.ACTIVE, PageRequest.of(0, 10, Sort.by("createdAt").descending()));
+
+        assertThat(versions.getContent()).hasSize(CARDS_PER_OWNER / 2)
+                .allSatisfy(version -> assertThat(version.getUpdatedAt()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Single card lookup fetches the owner in the same statement")
+    void findByIdFetchesOwner() {
+        Long cardId = cardRepository.findCardResponsesByOwnerId(firstOwner.getId(), PageRequest.of(0, 1))
+                .getContent().get(0).getId();
+        statistics.clear();
+
+        Card card = cardRepository.findById(cardId).orElseThrow();
+
+        assertThat(card.getOwner().getUsername()).isEqualTo("owner0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
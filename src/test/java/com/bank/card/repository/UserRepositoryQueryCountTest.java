@@ -0,0 +1,107 @@
+package com.bank.card.repository;
+
+import com.bank.card.dto.response.UserResponse;
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.repository.CardRepository.OwnerCardCount;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("UserRepository Query Count Tests")
+class UserRepositoryQueryCountTest {
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CardRepository cardRepository;
+
+    private Statistics statistics;
+    private User withCards;
+    private User withoutCards;
+
+    @BeforeEach
+    void setUp() {
+        withCards = persistUser("alice");
+        withoutCards = persistUser("bob");
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(Card.builder()
+                    .encryptedCardNumber("enc-" + i)
+                    .maskedCardNumber("**** **** **** 000" + i)
+                    .owner(withCards)
+                    .cardholderName("Alice")
+                    .expiryDate(LocalDate.now().plusYears(1))
+                    .status(CardStatus.ACTIVE)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Profile with card count is a single statement")
+    void userResponseByIdIsOneQuery() {
+        UserResponse response = userRepository.findUserResponseById(withCards.getId()).orElseThrow();
+
+        assertThat(response.getUsername()).isEqualTo("alice");
+        assertThat(response.getCardCount()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Card counts for a page of users are one grouped statement")
+    void countsForPageAreOneQuery() {
+        List<OwnerCardCount> counts = cardRepository.countByOwnerIds(
+                List.of(withCards.getId(), withoutCards.getId()));
+        Map<Long, Long> byOwner = counts.stream()
+                .collect(Collectors.toMap(OwnerCardCount::getOwnerId, OwnerCardCount::getCardCount));
+
+        assertThat(byOwner).containsExactly(Map.entry(withCards.getId(), 3L));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deleting a user is one statement and the database cascades to the cards")
+    void deleteUserCascadesInDatabase() {
+        int deleted = userRepository.deleteByIdInBulk(withCards.getId());
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(cardRepository.countByOwnerId(withCards.getId())).isZero();
+    }
+
+    private User persistUser(String username) {
+        return entityManager.persist(User.builder()
+                .username(username)
+                .email(username + "@bank.com")
+                .password("secret")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+    }
+}
@@ -8,6 +8,7 @@ import com.bank.card.exception.ConflictException;
 import com.bank.card.repository.UserRepository;
 import com.bank.card.security.jwt.JwtService;
 import com.bank.card.service.impl.AuthService;
+import com.bank.card.shard.Shards;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -36,6 +38,7 @@ class AuthServiceTest {
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private JwtService jwtService;
     @Mock private AuthenticationManager authenticationManager;
+    @Spy private Shards shards = new Shards(1);
 
     @InjectMocks
     private AuthService authService;
@@ -0,0 +1,312 @@
+package com.bank.card.service;
+
+import com.bank.card.cache.CardCacheInvalidator;
+import com.bank.card.config.CardEncryptionService;
+import com.bank.card.dto.request.BulkCardStatusRequest;
+import com.bank.card.dto.request.CardCreateRequest;
+import com.bank.card.dto.response.BulkCardIssueResponse;
+import com.bank.card.dto.response.BulkCardStatusResponse;
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.OutboxEventType;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.exception.CardOperationException;
+import com.bank.card.outbox.CardStatusChangedEvent;
+import com.bank.card.outbox.OutboxEventPublisher;
+import com.bank.card.repository.CardFilter;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.CardStatusChange;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.service.impl.BulkCardServiceImpl;
+import com.bank.card.shard.Shards;
+import com.bank.card.stream.CardChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkCardService Tests")
+class BulkCardServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock private UserRepository userRepository;
+    @Mock private CardRepository cardRepository;
+    @Mock private CardEncryptionService encryptionService;
+    @Mock private EntityManager entityManager;
+    @Mock private CardCacheInvalidator cardCacheInvalidator;
+    @Mock private OutboxEventPublisher outboxEventPublisher;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ValidatorFactory validatorFactory;
+    private BulkCardServiceImpl bulkCardService;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        bulkCardService = new BulkCardServiceImpl(userRepository, cardRepository, encryptionService,
+                validatorFactory.getValidator(), entityManager, cardCacheInvalidator, outboxEventPublisher,
+                eventPublisher, new Shards(1), transactionManager, 100, BATCH_SIZE);
+
+        owner = User.builder().id(1L).username("corp").role(Role.USER).enabled(true).build();
+
+        AtomicLong ids = new AtomicLong(100);
+        lenient().doAnswer(invocation -> {
+            invocation.<Card>getArgument(0).setId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Card.class));
+        lenient().when(encryptionService.encrypt(anyString())).thenAnswer(i -> "enc-" + i.getArgument(0));
+        lenient().when(encryptionService.mask(anyString()))
+                .thenAnswer(i -> "**** **** **** " + i.<String>getArgument(0).substring(12));
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    private CardCreateRequest request(String cardNumber, Long ownerId) {
+        CardCreateRequest request = new CardCreateRequest();
+        request.setCardNumber(cardNumber);
+        request.setOwnerId(ownerId);
+        request.setCardholderName("Corp Employee");
+        request.setExpiryDate(LocalDate.now().plusYears(3));
+        request.setInitialBalance(new BigDecimal("10.00"));
+        return request;
+    }
+
+    @Nested
+    @DisplayName("JSON rows")
+    class JsonTests {
+
+        @Test
+        @DisplayName("Should issue all valid rows and resolve owners with one lookup")
+        void shouldIssueValidRows() {
+            when(userRepository.findAllById(anyCollection())).thenReturn(List.of(owner));
+            List<CardCreateRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                requests.add(request("400000000000000" + i, 1L));
+            }
+
+            BulkCardIssueResponse response = bulkCardService.issueCards(requests);
+
+            assertThat(response.getTotal()).isEqualTo(5);
+            assertThat(response.getCreated()).isEqualTo(5);
+            assertThat(response.getFailed()).isZero();
+            assertThat(response.getResults()).extracting(BulkCardIssueResponse.Row::getRow)
+                    .containsExactly(1, 2, 3, 4, 5);
+            assertThat(response.getResults()).extracting(BulkCardIssueResponse.Row::getMaskedCardNumber)
+                    .containsExactly("**** **** **** 0000", "**** **** **** 0001", "**** **** **** 0002",
+                            "**** **** **** 0003", "**** **** **** 0004");
+            assertThat(response.getResults()).allSatisfy(row -> assertThat(row.getCardId()).isNotNull());
+            verify(userRepository, times(1)).findAllById(anyCollection());
+            verify(entityManager, times(5)).persist(any(Card.class));
+            // flushed per full batch of 2, plus the remainder
+            verify(entityManager, times(3)).flush();
+            verify(entityManager, times(2)).clear();
+        }
+
+        @Test
+        @DisplayName("Should report invalid rows and unknown owners without stopping the others")
+        void shouldReportFailedRows() {
+            when(userRepository.findAllById(anyCollection())).thenReturn(List.of(owner));
+
+            BulkCardIssueResponse response = bulkCardService.issueCards(List.of(
+                    request("4000000000000001", 1L),
+                    request("12", 1L),
+                    request("4000000000000003", 42L)));
+
+            assertThat(response.getCreated()).isEqualTo(1);
+            assertThat(response.getFailed()).isEqualTo(2);
+            assertThat(response.getResults().get(0).isCreated()).isTrue();
+            assertThat(response.getResults().get(1).getError()).contains("cardNumber");
+            assertThat(response.getResults().get(2).getError()).contains("User not found with id: 42");
+            verify(entityManager, times(1)).persist(any(Card.class));
+        }
+
+        @Test
+        @DisplayName("Should tell each owner's streams about their new cards only")
+        void shouldPublishIssuedCards() {
+            User other = User.builder().id(2L).username("other").role(Role.USER).enabled(true).build();
+            when(userRepository.findAllById(anyCollection())).thenReturn(List.of(owner, other));
+
+            BulkCardIssueResponse response = bulkCardService.issueCards(List.of(
+                    request("4000000000000001", 2L),
+                    request("4000000000000002", 1L),
+                    request("12", 1L),
+                    request("4000000000000004", 2L)));
+
+            List<Long> ids = response.getResults().stream().map(BulkCardIssueResponse.Row::getCardId).toList();
+            verify(eventPublisher).publishEvent(new CardChangedEvent(1L, List.of(ids.get(1))));
+            verify(eventPublisher).publishEvent(new CardChangedEvent(2L, List.of(ids.get(0), ids.get(3))));
+            verifyNoMoreInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should reject requests above the row limit")
+        void shouldRejectTooManyRows() {
+            List<CardCreateRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 101; i++) {
+                requests.add(request("4000000000000000", 1L));
+            }
+
+            assertThatThrownBy(() -> bulkCardService.issueCards(requests))
+                    .isInstanceOf(CardOperationException.class)
+                    .hasMessageContaining("100");
+            verifyNoInteractions(entityManager);
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV upload")
+    class CsvTests {
+
+        private InputStream csv(String content) {
+            return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("Should map columns by header name and unquote fields")
+        void shouldParseCsv() throws Exception {
+            when(userRepository.findAllById(anyCollection())).thenReturn(List.of(owner));
+            String expiry = LocalDate.now().plusYears(2).toString();
+
+            BulkCardIssueResponse response = bulkCardService.issueCardsFromCsv(csv(
+                    "ownerId,cardNumber,cardholderName,expiryDate\n"
+                            + "1,4000000000000001,\"Doe, \"\"JD\"\" John\"," + expiry + "\n"
+                            + "\n"
+                            + "1,4000000000000002,Jane Doe,not-a-date\n"));
+
+            assertThat(response.getTotal()).isEqualTo(2);
+            assertThat(response.getCreated()).isEqualTo(1);
+            assertThat(response.getResults().get(1).getError()).contains("expiryDate");
+            verify(entityManager).persist(argThat((Card card) ->
+                    card.getCardholderName().equals("Doe, \"JD\" John")));
+        }
+
+        @Test
+        @DisplayName("Should reject an upload without the required columns")
+        void shouldRejectMissingHeader() {
+            assertThatThrownBy(() -> bulkCardService.issueCardsFromCsv(csv("cardNumber,ownerId\n1,2\n")))
+                    .isInstanceOf(CardOperationException.class)
+                    .hasMessageContaining("header");
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk status change")
+    class StatusTests {
+
+        @Test
+        @DisplayName("Should update by filter in one statement and evict the changed cards")
+        void shouldUpdateByFilter() {
+            BulkCardStatusRequest request = new BulkCardStatusRequest();
+            request.setStatus(CardStatus.BLOCKED);
+            request.setOwnerId(7L);
+            when(cardRepository.updateStatusByFilter(eq(CardStatus.BLOCKED), any(CardFilter.class), any()))
+                    .thenReturn(List.of(
+                            new CardStatusChange(10L, 7L, CardStatus.ACTIVE),
+                            new CardStatusChange(11L, 7L, CardStatus.ACTIVE),
+                            new CardStatusChange(12L, 7L, CardStatus.EXPIRED)));
+
+            BulkCardStatusResponse response = bulkCardService.updateStatus(request);
+
+            assertThat(response.getUpdated()).isEqualTo(3);
+            assertThat(response.getStatus()).isEqualTo(CardStatus.BLOCKED);
+            verify(cardRepository).updateStatusByFilter(eq(CardStatus.BLOCKED),
+                    eq(new CardFilter(7L, null, null, null, null)), eq(LocalDate.now()));
+            verify(cardCacheInvalidator).evictAfterCommit(List.of(10L, 11L, 12L));
+            verify(cardRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should record a status change event for each changed card only")
+        void shouldPublishOutboxEvents() {
+            BulkCardStatusRequest request = new BulkCardStatusRequest();
+            request.setStatus(CardStatus.BLOCKED);
+            request.setCardIds(List.of(10L, 11L));
+            when(cardRepository.updateStatusByFilter(eq(CardStatus.BLOCKED), any(CardFilter.class), any()))
+                    .thenReturn(List.of(new CardStatusChange(10L, 7L, CardStatus.ACTIVE)));
+
+            bulkCardService.updateStatus(request);
+
+            verify(outboxEventPublisher).publishAll(OutboxEventType.CARD_STATUS_CHANGED, Map.of(
+                    10L, new CardStatusChangedEvent(10L, 7L, CardStatus.ACTIVE, CardStatus.BLOCKED)));
+        }
+
+        @Test
+        @DisplayName("Should tell each owner's streams about their changed cards")
+        void shouldPublishCardChanges() {
+            BulkCardStatusRequest request = new BulkCardStatusRequest();
+            request.setStatus(CardStatus.BLOCKED);
+            request.setLastFour("1234");
+            List<CardStatusChange> changes = new ArrayList<>();
+            changes.add(new CardStatusChange(1L, 8L, CardStatus.ACTIVE));
+            for (long id = 100; id < 100 + CardChangedEvent.MAX_CARD_IDS + 1; id++) {
+                changes.add(new CardStatusChange(id, 7L, CardStatus.ACTIVE));
+            }
+            when(cardRepository.updateStatusByFilter(eq(CardStatus.BLOCKED), any(CardFilter.class), any()))
+                    .thenReturn(changes);
+
+            bulkCardService.updateStatus(request);
+
+            verify(eventPublisher).publishEvent(new CardChangedEvent(8L, List.of(1L)));
+            verify(eventPublisher).publishEvent(new CardChangedEvent(7L,
+                    List.of(100L + CardChangedEvent.MAX_CARD_IDS)));
+            verify(eventPublisher, times(3)).publishEvent(any(CardChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should record no events when nothing matched")
+        void shouldNotPublishWhenNothingChanged() {
+            BulkCardStatusRequest request = new BulkCardStatusRequest();
+            request.setStatus(CardStatus.BLOCKED);
+            request.setOwnerId(7L);
+            when(cardRepository.updateStatusByFilter(eq(CardStatus.BLOCKED), any(CardFilter.class), any()))
+                    .thenReturn(List.of());
+
+            assertThat(bulkCardService.updateStatus(request).getUpdated()).isZero();
+            verifyNoInteractions(outboxEventPublisher, eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should refuse a status change without any filter")
+        void shouldRejectEmptyFilter() {
+            BulkCardStatusRequest request = new BulkCardStatusRequest();
+            request.setStatus(CardStatus.BLOCKED);
+            request.setCardIds(List.of());
+
+            assertThatThrownBy(() -> bulkCardService.updateStatus(request))
+                    .isInstanceOf(CardOperationException.class)
+                    .hasMessageContaining("filter");
+            verifyNoInteractions(cardRepository, cardCacheInvalidator, outboxEventPublisher);
+        }
+    }
+}
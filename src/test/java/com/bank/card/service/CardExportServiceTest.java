@@ -0,0 +1,141 @@
+package com.bank.card.service;
+
+import com.bank.card.dto.response.CardResponse;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.service.impl.CardExportServiceImpl;
+import com.bank.card.shard.Shards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CardExportService Tests")
+class CardExportServiceTest {
+
+    @Mock private CardRepository cardRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private CardExportServiceImpl exportService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new CardExportServiceImpl(cardRepository, objectMapper, new Shards(1), transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON document per line")
+    void shouldWriteNdjson() throws Exception {
+        when(cardRepository.streamAllCardResponses()).thenReturn(Stream.of(card(1L, "Alice"), card(2L, "Bob")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportCards(null, CardExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], CardResponse.class).getCardholderName()).isEqualTo("Bob");
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote free-text columns")
+    void shouldWriteCsv() throws Exception {
+        when(cardRepository.streamCardResponsesByStatus(CardStatus.ACTIVE))
+                .thenReturn(Stream.of(card(1L, "Doe, \"JD\" John")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportCards(CardStatus.ACTIVE, CardExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[0]).startsWith("id,maskedCardNumber,ownerId");
+        assertThat(lines[1]).startsWith("1,**** **** **** 1234,7,owner,\"Doe, \"\"JD\"\" John\",");
+        assertThat(lines[1]).contains(",ACTIVE,100.50,");
+    }
+
+    @Test
+    @DisplayName("Should write the spending limits as the last columns, empty when unset")
+    void shouldWriteLimits() throws Exception {
+        CardResponse limited = card(1L, "Alice");
+        limited.setDailyLimit(new BigDecimal("500.00"));
+        limited.setMonthlyLimit(new BigDecimal("5000.00"));
+        when(cardRepository.streamAllCardResponses()).thenReturn(Stream.of(limited, card(2L, "Bob")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportCards(null, CardExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[0]).endsWith(",createdAt,updatedAt,dailyLimit,monthlyLimit");
+        assertThat(lines[1]).endsWith(",500.00,5000.00");
+        assertThat(lines[2]).endsWith(",,");
+        assertThat(lines[2].split(",", -1)).hasSize(12);
+    }
+
+    @Test
+    @DisplayName("Should keep free-text values a spreadsheet would run as formulas as text")
+    void shouldNeutralizeFormulas() throws Exception {
+        CardResponse hyperlink = card(1L, "Alice");
+        hyperlink.setOwnerUsername("=HYPERLINK(\"http://evil.example\",\"open\")");
+        when(cardRepository.streamAllCardResponses()).thenReturn(Stream.of(
+                hyperlink, card(2L, "+1 555"), card(3L, "-2+3"), card(4L, "@SUM(A1)"), card(5L, "\tTab"),
+                card(6L, "Jane-Doe")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportCards(null, CardExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[1]).startsWith("1,**** **** **** 1234,7,\"'=HYPERLINK(\"\"http://evil.example\"\",\"\"open\"\")\",Alice,");
+        assertThat(lines[2]).contains(",owner,'+1 555,");
+        assertThat(lines[3]).contains(",owner,'-2+3,");
+        assertThat(lines[4]).contains(",owner,'@SUM(A1),");
+        assertThat(lines[5]).contains(",owner,'\tTab,");
+        assertThat(lines[6]).contains(",owner,Jane-Doe,");
+    }
+
+    @Test
+    @DisplayName("Should report the effective status of cards past their expiry date")
+    void shouldExportEffectiveStatus() throws Exception {
+        CardResponse expired = card(1L, "Alice");
+        expired.setExpiryDate(LocalDate.now().minusDays(1));
+        when(cardRepository.streamAllCardResponses()).thenReturn(Stream.of(expired));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportCards(null, CardExportService.Format.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains(",EXPIRED,");
+    }
+
+    private static CardResponse card(Long id, String holder) {
+        return CardResponse.builder()
+                .id(id)
+                .maskedCardNumber("**** **** **** 1234")
+                .ownerId(7L)
+                .ownerUsername("owner")
+                .cardholderName(holder)
+                .expiryDate(LocalDate.now().plusYears(1))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("100.50"))
+                .createdAt(OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC))
+                .build();
+    }
+}
@@ -1,19 +1,25 @@
 package com.bank.card.service;
 
+import com.bank.card.cache.CardCacheInvalidator;
+import com.bank.card.cache.CardResponseCache;
 import com.bank.card.config.CardEncryptionService;
 import com.bank.card.dto.request.CardCreateRequest;
 import com.bank.card.dto.response.CardResponse;
 import com.bank.card.dto.response.PageResponse;
 import com.bank.card.entity.Card;
 import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.OutboxEventType;
 import com.bank.card.entity.Role;
 import com.bank.card.entity.User;
 import com.bank.card.exception.CardOperationException;
 import com.bank.card.exception.ResourceNotFoundException;
 import com.bank.card.mapper.CardMapper;
+import com.bank.card.outbox.CardStatusChangedEvent;
+import com.bank.card.outbox.OutboxEventPublisher;
 import com.bank.card.repository.CardRepository;
 import com.bank.card.repository.UserRepository;
 import com.bank.card.service.impl.CardServiceImpl;
+import com.bank.card.stream.CardChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -21,10 +27,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -42,6 +51,10 @@ class CardServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private CardEncryptionService encryptionService;
     @Mock private CardMapper cardMapper;
+    @Mock private CardCacheInvalidator cardCacheInvalidator;
+    @Mock private OutboxEventPublisher outboxEventPublisher;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Spy private CardResponseCache cardCache = new CardResponseCache(true, 100, Duration.ofMinutes(1));
 
     @InjectMocks
     private CardServiceImpl cardService;
@@ -141,7 +154,11 @@ class CardServiceTest {
             when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
             when(encryptionService.encrypt(any())).thenReturn("enc");
             when(encryptionService.mask(any())).thenReturn("**** **** **** 3456");
-            when(cardRepository.save(any(Card.class))).thenAnswer(i -> i.getArgument(0));
+            when(cardRepository.save(any(Card.class))).thenAnswer(i -> {
+                Card card = i.getArgument(0);
+                card.setId(11L);
+                return card;
+            });
             when(cardMapper.toCardResponse(any())).thenReturn(activeCardResponse);
 
             cardService.createCard(createRequest);
@@ -168,6 +185,9 @@ class CardServiceTest {
             verify(cardRepository).save(argThat(card ->
                     card.getStatus() == CardStatus.BLOCKED
             ));
+            verify(cardCacheInvalidator).evictAfterCommit(List.of(10L));
+            verify(outboxEventPublisher).publish(OutboxEventType.CARD_STATUS_CHANGED, 10L,
+                    new CardStatusChangedEvent(10L, 1L, CardStatus.ACTIVE, CardStatus.BLOCKED));
         }
 
         @Test
@@ -201,9 +221,8 @@ class CardServiceTest {
         @Test
         @DisplayName("Should return paginated cards for current user")
         void shouldReturnMyCards() {
-            Page<Card> cardPage = new PageImpl<>(List.of(activeCard), PageRequest.of(0, 10), 1);
-            when(cardRepository.findByOwnerId(eq(1L), any(Pageable.class))).thenReturn(cardPage);
-            when(cardMapper.toCardResponse(activeCard)).thenReturn(activeCardResponse);
+            Page<CardResponse> cardPage = new PageImpl<>(List.of(activeCardResponse), PageRequest.of(0, 10), 1);
+            when(cardRepository.findCardResponsesByOwnerId(eq(1L), any(Pageable.class))).thenReturn(cardPage);
 
             PageResponse<CardResponse> result = cardService.getMyCards(testUser, null, PageRequest.of(0, 10));
 
@@ -215,15 +234,172 @@ class CardServiceTest {
         @Test
         @DisplayName("Should filter by status when provided")
         void shouldFilterByStatus() {
-            Page<Card> cardPage = new PageImpl<>(List.of(activeCard));
-            when(cardRepository.findByOwnerIdAndStatus(eq(1L), eq(CardStatus.ACTIVE), any()))
+            Page<CardResponse> cardPage = new PageImpl<>(List.of(activeCardResponse));
+            when(cardRepository.findCardResponsesByOwnerIdAndStatus(eq(1L), eq(CardStatus.ACTIVE), any()))
                     .thenReturn(cardPage);
-            when(cardMapper.toCardResponse(any())).thenReturn(activeCardResponse);
 
             cardService.getMyCards(testUser, CardStatus.ACTIVE, PageRequest.of(0, 10));
 
-            verify(cardRepository).findByOwnerIdAndStatus(eq(1L), eq(CardStatus.ACTIVE), any());
-            verify(cardRepository, never()).findByOwnerId(any(), any());
+            verify(cardRepository).findCardResponsesByOwnerIdAndStatus(eq(1L), eq(CardStatus.ACTIVE), any());
+            verify(cardRepository, never()).findCardResponsesByOwnerId(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should report ACTIVE cards past expiry as EXPIRED without writing")
+        void shouldReportEffectiveStatusWithoutWriting() {
+            activeCardResponse.setExpiryDate(LocalDate.now().minusDays(1));
+            Page<CardResponse> cardPage = new PageImpl<>(List.of(activeCardResponse));
+            when(cardRepository.findCardResponsesByOwnerId(eq(1L), any(Pageable.class))).thenReturn(cardPage);
+
+            PageResponse<CardResponse> result = cardService.getMyCards(testUser, null, PageRequest.of(0, 10));
+
+            assertThat(result.getContent().get(0).getStatus()).isEqualTo(CardStatus.EXPIRED);
+            verify(cardRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Card List ETag")
+    class CardListETagTests {
+
+        private final OffsetDateTime updatedAt = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+        @Test
+        @DisplayName("Should produce the same tag for unchanged rows")
+        void shouldBeStableForUnchangedRows() {
+            when(cardRepository.findCardVersionsByOwnerId(eq(1L), any(Pageable.class)))
+                    .thenReturn(versions(version(10L, updatedAt, LocalDate.now().plusYears(1))));
+
+            String first = cardService.getMyCardsETag(testUser, null, PageRequest.of(0, 10));
+            String second = cardService.getMyCardsETag(testUser, null, PageRequest.of(0, 10));
+
+            assertThat(first).isNotBlank().isEqualTo(second);
+            verify(cardRepository, never()).findCardResponsesByOwnerId(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should change the tag when a card on the page is updated")
+        void shouldChangeWhenUpdated() {
+            LocalDate expiry = LocalDate.now().plusYears(1);
+            when(cardRepository.findCardVersionsByOwnerId(eq(1L), any(Pageable.class)))
+                    .thenReturn(versions(version(10L, updatedAt, expiry)))
+                    .thenReturn(versions(version(10L, updatedAt.plusSeconds(1), expiry)));
+
+            String before = cardService.getMyCardsETag(testUser, null, PageRequest.of(0, 10));
+            String after = cardService.getMyCardsETag(testUser, null, PageRequest.of(0, 10));
+
+            assertThat(after).isNotEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("Should change the tag when a card passes its expiry date without being written")
+        void shouldChangeOnEffectiveExpiry() {
+            when(cardRepository.findCardVersionsByOwnerId(eq(1L), any(Pageable.class)))
+                    .thenReturn(versions(version(10L, updatedAt, LocalDate.now())))
+                    .thenReturn(versions(version(10L, updatedAt, LocalDate.now().minusDays(1))));
+
+            String before = cardService.getMyCardsETag(testUser, null, PageRequest.of(0, 10));
+            String after = cardService.getMyCardsETag(testUser, null, PageRequest.of(0, 10));
+
+            assertThat(after).isNotEqualTo(before);
+        }
+
+        private Page<CardRepository.CardVersion> versions(CardRepository.CardVersion... versions) {
+            return new PageImpl<>(List.of(versions), PageRequest.of(0, 10), versions.length);
+        }
+
+        private CardRepository.CardVersion version(Long id, OffsetDateTime updatedAt, LocalDate expiryDate) {
+            return new CardRepository.CardVersion() {
+                public Long getId() { return id; }
+                public OffsetDateTime getUpdatedAt() { return updatedAt; }
+                public CardStatus getStatus() { return CardStatus.ACTIVE; }
+                public LocalDate getExpiryDate() { return expiryDate; }
+            };
+        }
+    }
+
+    @Nested
+    @DisplayName("Get All Cards")
+    class GetAllCardsTests {
+
+        @Test
+        @DisplayName("Should read the admin listing through the CardResponse projection")
+        void shouldUseProjection() {
+            Page<CardResponse> page = new PageImpl<>(List.of(activeCardResponse), PageRequest.of(0, 10), 1);
+            when(cardRepository.findAllCardResponses(any(Pageable.class))).thenReturn(page);
+
+            PageResponse<CardResponse> result = cardService.getAllCards(null, PageRequest.of(0, 10));
+
+            assertThat(result.getContent()).containsExactly(activeCardResponse);
+            verify(cardRepository, never()).findAll(any(Pageable.class));
+            verifyNoInteractions(cardMapper);
+        }
+
+        @Test
+        @DisplayName("Should use the status-filtered projection when a status is given")
+        void shouldFilterByStatus() {
+            Page<CardResponse> page = new PageImpl<>(List.of(activeCardResponse));
+            when(cardRepository.findAllCardResponsesByStatus(eq(CardStatus.ACTIVE), any(Pageable.class)))
+                    .thenReturn(page);
+
+            cardService.getAllCards(CardStatus.ACTIVE, PageRequest.of(0, 10));
+
+            verify(cardRepository).findAllCardResponsesByStatus(eq(CardStatus.ACTIVE), any(Pageable.class));
+            verify(cardRepository, never()).findAllCardResponses(any());
+        }
+
+        @Test
+        @DisplayName("Should report ACTIVE cards past expiry as EXPIRED, like the owner's listing")
+        void shouldReportEffectiveStatus() {
+            activeCardResponse.setExpiryDate(LocalDate.now().minusDays(1));
+            when(cardRepository.findAllCardResponses(any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of(activeCardResponse)));
+
+            PageResponse<CardResponse> result = cardService.getAllCards(null, PageRequest.of(0, 10));
+
+            assertThat(result.getContent().get(0).getStatus()).isEqualTo(CardStatus.EXPIRED);
+            verify(cardRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Get My Card")
+    class GetMyCardTests {
+
+        @Test
+        @DisplayName("Should serve repeated reads from the cache")
+        void shouldCacheCardResponse() {
+            when(cardRepository.findById(10L)).thenReturn(Optional.of(activeCard));
+            when(cardMapper.toCardResponse(activeCard)).thenReturn(activeCardResponse);
+
+            CardResponse first = cardService.getMyCard(10L, testUser);
+            CardResponse second = cardService.getMyCard(10L, testUser);
+
+            assertThat(second).isEqualTo(first).isNotSameAs(first);
+            verify(cardRepository, times(1)).findById(10L);
+        }
+
+        @Test
+        @DisplayName("Should hide a cached card from users who do not own it")
+        void shouldCheckOwnerAgainstCachedEntry() {
+            User otherUser = User.builder().id(2L).username("other").role(Role.USER).build();
+            when(cardRepository.findById(10L)).thenReturn(Optional.of(activeCard));
+            when(cardMapper.toCardResponse(activeCard)).thenReturn(activeCardResponse);
+            cardService.getMyCard(10L, testUser);
+
+            assertThatThrownBy(() -> cardService.getMyCard(10L, otherUser))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("10");
+        }
+
+        @Test
+        @DisplayName("Should not cache a missing card")
+        void shouldNotCacheMissingCard() {
+            when(cardRepository.findById(99L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> cardService.getMyCard(99L, testUser))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            assertThat(cardCache.size()).isZero();
         }
     }
 
@@ -243,6 +419,10 @@ class CardServiceTest {
             verify(cardRepository).save(argThat(card ->
                     card.getStatus() == CardStatus.BLOCKED
             ));
+            verify(cardCacheInvalidator).evictAfterCommit(List.of(10L));
+            verify(outboxEventPublisher).publish(OutboxEventType.CARD_BLOCK_REQUESTED, 10L,
+                    new CardStatusChangedEvent(10L, 1L, CardStatus.ACTIVE, CardStatus.BLOCKED));
+            verify(eventPublisher).publishEvent(new CardChangedEvent(1L, List.of(10L)));
         }
 
         @Test
@@ -256,6 +436,20 @@ class CardServiceTest {
                     .hasMessageContaining("already blocked");
 
             verify(cardRepository, never()).save(any());
+            verifyNoInteractions(outboxEventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should treat an ACTIVE card past its expiry date as expired")
+        void shouldThrowIfPastExpiryDate() {
+            activeCard.setExpiryDate(LocalDate.now().minusDays(1));
+            when(cardRepository.findByIdAndOwnerId(10L, 1L)).thenReturn(Optional.of(activeCard));
+
+            assertThatThrownBy(() -> cardService.requestBlock(10L, testUser))
+                    .isInstanceOf(CardOperationException.class)
+                    .hasMessageContaining("expired");
+
+            verify(cardRepository, never()).save(any());
         }
 
         @Test
@@ -0,0 +1,128 @@
+package com.bank.card.service;
+
+import com.bank.card.dto.request.TransferRequest;
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.LedgerEntry;
+import com.bank.card.entity.LedgerEntryType;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.exception.InsufficientFundsException;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.CardSpendRepository;
+import com.bank.card.repository.LedgerEntryRepository;
+import com.bank.card.repository.OutboxEventRepository;
+import com.bank.card.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Transfer Concurrency Tests")
+class TransferConcurrencyTest {
+
+    private static final int TRANSFERS = 6;
+
+    @Autowired private TransferService transferService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private CardSpendRepository cardSpendRepository;
+    @Autowired private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+
+    private User owner;
+    private Card source;
+    private Card target;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("concurrent-owner")
+                .email("concurrent-owner@example.com")
+                .password("{noop}secret")
+                .role(Role.USER)
+                .enabled(true)
+                .build());
+        source = cardRepository.save(card("1111"));
+        target = cardRepository.save(card("2222"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardSpendRepository.deleteAllInBatch();
+        ledgerEntryRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+        cardRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should apply concurrent transfers from one card one after the other")
+    void shouldSerializeTransfersFromOneCard() {
+        TransferRequest request = new TransferRequest();
+        request.setFromCardId(source.getId());
+        request.setToCardId(target.getId());
+        request.setAmount(new BigDecimal("30.00"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(TRANSFERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> outcomes = new ArrayList<>();
+        try {
+            for (int i = 0; i < TRANSFERS; i++) {
+                outcomes.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                        transferService.transfer(request, owner);
+                        return true;
+                    } catch (InsufficientFundsException e) {
+                        return false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    }
+                }, executor));
+            }
+            start.countDown();
+            assertThat(outcomes.stream().map(CompletableFuture::join).filter(Boolean::booleanValue).count())
+                    .isEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cardRepository.findById(source.getId()).orElseThrow().getBalance()).isEqualByComparingTo("10.00");
+        assertThat(cardRepository.findById(target.getId()).orElseThrow().getBalance()).isEqualByComparingTo("190.00");
+        assertThat(ledgerEntryRepository.findAll().stream()
+                .filter(entry -> entry.getEntryType() == LedgerEntryType.DEBIT)
+                .map(LedgerEntry::getBalanceAfter))
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactlyInAnyOrder(new BigDecimal("70.00"), new BigDecimal("40.00"), new BigDecimal("10.00"));
+    }
+
+    private Card card(String lastDigits) {
+        return Card.builder()
+                .encryptedCardNumber("enc-" + lastDigits)
+                .maskedCardNumber("**** **** **** " + lastDigits)
+                .owner(owner)
+                .cardholderName("Concurrent Owner")
+                .expiryDate(LocalDate.now().plusYears(2))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .build();
+    }
+}
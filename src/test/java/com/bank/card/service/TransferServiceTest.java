@@ -1,27 +1,51 @@
 package com.bank.card.service;
 
+import com.bank.card.cache.CardCacheInvalidator;
 import com.bank.card.dto.request.TransferRequest;
 import com.bank.card.dto.response.TransferResponse;
 import com.bank.card.entity.Card;
 import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.LedgerEntry;
+import com.bank.card.entity.LedgerEntryType;
+import com.bank.card.entity.OutboxEventType;
 import com.bank.card.entity.Role;
 import com.bank.card.entity.User;
 import com.bank.card.exception.CardOperationException;
 import com.bank.card.exception.InsufficientFundsException;
 import com.bank.card.exception.ResourceNotFoundException;
+import com.bank.card.exception.SpendingLimitExceededException;
+import com.bank.card.exception.TransferDeniedException;
+import com.bank.card.fraud.FraudAssessment;
+import com.bank.card.fraud.FraudDecision;
+import com.bank.card.fraud.FraudEngine;
+import com.bank.card.fraud.RuleFinding;
+import com.bank.card.outbox.CardTransferEvent;
+import com.bank.card.outbox.OutboxEventPublisher;
+import com.bank.card.outbox.TransferFlaggedEvent;
 import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.LedgerEntryRepository;
 import com.bank.card.service.impl.TransferServiceImpl;
+import com.bank.card.spending.SpendingLimiter;
+import com.bank.card.stream.CardChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -33,6 +57,13 @@ import static org.mockito.Mockito.*;
 class TransferServiceTest {
 
     @Mock private CardRepository cardRepository;
+    @Mock private LedgerEntryRepository ledgerEntryRepository;
+    @Mock private SpendingLimiter spendingLimiter;
+    @Mock private FraudEngine fraudEngine;
+    @Mock private CardCacheInvalidator cardCacheInvalidator;
+    @Spy private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Mock private OutboxEventPublisher outboxEventPublisher;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private TransferServiceImpl transferService;
@@ -73,6 +104,8 @@ class TransferServiceTest {
         validRequest.setFromCardId(1L);
         validRequest.setToCardId(2L);
         validRequest.setAmount(new BigDecimal("200.00"));
+
+        lenient().when(fraudEngine.assess(any())).thenReturn(assessment(FraudDecision.ALLOW));
     }
 
     @Nested
@@ -82,8 +115,8 @@ class TransferServiceTest {
         @Test
         @DisplayName("Should transfer funds and update both balances correctly")
         void shouldTransferSuccessfully() {
-            when(cardRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(fromCard));
-            when(cardRepository.findByIdAndOwnerId(2L, 1L)).thenReturn(Optional.of(toCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.of(fromCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(2L, 1L)).thenReturn(Optional.of(toCard));
             when(cardRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
             TransferResponse response = transferService.transfer(validRequest, testUser);
@@ -96,14 +129,97 @@ class TransferServiceTest {
             assertThat(response.getMessage()).contains("successfully");
 
             verify(cardRepository, times(2)).save(any(Card.class));
+            verify(spendingLimiter).charge(fromCard, new BigDecimal("200.00"));
+            verify(cardCacheInvalidator).evictAfterCommit(List.of(1L, 2L));
+            verify(eventPublisher).publishEvent(new CardChangedEvent(1L, List.of(1L, 2L)));
+            assertThat(transferCount("success")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should count a success and record it for fraud scoring only once the transaction commits")
+        void shouldCountSuccessAfterCommit() {
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.of(fromCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(2L, 1L)).thenReturn(Optional.of(toCard));
+            when(cardRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                transferService.transfer(validRequest, testUser);
+                assertThat(transferCount("success")).isZero();
+                verify(fraudEngine, never()).record(any());
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(transferCount("success")).isEqualTo(1);
+            verify(fraudEngine).record(argThat(attempt -> attempt.fromCardId() == 1L && attempt.userId() == 1L));
+        }
+
+        @Test
+        @DisplayName("Should record a debit and a credit event sharing one transfer id")
+        void shouldPublishBothSidesOfTransfer() {
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.of(fromCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(2L, 1L)).thenReturn(Optional.of(toCard));
+            when(cardRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+            transferService.transfer(validRequest, testUser);
+
+            ArgumentCaptor<CardTransferEvent> debit = ArgumentCaptor.forClass(CardTransferEvent.class);
+            ArgumentCaptor<CardTransferEvent> credit = ArgumentCaptor.forClass(CardTransferEvent.class);
+            verify(outboxEventPublisher).publish(eq(OutboxEventType.TRANSFER_DEBITED), eq(1L), debit.capture());
+            verify(outboxEventPublisher).publish(eq(OutboxEventType.TRANSFER_CREDITED), eq(2L), credit.capture());
+            assertThat(debit.getValue().balance()).isEqualByComparingTo("800.00");
+            assertThat(credit.getValue().balance()).isEqualByComparingTo("700.00");
+            assertThat(credit.getValue().counterpartyCardId()).isEqualTo(1L);
+            assertThat(debit.getValue().transferId()).isEqualTo(credit.getValue().transferId());
+        }
+
+        @Test
+        @DisplayName("Should record signed ledger entries with the balances after the transfer")
+        @SuppressWarnings("unchecked")
+        void shouldRecordLedgerEntries() {
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.of(fromCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(2L, 1L)).thenReturn(Optional.of(toCard));
+            when(cardRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+            transferService.transfer(validRequest, testUser);
+
+            ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+            verify(ledgerEntryRepository).saveAll(entries.capture());
+            assertThat(entries.getValue())
+                    .extracting(LedgerEntry::getCardId, LedgerEntry::getEntryType, LedgerEntry::getCounterpartyCardId)
+                    .containsExactly(tuple(1L, LedgerEntryType.DEBIT, 2L), tuple(2L, LedgerEntryType.CREDIT, 1L));
+            assertThat(entries.getValue().get(0).getAmount()).isEqualByComparingTo("-200.00");
+            assertThat(entries.getValue().get(0).getBalanceAfter()).isEqualByComparingTo("800.00");
+            assertThat(entries.getValue().get(1).getAmount()).isEqualByComparingTo("200.00");
+            assertThat(entries.getValue().get(1).getBalanceAfter()).isEqualByComparingTo("700.00");
+            assertThat(entries.getValue().get(0).getTransferId()).isEqualTo(entries.getValue().get(1).getTransferId());
+        }
+
+        @Test
+        @DisplayName("Should complete a transfer sent to review and record a TRANSFER_FLAGGED event")
+        void shouldFlagTransferForReview() {
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.of(fromCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(2L, 1L)).thenReturn(Optional.of(toCard));
+            when(cardRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+            when(fraudEngine.assess(any())).thenReturn(assessment(FraudDecision.REVIEW));
+
+            TransferResponse response = transferService.transfer(validRequest, testUser);
+
+            assertThat(response.getFromCardNewBalance()).isEqualByComparingTo("800.00");
+            ArgumentCaptor<TransferFlaggedEvent> flagged = ArgumentCaptor.forClass(TransferFlaggedEvent.class);
+            verify(outboxEventPublisher).publish(eq(OutboxEventType.TRANSFER_FLAGGED), eq(1L), flagged.capture());
+            assertThat(flagged.getValue().reasons()).containsExactly("test: review");
+            assertThat(flagged.getValue().amount()).isEqualByComparingTo("200.00");
         }
 
         @Test
         @DisplayName("Should allow exact balance transfer (zero remaining)")
         void shouldAllowExactBalanceTransfer() {
             validRequest.setAmount(new BigDecimal("1000.00"));
-            when(cardRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(fromCard));
-            when(cardRepository.findByIdAndOwnerId(2L, 1L)).thenReturn(Optional.of(toCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.of(fromCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(2L, 1L)).thenReturn(Optional.of(toCard));
             when(cardRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
             TransferResponse response = transferService.transfer(validRequest, testUser);
@@ -125,41 +241,81 @@ class TransferServiceTest {
                     .isInstanceOf(CardOperationException.class)
                     .hasMessageContaining("different");
 
-            verify(cardRepository, never()).findByIdAndOwnerId(any(), any());
+            verify(cardRepository, never()).findByIdAndOwnerIdForUpdate(any(), any());
         }
 
         @Test
         @DisplayName("Should throw InsufficientFundsException when balance too low")
         void shouldThrowOnInsufficientFunds() {
             validRequest.setAmount(new BigDecimal("9999.00"));
-            when(cardRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(fromCard));
-            when(cardRepository.findByIdAndOwnerId(2L, 1L)).thenReturn(Optional.of(toCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.of(fromCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(2L, 1L)).thenReturn(Optional.of(toCard));
 
             assertThatThrownBy(() -> transferService.transfer(validRequest, testUser))
                     .isInstanceOf(InsufficientFundsException.class)
                     .hasMessageContaining("Insufficient funds");
 
             verify(cardRepository, never()).save(any());
+            verifyNoInteractions(outboxEventPublisher, ledgerEntryRepository, spendingLimiter);
+            assertThat(transferCount("insufficient_funds")).isEqualTo(1);
+            assertThat(transferCount("success")).isZero();
+        }
+
+        @Test
+        @DisplayName("Should throw SpendingLimitExceededException and move no money when over a limit")
+        void shouldThrowWhenLimitExceeded() {
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.of(fromCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(2L, 1L)).thenReturn(Optional.of(toCard));
+            doThrow(new SpendingLimitExceededException("Daily transfer limit of 100.00 exceeded"))
+                    .when(spendingLimiter).charge(fromCard, new BigDecimal("200.00"));
+
+            assertThatThrownBy(() -> transferService.transfer(validRequest, testUser))
+                    .isInstanceOf(SpendingLimitExceededException.class)
+                    .hasMessageContaining("Daily transfer limit");
+
+            assertThat(fromCard.getBalance()).isEqualByComparingTo("1000.00");
+            verify(cardRepository, never()).save(any());
+            verifyNoInteractions(outboxEventPublisher, ledgerEntryRepository);
+            assertThat(transferCount("limit_exceeded")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should throw TransferDeniedException before any limit or balance change when scoring denies")
+        void shouldThrowWhenFraudScoringDenies() {
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.of(fromCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(2L, 1L)).thenReturn(Optional.of(toCard));
+            when(fraudEngine.assess(any())).thenReturn(assessment(FraudDecision.DENY));
+
+            assertThatThrownBy(() -> transferService.transfer(validRequest, testUser))
+                    .isInstanceOf(TransferDeniedException.class)
+                    .hasMessageNotContaining("test");
+
+            verify(cardRepository, never()).save(any());
+            verifyNoInteractions(spendingLimiter, outboxEventPublisher, ledgerEntryRepository);
+            verify(fraudEngine, never()).record(any());
+            assertThat(transferCount("fraud_denied")).isEqualTo(1);
         }
 
         @Test
         @DisplayName("Should throw CardOperationException when source card is BLOCKED")
         void shouldThrowWhenSourceCardBlocked() {
             fromCard.setStatus(CardStatus.BLOCKED);
-            when(cardRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(fromCard));
-            when(cardRepository.findByIdAndOwnerId(2L, 1L)).thenReturn(Optional.of(toCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.of(fromCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(2L, 1L)).thenReturn(Optional.of(toCard));
 
             assertThatThrownBy(() -> transferService.transfer(validRequest, testUser))
                     .isInstanceOf(CardOperationException.class)
                     .hasMessageContaining("not active");
+
+            assertThat(transferCount("inactive_card")).isEqualTo(1);
         }
 
         @Test
         @DisplayName("Should throw CardOperationException when destination card is BLOCKED")
         void shouldThrowWhenDestinationCardBlocked() {
             toCard.setStatus(CardStatus.BLOCKED);
-            when(cardRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.of(fromCard));
-            when(cardRepository.findByIdAndOwnerId(2L, 1L)).thenReturn(Optional.of(toCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.of(fromCard));
+            when(cardRepository.findByIdAndOwnerIdForUpdate(2L, 1L)).thenReturn(Optional.of(toCard));
 
             assertThatThrownBy(() -> transferService.transfer(validRequest, testUser))
                     .isInstanceOf(CardOperationException.class)
@@ -169,11 +325,21 @@ class TransferServiceTest {
         @Test
         @DisplayName("Should throw ResourceNotFoundException when card does not belong to user")
         void shouldThrowWhenCardNotOwned() {
-            when(cardRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.empty());
+            when(cardRepository.findByIdAndOwnerIdForUpdate(1L, 1L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> transferService.transfer(validRequest, testUser))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessageContaining("Source card");
         }
     }
+
+    private static FraudAssessment assessment(FraudDecision decision) {
+        return decision == FraudDecision.ALLOW
+                ? new FraudAssessment(decision, List.of(), false)
+                : new FraudAssessment(decision, List.of(new RuleFinding("test", decision, decision.name().toLowerCase())), false);
+    }
+
+    private double transferCount(String outcome) {
+        return meterRegistry.counter("card.transfers", "outcome", outcome).count();
+    }
 }
@@ -0,0 +1,175 @@
+package com.bank.card.service;
+
+import com.bank.card.cache.CardCacheInvalidator;
+import com.bank.card.dto.response.PageResponse;
+import com.bank.card.dto.response.UserResponse;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.exception.ResourceNotFoundException;
+import com.bank.card.job.UserPurger;
+import com.bank.card.mapper.CardMapper;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.CardRepository.OwnerCardCount;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserService Tests")
+class UserServiceTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private CardRepository cardRepository;
+    @Mock private CardMapper cardMapper;
+    @Mock private CardCacheInvalidator cardCacheInvalidator;
+    @Mock private UserPurger userPurger;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = User.builder().id(1L).username("alice").role(Role.USER).enabled(true).build();
+        bob = User.builder().id(2L).username("bob").role(Role.USER).enabled(true).build();
+    }
+
+    @Nested
+    @DisplayName("Get All Users")
+    class GetAllUsersTests {
+
+        @Test
+        @DisplayName("Should fetch card counts for the whole page in one query")
+        void shouldBatchCardCounts() {
+            Page<User> users = new PageImpl<>(List.of(alice, bob), PageRequest.of(0, 10), 2);
+            when(userRepository.findAll(any(Pageable.class))).thenReturn(users);
+            when(cardRepository.countByOwnerIds(List.of(1L, 2L)))
+                    .thenReturn(List.of(ownerCount(1L, 3L)));
+            when(cardMapper.toUserResponse(any(User.class))).thenAnswer(i -> {
+                User user = i.getArgument(0);
+                return UserResponse.builder().id(user.getId()).username(user.getUsername()).build();
+            });
+
+            PageResponse<UserResponse> result = userService.getAllUsers(PageRequest.of(0, 10));
+
+            assertThat(result.getContent())
+                    .extracting(UserResponse::getUsername, UserResponse::getCardCount)
+                    .containsExactly(tuple("alice", 3L), tuple("bob", 0L));
+            verify(cardRepository).countByOwnerIds(anyCollection());
+            verify(cardRepository, never()).countByOwnerId(any());
+        }
+
+        @Test
+        @DisplayName("Should skip the count query for an empty page")
+        void shouldSkipCountsForEmptyPage() {
+            when(userRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
+            PageResponse<UserResponse> result = userService.getAllUsers(PageRequest.of(0, 10));
+
+            assertThat(result.getContent()).isEmpty();
+            verifyNoInteractions(cardRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Get User By Id")
+    class GetUserByIdTests {
+
+        @Test
+        @DisplayName("Should return the single-query projection")
+        void shouldUseProjection() {
+            UserResponse projected = UserResponse.builder().id(1L).username("alice").cardCount(3).build();
+            when(userRepository.findUserResponseById(1L)).thenReturn(Optional.of(projected));
+
+            assertThat(userService.getUserById(1L)).isSameAs(projected);
+            verify(userRepository, never()).findById(any());
+            verifyNoInteractions(cardRepository);
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for unknown user")
+        void shouldThrowForUnknownUser() {
+            when(userRepository.findUserResponseById(99L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> userService.getUserById(99L))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("99");
+        }
+    }
+
+    @Nested
+    @DisplayName("Delete User")
+    class DeleteUserTests {
+
+        @Test
+        @DisplayName("Should delete with one statement and evict the user's cards")
+        void shouldDeleteInBulk() {
+            when(userRepository.existsById(1L)).thenReturn(true);
+            when(cardRepository.findIdsByOwnerId(1L)).thenReturn(List.of(10L, 11L));
+
+            userService.deleteUser(1L);
+
+            verify(userRepository).deleteByIdInBulk(1L);
+            verify(userRepository, never()).delete(any());
+            verify(cardCacheInvalidator).evictAfterCommit(List.of(10L, 11L));
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for unknown user")
+        void shouldThrowForUnknownUser() {
+            when(userRepository.existsById(99L)).thenReturn(false);
+
+            assertThatThrownBy(() -> userService.deleteUser(99L))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(userRepository, never()).deleteByIdInBulk(any());
+        }
+
+        @Test
+        @DisplayName("Should disable the user and start the purge only after commit")
+        void shouldDisableThenPurgeAfterCommit() {
+            when(userRepository.findById(1L)).thenReturn(Optional.of(alice));
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                userService.deleteUserAsync(1L);
+
+                assertThat(alice.isEnabled()).isFalse();
+                verify(userRepository).save(alice);
+                verifyNoInteractions(userPurger);
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                verify(userPurger).purgeAsync(1L);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    private static OwnerCardCount ownerCount(Long ownerId, long count) {
+        return new OwnerCardCount() {
+            @Override public Long getOwnerId() { return ownerId; }
+            @Override public long getCardCount() { return count; }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+package com.bank.card.shard;
+
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.CardStatusChange;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.security.jwt.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Whole requests over two H2 databases: shard 0 gets the schema from
+ * create-drop, shard 1 from the same entity mappings before each test, with
+ * its ids starting at the shard's base like the Liquibase changelog does.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard0;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "card.sharding.enabled=true",
+        "card.sharding.urls=jdbc:h2:mem:shard1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Sharded Request Tests")
+class ShardedRequestTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private Shards shards;
+    @Autowired private UserRepository userRepository;
+    @SpyBean private CardRepository cardRepository;
+    @Autowired private JwtService jwtService;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        Shards.run(1, () -> {
+            var schema = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+            schema.dropMappedObjects(false);
+            schema.exportMappedObjects(false);
+            jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + Shards.idBase(1));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should log in a user registered on shard 1")
+    void shouldLoginOnOtherShard() throws Exception {
+        String username = usernameOn(1);
+        String credentials = "{\"username\":\"" + username + "\",\"password\":\"password123\"}";
+
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + username + "@bank.com\","
+                                + "\"password\":\"password123\"}"))
+                .andExpect(status().isCreated());
+        assertThat(Shards.on(1, () -> userRepository.findByUsername(username))).isPresent();
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(username))
+                .andExpect(jsonPath("$.token", not(emptyString())));
+    }
+
+    @Test
+    @DisplayName("Should apply a bulk status change on every shard")
+    void shouldBulkUpdateEveryShard() throws Exception {
+        // H2 has no UPDATE ... RETURNING; BulkCardServiceTest covers the filters
+        doAnswer(invocation -> {
+            String status = invocation.<CardStatus>getArgument(0).name();
+            List<CardStatusChange> changes = jdbcTemplate.query("SELECT id, owner_id, status FROM cards WHERE status <> ?",
+                    (rs, rowNum) -> new CardStatusChange(rs.getLong(1), rs.getLong(2), CardStatus.valueOf(rs.getString(3))),
+                    status);
+            jdbcTemplate.update("UPDATE cards SET status = ? WHERE status <> ?", status, status);
+            return changes;
+        }).when(cardRepository).updateStatusByFilter(any(), any(), any());
+
+        User admin = userRepository.save(user("admin", Role.ADMIN));
+        Card onShard0 = Shards.on(0, () -> cardRepository.save(card(userRepository.save(user("owner0", Role.USER)))));
+        Card onShard1 = Shards.on(1, () -> cardRepository.save(card(userRepository.save(user("owner1", Role.USER)))));
+
+        mockMvc.perform(patch("/api/v1/admin/cards/status")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(admin))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"BLOCKED\",\"expiryFrom\":\"" + LocalDate.now() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        assertThat(Shards.on(0, () -> cardRepository.findById(onShard0.getId())).orElseThrow().getStatus())
+                .isEqualTo(CardStatus.BLOCKED);
+        assertThat(Shards.on(1, () -> cardRepository.findById(onShard1.getId())).orElseThrow().getStatus())
+                .isEqualTo(CardStatus.BLOCKED);
+    }
+
+    private String usernameOn(int shard) {
+        for (int i = 0; ; i++) {
+            if (shards.forUsername("user" + i) == shard) {
+                return "user" + i;
+            }
+        }
+    }
+
+    private static User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .email(username + "@bank.com")
+                .password("secret")
+                .role(role)
+                .enabled(true)
+                .build();
+    }
+
+    private static Card card(User owner) {
+        return Card.builder()
+                .encryptedCardNumber("enc-" + owner.getUsername())
+                .maskedCardNumber("**** **** **** 0000")
+                .owner(owner)
+                .cardholderName(owner.getUsername())
+                .expiryDate(LocalDate.now().plusYears(2))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .build();
+    }
+}
@@ -0,0 +1,217 @@
+package com.bank.card.shard;
+
+import com.bank.card.dto.response.PageResponse;
+import com.bank.card.exception.CardOperationException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Shards Tests")
+class ShardsTest {
+
+    @Nested
+    @DisplayName("Ids")
+    class IdTests {
+
+        @Test
+        @DisplayName("Should read the shard back from any id in its range")
+        void shouldRouteIdsToTheirShard() {
+            assertThat(Shards.ofId(1L)).isZero();
+            assertThat(Shards.ofId(Shards.idBase(3) + 1)).isEqualTo(3);
+            assertThat(Shards.ofId(Shards.idBase(4) - 1)).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should keep every id of the last shard exact as a JSON number")
+        void shouldStayBelowJsonPrecision() {
+            long lastId = Shards.idBase(Shards.MAX_SHARDS) - 1;
+
+            assertThat(lastId).isLessThan(1L << 53);
+            assertThatThrownBy(() -> new Shards(Shards.MAX_SHARDS + 1)).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Should hash usernames to a stable shard in range")
+        void shouldHashUsernames() {
+            Shards shards = new Shards(4);
+
+            List<Integer> homes = IntStream.range(0, 400).mapToObj(i -> shards.forUsername("user" + i)).toList();
+
+            assertThat(homes).allMatch(shard -> shard >= 0 && shard < 4);
+            assertThat(homes).contains(0, 1, 2, 3);
+            assertThat(shards.forUsername("user7")).isEqualTo(homes.get(7));
+            assertThat(new Shards(1).forUsername("user7")).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Binding")
+    class BindingTests {
+
+        @Test
+        @DisplayName("Should restore the outer shard when nested work finishes")
+        void shouldRestoreOuterShard() {
+            int inner = Shards.on(2, () -> Shards.on(5, Shards::current));
+
+            assertThat(inner).isEqualTo(5);
+            assertThat(Shards.on(2, () -> {
+                Shards.run(5, () -> { });
+                return Shards.current();
+            })).isEqualTo(2);
+            assertThat(Shards.current()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should carry the caller's shard to another thread")
+        void shouldBindAcrossThreads() {
+            int[] seen = new int[1];
+            Runnable bound = Shards.on(3, () -> Shards.bind(() -> seen[0] = Shards.current()));
+
+            CompletableFuture.runAsync(bound).join();
+
+            assertThat(seen[0]).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should ask the bound shard first and stop at the first hit")
+        void shouldFindOnHomeShardFirst() {
+            Shards shards = new Shards(3);
+            List<Integer> asked = new CopyOnWriteArrayList<>();
+
+            Optional<String> found = Shards.on(2, () -> shards.find(() -> {
+                asked.add(Shards.current());
+                return Shards.current() == 1 ? Optional.of("alice") : Optional.empty();
+            }));
+
+            assertThat(found).contains("alice");
+            assertThat(asked).containsExactly(2, 0, 1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Scatter-gather")
+    class GatherTests {
+
+        @Test
+        @DisplayName("Should run on every shard and return results in shard order")
+        void shouldGatherInShardOrder() {
+            Shards shards = new Shards(3);
+            Map<Integer, String> threads = new ConcurrentHashMap<>();
+
+            List<Integer> results = shards.gather(() -> {
+                threads.put(Shards.current(), Thread.currentThread().getName());
+                return Shards.current() * 10;
+            });
+
+            assertThat(results).containsExactly(0, 10, 20);
+            assertThat(threads.values()).allMatch(name -> name.startsWith("shard-scatter-"));
+        }
+
+        @Test
+        @DisplayName("Should merge each shard's head into the requested page")
+        void shouldMergePages() {
+            Shards shards = new Shards(2);
+            Map<Integer, List<Row>> data = Map.of(
+                    0, List.of(new Row(1L, "d"), new Row(2L, "b"), new Row(3L, null)),
+                    1, List.of(new Row(Shards.idBase(1) + 1, "a"), new Row(Shards.idBase(1) + 2, "c")));
+
+            PageResponse<Row> page = shards.page(PageRequest.of(1, 2, Sort.by("name").ascending()),
+                    pageable -> slice(data.get(Shards.current()), pageable));
+
+            assertThat(page.getContent()).extracting(Row::getName).containsExactly("c", "d");
+            assertThat(page.getTotalElements()).isEqualTo(5);
+            assertThat(page.getTotalPages()).isEqualTo(3);
+            assertThat(page.isFirst()).isFalse();
+            assertThat(page.isLast()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should order nulls first when descending, like PostgreSQL")
+        void shouldOrderNullsLikePostgres() {
+            List<Row> rows = List.of(new Row(1L, "a"), new Row(2L, null), new Row(3L, "b"));
+
+            assertThat(rows.stream().sorted(ShardedPages.<Row>comparator(Sort.by("name").descending())))
+                    .extracting(Row::getId).containsExactly(2L, 3L, 1L);
+            assertThat(rows.stream().sorted(ShardedPages.<Row>comparator(Sort.by("name").ascending())))
+                    .extracting(Row::getId).containsExactly(1L, 3L, 2L);
+        }
+
+        @Test
+        @DisplayName("Should reject a sort the rows cannot be compared on")
+        void shouldRejectUnknownSortProperty() {
+            Shards shards = new Shards(2);
+
+            assertThatThrownBy(() -> shards.page(PageRequest.of(0, 10, Sort.by("encryptedCardNumber")),
+                    pageable -> slice(List.of(new Row(1L, "a"), new Row(2L, "b")), pageable)))
+                    .isInstanceOf(CardOperationException.class);
+        }
+
+        private static PageResponse<Row> slice(List<Row> rows, Pageable pageable) {
+            List<Row> sorted = rows.stream().sorted(ShardedPages.<Row>comparator(pageable.getSort())).toList();
+            return PageResponse.<Row>builder()
+                    .content(sorted.subList(0, Math.min(pageable.getPageSize(), sorted.size())))
+                    .totalElements(rows.size())
+                    .build();
+        }
+    }
+
+    @Nested
+    @DisplayName("Routing")
+    class RoutingTests {
+
+        @Mock private DataSource shard0;
+        @Mock private DataSource shard1;
+        @Mock private Connection connection0;
+        @Mock private Connection connection1;
+
+        @Test
+        @DisplayName("Should hand out connections of the bound shard, shard 0 when none or unknown")
+        void shouldRouteToBoundShard() throws SQLException {
+            when(shard0.getConnection()).thenReturn(connection0);
+            when(shard1.getConnection()).thenReturn(connection1);
+            ShardRoutingDataSource routing = new ShardRoutingDataSource(List.of(shard0, shard1));
+
+            assertThat(routing.getConnection()).isSameAs(connection0);
+            assertThat(Shards.on(1, () -> connect(routing))).isSameAs(connection1);
+            assertThat(Shards.on(Shards.ofId(-1L), () -> connect(routing))).isSameAs(connection0);
+        }
+
+        private static Connection connect(DataSource dataSource) {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Row {
+        private Long id;
+        private String name;
+    }
+}
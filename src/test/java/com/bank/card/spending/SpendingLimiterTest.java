@@ -0,0 +1,169 @@
+package com.bank.card.spending;
+
+import com.bank.card.dto.request.TransferRequest;
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardSpend;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.exception.SpendingLimitExceededException;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.CardSpendRepository;
+import com.bank.card.repository.LedgerEntryRepository;
+import com.bank.card.repository.OutboxEventRepository;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.security.jwt.JwtService;
+import com.bank.card.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Spending Limiter Tests")
+class SpendingLimiterTest {
+
+    @Autowired private TransferService transferService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private CardSpendRepository cardSpendRepository;
+    @Autowired private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JwtService jwtService;
+    @Autowired private MockMvc mockMvc;
+
+    private User owner;
+    private Card source;
+    private Card target;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("limit-owner", Role.USER));
+        source = cardRepository.save(card("1111"));
+        target = cardRepository.save(card("2222"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardSpendRepository.deleteAllInBatch();
+        ledgerEntryRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+        cardRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should reject the transfer that crosses the daily limit with its own error code")
+    void shouldRejectOverDailyLimit() throws Exception {
+        source.setDailyLimit(new BigDecimal("50.00"));
+        cardRepository.save(source);
+        transferService.transfer(transfer("30.00"), owner);
+
+        mockMvc.perform(post("/api/v1/transfers")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromCardId\":" + source.getId() + ",\"toCardId\":" + target.getId()
+                                + ",\"amount\":30.00}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.code").value("SPENDING_LIMIT_EXCEEDED"))
+                .andExpect(jsonPath("$.message").value(startsWith("Daily transfer limit")));
+
+        CardSpend spend = cardSpendRepository.findById(source.getId()).orElseThrow();
+        assertThat(spend.getSpendDay()).isEqualTo(LocalDate.now(ZoneOffset.UTC));
+        assertThat(spend.getDayTotal()).isEqualByComparingTo("30.00");
+        assertThat(cardRepository.findById(source.getId()).orElseThrow().getBalance()).isEqualByComparingTo("70.00");
+        assertThatCode(() -> transferService.transfer(transfer("20.00"), owner)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should count transfers made before a limit was set")
+    void shouldCountSpendBeforeLimitWasSet() throws Exception {
+        transferService.transfer(transfer("40.00"), owner);
+        User admin = userRepository.save(user("limit-admin", Role.ADMIN));
+
+        mockMvc.perform(patch("/api/v1/admin/cards/{id}/limits", source.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(admin))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"monthlyLimit\":50.00}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyLimit").value(50.00))
+                .andExpect(jsonPath("$.dailyLimit").doesNotExist());
+
+        assertThatThrownBy(() -> transferService.transfer(transfer("20.00"), owner))
+                .isInstanceOf(SpendingLimitExceededException.class)
+                .hasMessageContaining("Monthly transfer limit of 50.00");
+    }
+
+    @Test
+    @DisplayName("Should enforce totals from the database on a node without local counters")
+    void shouldEnforceTotalsFromDatabase() {
+        source.setDailyLimit(new BigDecimal("50.00"));
+        cardRepository.save(source);
+        transferService.transfer(transfer("30.00"), owner);
+
+        SpendingLimiter otherNode = new SpendingLimiter(cardSpendRepository, new SpendCounters(16),
+                true, null, null, ZoneOffset.UTC);
+        Card reloaded = cardRepository.findById(source.getId()).orElseThrow();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        assertThatThrownBy(() -> transaction.executeWithoutResult(
+                status -> otherNode.charge(reloaded, new BigDecimal("30.00"))))
+                .isInstanceOf(SpendingLimitExceededException.class);
+        transaction.executeWithoutResult(status -> otherNode.charge(reloaded, new BigDecimal("20.00")));
+
+        assertThat(cardSpendRepository.findById(source.getId()).orElseThrow().getDayTotal())
+                .isEqualByComparingTo("50.00");
+    }
+
+    private TransferRequest transfer(String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromCardId(source.getId());
+        request.setToCardId(target.getId());
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private Card card(String lastDigits) {
+        return Card.builder()
+                .encryptedCardNumber("enc-" + lastDigits)
+                .maskedCardNumber("**** **** **** " + lastDigits)
+                .owner(owner)
+                .cardholderName("Limit Owner")
+                .expiryDate(LocalDate.now().plusYears(2))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .build();
+    }
+
+    private static User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("{noop}secret")
+                .role(role)
+                .enabled(true)
+                .build();
+    }
+}
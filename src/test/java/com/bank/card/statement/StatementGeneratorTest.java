@@ -0,0 +1,219 @@
+package com.bank.card.statement;
+
+import com.bank.card.dto.request.TransferRequest;
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.LedgerEntryRepository;
+import com.bank.card.repository.OutboxEventRepository;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.security.jwt.JwtService;
+import com.bank.card.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Transfers go through the service, so the ledger rows are the real ones; a
+ * partition size of 1 puts every card in its own fork-join partition.
+ */
+@SpringBootTest(properties = {
+        "card.statements.directory=${java.io.tmpdir}/card-statements-test",
+        "card.statements.partition-size=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Statement Generator Tests")
+class StatementGeneratorTest {
+
+    private final YearMonth month = YearMonth.now(ZoneOffset.UTC);
+
+    @Autowired private StatementGenerator generator;
+    @Autowired private TransferService transferService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private JwtService jwtService;
+    @Autowired private MockMvc mockMvc;
+    @Value("${card.statements.directory}") private Path directory;
+
+    private User owner;
+    private Card first;
+    private Card second;
+    private Card quiet;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("statement-owner"));
+        first = cardRepository.save(card("1111", "100.00"));
+        second = cardRepository.save(card("2222", "100.00"));
+        quiet = cardRepository.save(card("3333", "50.00"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        jdbcTemplate.update("DELETE FROM card_balance_snapshots");
+        ledgerEntryRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+        cardRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    @DisplayName("Should write opening balance, the month's entries and closing balance per card")
+    void shouldWriteStatements() throws IOException {
+        transferService.transfer(transfer(first, second, "40.00"), owner);
+        transferService.transfer(transfer(second, first, "10.00"), owner);
+
+        StatementGenerator.StatementRun run = generator.generate(month);
+
+        assertThat(run.statements()).isEqualTo(3);
+        assertThat(run.entries()).isEqualTo(4);
+        assertThat(run.failedPartitions()).isZero();
+        List<String> lines = read(first);
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(0)).isEqualTo(StatementWriter.CSV_HEADER);
+        assertThat(lines.get(1)).startsWith("OPENING,").endsWith(",100.00");
+        assertThat(lines.get(2)).startsWith("DEBIT,").contains("," + second.getId() + ",-40.00,60.00");
+        assertThat(lines.get(3)).startsWith("CREDIT,").contains("," + second.getId() + ",10.00,70.00");
+        assertThat(lines.get(4)).startsWith("CLOSING,").endsWith(",70.00");
+        List<String> quietLines = read(quiet);
+        assertThat(quietLines).hasSize(3);
+        assertThat(quietLines.get(1)).startsWith("OPENING,").endsWith(",50.00");
+        assertThat(quietLines.get(2)).startsWith("CLOSING,").endsWith(",50.00");
+    }
+
+    @Test
+    @DisplayName("Should open the next month from the snapshot instead of the card balance")
+    void shouldOpenFromSnapshot() throws IOException {
+        transferService.transfer(transfer(first, second, "25.00"), owner);
+        generator.generate(month);
+
+        assertThat(ledgerEntryRepository.findSnapshotBalances(first.getId(), second.getId(), month.atDay(1)))
+                .hasSize(2)
+                .hasEntrySatisfying(first.getId(), b -> assertThat(b).isEqualByComparingTo("75.00"))
+                .hasEntrySatisfying(second.getId(), b -> assertThat(b).isEqualByComparingTo("125.00"));
+
+        // Drift in the card row must not leak into statements
+        first.setBalance(new BigDecimal("999.00"));
+        cardRepository.save(first);
+        generator.generate(month.plusMonths(1));
+
+        List<String> lines = read(first, month.plusMonths(1));
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(1)).startsWith("OPENING,").endsWith(",75.00");
+        assertThat(lines.get(2)).startsWith("CLOSING,").endsWith(",75.00");
+    }
+
+    @Test
+    @DisplayName("Should serve the owner's statement file and 404 for others")
+    void shouldServeStatement() throws Exception {
+        transferService.transfer(transfer(first, second, "5.00"), owner);
+        generator.generate(month);
+        User stranger = userRepository.save(user("statement-stranger"));
+
+        byte[] body = mockMvc.perform(get("/api/v1/cards/{id}/statements/{month}", first.getId(), month.toString())
+                        .header(HttpHeaders.AUTHORIZATION, bearer(owner)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"card-" + first.getId() + "-" + month + ".csv.gz\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(gunzip(new ByteArrayInputStream(body))).isEqualTo(read(first));
+
+        mockMvc.perform(get("/api/v1/cards/{id}/statements/{month}", first.getId(), month.toString())
+                        .header(HttpHeaders.AUTHORIZATION, bearer(stranger)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/cards/{id}/statements/{month}", first.getId(), month.minusMonths(1).toString())
+                        .header(HttpHeaders.AUTHORIZATION, bearer(owner)))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<String> read(Card card) throws IOException {
+        return read(card, month);
+    }
+
+    private List<String> read(Card card, YearMonth statementMonth) throws IOException {
+        try (InputStream in = Files.newInputStream(statementPath(card, statementMonth))) {
+            return gunzip(in);
+        }
+    }
+
+    private Path statementPath(Card card, YearMonth statementMonth) {
+        return directory.resolve(statementMonth.toString())
+                .resolve(String.valueOf(card.getId() / 1000))
+                .resolve(card.getId() + ".csv.gz");
+    }
+
+    private static List<String> gunzip(InputStream in) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(in)) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtService.generateToken(user);
+    }
+
+    private Card card(String lastDigits, String balance) {
+        return Card.builder()
+                .encryptedCardNumber("enc-" + lastDigits)
+                .maskedCardNumber("**** **** **** " + lastDigits)
+                .owner(owner)
+                .cardholderName("Statement Owner")
+                .expiryDate(LocalDate.now().plusYears(2))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal(balance))
+                .build();
+    }
+
+    private static TransferRequest transfer(Card from, Card to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromCardId(from.getId());
+        request.setToCardId(to.getId());
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("{noop}secret")
+                .role(Role.USER)
+                .enabled(true)
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.bank.card.stream;
+
+import com.bank.card.entity.Card;
+import com.bank.card.entity.CardStatus;
+import com.bank.card.entity.Role;
+import com.bank.card.entity.User;
+import com.bank.card.repository.CardRepository;
+import com.bank.card.repository.OutboxEventRepository;
+import com.bank.card.repository.UserRepository;
+import com.bank.card.security.jwt.JwtService;
+import com.bank.card.service.CardService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Open streams are MockMvc async requests; events are written to their responses
+ * from the fan-out threads, so assertions poll the response body.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Card SSE Stream Tests")
+class CardStreamTest {
+
+    private static final String CARD_EVENT = "event:" + CardStreamBroadcaster.EVENT_NAME;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private CardStreamBroadcaster broadcaster;
+    @Autowired private CardService cardService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private JwtService jwtService;
+
+    private User owner;
+    private User stranger;
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("stream-owner"));
+        stranger = userRepository.save(user("stream-stranger"));
+        card = cardRepository.save(Card.builder()
+                .encryptedCardNumber("enc-stream")
+                .maskedCardNumber("**** **** **** 4242")
+                .owner(owner)
+                .cardholderName("Stream Owner")
+                .expiryDate(LocalDate.now().plusYears(2))
+                .status(CardStatus.ACTIVE)
+                .balance(new BigDecimal("100.00"))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAllInBatch();
+        cardRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should push the changed card to its owner's stream only, after commit")
+    void shouldPushChangeToOwner() throws Exception {
+        MockHttpServletResponse ownerStream = openStream(owner);
+        MockHttpServletResponse strangerStream = openStream(stranger);
+
+        cardService.requestBlock(card.getId(), owner);
+
+        String body = awaitEvents(ownerStream, 1);
+        assertThat(body).contains("\"id\":" + card.getId(), "\"status\":\"BLOCKED\"");
+        assertThat(strangerStream.getContentAsString()).doesNotContain(CARD_EVENT);
+    }
+
+    @Test
+    @DisplayName("Should tell the owner's stream when a card is deleted")
+    void shouldPushDeletion() throws Exception {
+        MockHttpServletResponse ownerStream = openStream(owner);
+
+        cardService.deleteCard(card.getId());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        String deleted = "event:" + CardStreamBroadcaster.DELETED_EVENT_NAME;
+        while (!ownerStream.getContentAsString().contains(deleted) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(ownerStream.getContentAsString()).contains(deleted, "data:{\"id\":" + card.getId() + "}");
+    }
+
+    @Test
+    @DisplayName("Should deliver NOTIFY payloads from other nodes and skip its own")
+    void shouldApplyRemoteChanges() throws Exception {
+        MockHttpServletResponse ownerStream = openStream(owner);
+
+        broadcaster.applyRemote(broadcaster.encode(new CardChangedEvent(owner.getId(), List.of(card.getId()))));
+        broadcaster.applyRemote("other-node;" + owner.getId() + ";" + card.getId());
+
+        String body = awaitEvents(ownerStream, 1);
+        assertThat(body.split(CARD_EVENT, -1)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should write keep-alives to open streams from the fan-out pool")
+    void shouldSendHeartbeat() throws Exception {
+        MockHttpServletResponse ownerStream = openStream(owner);
+
+        broadcaster.heartbeat();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!ownerStream.getContentAsString().contains(":keep-alive") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(ownerStream.getContentAsString()).contains(":keep-alive");
+    }
+
+    @Test
+    @DisplayName("Should reject anonymous subscriptions")
+    void shouldRejectAnonymous() throws Exception {
+        mockMvc.perform(get("/api/v1/cards/stream"))
+                .andExpect(status().isForbidden());
+    }
+
+    private MockHttpServletResponse openStream(User user) throws Exception {
+        return mockMvc.perform(get("/api/v1/cards/stream")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(user)))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static String awaitEvents(MockHttpServletResponse stream, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        String body = stream.getContentAsString();
+        while (body.split(CARD_EVENT, -1).length <= count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = stream.getContentAsString();
+        }
+        // A short grace period so an unexpected extra event would show up
+        Thread.sleep(200);
+        return stream.getContentAsString();
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("{noop}secret")
+                .role(Role.USER)
+                .enabled(true)
+                .build();
+    }
+}